@@ -0,0 +1,137 @@
+package com.moneytransfer.aspect;
+
+import com.moneytransfer.exception.MoneyTransferException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AOP Aspect recording a Micrometer timer for every service and controller call
+ *
+ * Timer {@code moneytransfer.method} is tagged with:
+ * - class and method
+ * - outcome: "success", the simple name of an exception from the
+ *   {@code com.moneytransfer.exception} package (e.g. "InsufficientBalanceException"),
+ *   or "error" for anything else
+ *
+ * Timers are created once per method and outcome and cached, so a call costs
+ * two System.nanoTime() reads and one map lookup. Argument and result logging
+ * is off by default; when enabled it is sampled and only happens at DEBUG.
+ */
+@Aspect  // Marks this as an AOP aspect
+@Component  // Spring component
+@Slf4j
+public class MetricsAspect {
+
+    private static final String TIMER_NAME = "moneytransfer.method";
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean percentileHistogram;
+    private final boolean logArguments;
+    private final double logSampleRate;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry,
+                         @Value("${moneytransfer.metrics.methods.percentile-histogram:true}") boolean percentileHistogram,
+                         @Value("${moneytransfer.metrics.methods.log-arguments:false}") boolean logArguments,
+                         @Value("${moneytransfer.metrics.methods.log-sample-rate:0.01}") double logSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = percentileHistogram;
+        this.logArguments = logArguments;
+        this.logSampleRate = logSampleRate;
+    }
+
+    /**
+     * Pointcut: Define which methods to intercept
+     * This intercepts all methods in service and controller packages
+     */
+    @Pointcut("execution(* com.moneytransfer.service..*(..)) || " +
+            "execution(* com.moneytransfer.controller..*(..))")
+    public void applicationMethods() {
+        // This method is just a placeholder for the pointcut
+    }
+
+    /**
+     * Around advice: Times the method and records the outcome
+     *
+     * @param joinPoint The intercepted method
+     * @return The method's return value
+     */
+    @Around("applicationMethods()")
+    public Object timeMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), MethodTimers::new);
+        long start = System.nanoTime();
+
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (shouldLog()) {
+                log.debug("{}.{}({}) returned {} in {}µs", methodTimers.className, methodTimers.methodName,
+                        Arrays.toString(joinPoint.getArgs()), result, (System.nanoTime() - start) / 1000);
+            }
+            return result;
+        } catch (Throwable e) {
+            methodTimers.failure(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (shouldLog()) {
+                log.debug("{}.{}({}) threw {}: {}", methodTimers.className, methodTimers.methodName,
+                        Arrays.toString(joinPoint.getArgs()), e.getClass().getSimpleName(), e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private boolean shouldLog() {
+        return logArguments && log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+    }
+
+    /**
+     * Timers of one intercepted method, one per outcome
+     */
+    private final class MethodTimers {
+
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            this.success = timer(SUCCESS);
+        }
+
+        private Timer failure(Throwable e) {
+            return failures.computeIfAbsent(e.getClass(), type ->
+                    timer(MoneyTransferException.class.isAssignableFrom(type) ? type.getSimpleName() : ERROR));
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(TIMER_NAME)
+                    .description("Execution time of service and controller methods")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.moneytransfer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sheds load on the API with adaptive concurrency limits
+ *
+ * Single transfers ({@code POST /api/v1/transfers}) and account reads
+ * ({@code /api/v1/accounts/**}) each get an {@link AdaptiveConcurrencyLimiter},
+ * so slow transfers can't starve reads and the other way round. A request over
+ * its limit is answered at once with 503 (SYS-503, Retry-After) instead of
+ * waiting for a Tomcat thread and a database connection.
+ *
+ * Registered ahead of Spring Security (see {@link SecurityConfig}), so shed
+ * requests are rejected before their credentials are checked.
+ *
+ * Batch and async submissions, NDJSON history streams and statement exports
+ * are not limited here: their latency depends on their size, not on how
+ * loaded the database is.
+ */
+@Component
+@ConditionalOnProperty(name = "moneytransfer.concurrency.adaptive.enabled", havingValue = "true")
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String TRANSFERS_PATH = "/api/v1/transfers";
+    private static final String ACCOUNTS_PATH = "/api/v1/accounts/";
+
+    private final AdaptiveConcurrencyLimiter transfers;
+    private final AdaptiveConcurrencyLimiter reads;
+    private final ObjectMapper objectMapper;
+
+    public AdaptiveConcurrencyFilter(ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${moneytransfer.concurrency.adaptive.backoff-ratio:0.9}") double backoffRatio,
+                                     @Value("${moneytransfer.concurrency.adaptive.transfers.initial-limit:20}") int transfersInitial,
+                                     @Value("${moneytransfer.concurrency.adaptive.transfers.min-limit:4}") int transfersMin,
+                                     @Value("${moneytransfer.concurrency.adaptive.transfers.max-limit:200}") int transfersMax,
+                                     @Value("${moneytransfer.concurrency.adaptive.transfers.latency-threshold:250ms}") Duration transfersThreshold,
+                                     @Value("${moneytransfer.concurrency.adaptive.reads.initial-limit:50}") int readsInitial,
+                                     @Value("${moneytransfer.concurrency.adaptive.reads.min-limit:4}") int readsMin,
+                                     @Value("${moneytransfer.concurrency.adaptive.reads.max-limit:400}") int readsMax,
+                                     @Value("${moneytransfer.concurrency.adaptive.reads.latency-threshold:100ms}") Duration readsThreshold) {
+        this.transfers = new AdaptiveConcurrencyLimiter("transfers", transfersInitial, transfersMin, transfersMax,
+                transfersThreshold, backoffRatio, meterRegistry);
+        this.reads = new AdaptiveConcurrencyLimiter("reads", readsInitial, readsMin, readsMax,
+                readsThreshold, backoffRatio, meterRegistry);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return limiterFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorResponse("SYS-503", "Server is busy, please retry"));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (TRANSFERS_PATH.equals(path) && "POST".equals(request.getMethod())) {
+            return transfers;
+        }
+        if (path.startsWith(ACCOUNTS_PATH) && !"ndjson".equals(request.getParameter("format"))
+                && !path.endsWith("/statement") && !path.equals(ACCOUNTS_PATH + "statements")) {
+            return reads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.moneytransfer.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD)
+ *
+ * A request may start while fewer than {@code limit} are in flight. Each
+ * completed request adjusts the limit:
+ * - additive increase: a fast, successful request raises it by one, as long
+ *   as the limit is actually being used (at least half of it in flight)
+ * - multiplicative decrease: a request slower than {@code latency-threshold},
+ *   or one that failed with a server error, lowers it by {@code backoff-ratio},
+ *   at most once per threshold period so that one slow burst counts once
+ *
+ * So when the database slows down, the limit shrinks towards what it can
+ * serve within the threshold and excess requests are shed instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;            // Guarded by this
+    private long lastDecreaseNanos;  // Guarded by this
+    private volatile int currentLimit;
+
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyLimiter(String endpoint, int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+        this.lastDecreaseNanos = System.nanoTime() - latencyThresholdNanos;
+
+        Gauge.builder("moneytransfer.concurrency.adaptive.limit", this, limiter -> limiter.currentLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("moneytransfer.concurrency.adaptive.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently running under the adaptive limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("moneytransfer.concurrency.adaptive.rejected")
+                .description("Requests shed with a 503 because the adaptive limit was reached")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take a slot if one is free; never waits
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release the slot and adjust the limit from the request's outcome
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            currentLimit = (int) limit;
+        }
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+}
@@ -0,0 +1,120 @@
+package com.moneytransfer.config;
+
+import com.moneytransfer.dto.TokenResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies signed bearer tokens, so API calls skip the BCrypt check
+ *
+ * A token is {@code base64url(username \n expiry \n authorities) . base64url(HMAC-SHA256)}.
+ * Verifying it is one HMAC and a clock check: no user lookup and no password
+ * hash. Being stateless, a token can't be revoked; it stays valid until it
+ * expires ({@code moneytransfer.security.token.ttl}), so keep that short.
+ *
+ * Without {@code moneytransfer.security.token.secret} a random key is made at
+ * startup: tokens then stop working on restart and aren't accepted by other
+ * instances.
+ */
+@Component
+@Slf4j
+public class AuthTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ThreadLocal<Mac> macs;
+
+    public AuthTokenService(@Value("${moneytransfer.security.token.secret:}") String secret,
+                            @Value("${moneytransfer.security.token.ttl:15m}") Duration ttl) {
+        byte[] keyBytes;
+        if (secret.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.info("No moneytransfer.security.token.secret set; tokens are signed with a random key until restart");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Sign a token for a user who just authenticated
+     */
+    public TokenResponse issue(Authentication authentication) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        byte[] payload = (authentication.getName() + "\n" + expiresAt + "\n" + authorities)
+                .getBytes(StandardCharsets.UTF_8);
+
+        String token = ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+        return new TokenResponse(token, "Bearer", ttl.toSeconds());
+    }
+
+    /**
+     * Check a token's signature and expiry
+     *
+     * @return The authenticated user, or null when the token is malformed, forged or expired
+     */
+    public Authentication verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+
+        String[] fields = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+        if (fields.length != 3 || Long.parseLong(fields[1]) < System.currentTimeMillis() / 1000) {
+            return null;
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(fields[0], null,
+                AuthorityUtils.commaSeparatedStringToAuthorityList(fields[2]));
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.moneytransfer.config;
+
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.domain.value.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates production-sized data for performance environments
+ * ({@code moneytransfer.seed.bulk.*})
+ *
+ * Creates {@code accounts} active accounts and a history of {@code transactions}
+ * transfers between them over the last {@code history-days} days. Senders are
+ * uniform, recipients follow a Zipf distribution (a few popular accounts
+ * receive most payments, like merchants), amounts are log-uniform between 1.00
+ * and 5,000.00, and a transfer the sender cannot cover is logged as FAILED
+ * (insufficient balance) the way the auditor records it. Successful transfers
+ * get their two ledger postings with running balances, and each account's
+ * balance is the one after its last posting.
+ *
+ * One thread generates everything from {@code random-seed}, so the same seed
+ * always produces the same rows (timestamps are anchored at the start of the
+ * current day). Rows bypass JPA: {@code threads} writers insert them with JDBC
+ * batches, one transaction per batch. Accounts are written first, with their
+ * opening balances and explicit IDs following the existing ones, so the
+ * history's foreign keys hold on every database; once the history is in, each
+ * account's balance is set to its closing balance.
+ */
+@Component
+@Slf4j
+public class BulkDataSeeder {
+
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO accounts (id, holder_name, balance, status, striped, version, last_updated) " +
+                    "VALUES (?, ?, ?, ?, FALSE, 0, ?)";
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE accounts SET balance = ?, last_updated = ? WHERE id = ?";
+
+    private static final String INSERT_LOG =
+            "INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, status, " +
+                    "failure_reason, idempotency_key, created_on) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_POSTING =
+            "INSERT INTO ledger_postings (account_id, created_on, transaction_id, counterparty_account_id, " +
+                    "amount, balance_after, idempotency_key) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long MIN_AMOUNT = 100;                // 1.00
+    private static final long MAX_AMOUNT = 500_000;            // 5,000.00
+    private static final long MIN_OPENING_BALANCE = 10_000;    // 100.00
+    private static final long MAX_OPENING_BALANCE = 10_000_000; // 100,000.00
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int accounts;
+    private final long transactions;
+    private final int threads;
+    private final int batchSize;
+    private final long randomSeed;
+    private final double zipfExponent;
+    private final int historyDays;
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    public BulkDataSeeder(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${moneytransfer.seed.bulk.accounts:0}") int accounts,
+                          @Value("${moneytransfer.seed.bulk.transactions:0}") long transactions,
+                          @Value("${moneytransfer.seed.bulk.threads:4}") int threads,
+                          @Value("${moneytransfer.seed.bulk.batch-size:1000}") int batchSize,
+                          @Value("${moneytransfer.seed.bulk.random-seed:42}") long randomSeed,
+                          @Value("${moneytransfer.seed.bulk.zipf-exponent:1.0}") double zipfExponent,
+                          @Value("${moneytransfer.seed.bulk.history-days:365}") int historyDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.accounts = accounts;
+        this.transactions = transactions;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.randomSeed = randomSeed;
+        this.zipfExponent = zipfExponent;
+        this.historyDays = historyDays;
+    }
+
+    public boolean isEnabled() {
+        return accounts > 0;
+    }
+
+    /**
+     * Generate and insert all accounts and their history
+     */
+    public void seed() {
+        if (transactions > 0 && accounts < 2) {
+            throw new IllegalArgumentException("Bulk seeding transfers needs at least 2 accounts");
+        }
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM accounts", Long.class) + 1;
+        log.info("Bulk seeding {} accounts (IDs {} and up) and {} transfers, seed {}, {} writer threads",
+                accounts, firstId, transactions, randomSeed, threads);
+
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        long[] balances = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            balances[i] = logUniform(random, MIN_OPENING_BALANCE, MAX_OPENING_BALANCE);
+        }
+        int[] recipientByRank = shuffledIndexes(random, accounts);
+        double[] zipfCumulative = zipfCumulative(accounts, zipfExponent);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor writers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                task -> new Thread(task, "bulk-seeder-" + threadNumber.incrementAndGet()),
+                // The generator writes a batch itself when all writers are busy (backpressure)
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<?>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+
+        try {
+            // Step 1: Accounts with their opening balances, before any row that references them
+            LocalDateTime now = LocalDateTime.now();
+            writeAllAccounts(writers, true, firstId, balances, now);
+
+            // Step 2: History
+            LocalDateTime historyEnd = LocalDate.now().atStartOfDay();
+            long spanNanos = Duration.ofDays(historyDays).toNanos();
+            long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+
+            List<TransactionLog> logs = new ArrayList<>(batchSize);
+            List<LedgerPosting> postings = new ArrayList<>(batchSize * 2);
+            for (long n = 0; n < transactions; n++) {
+                int from = random.nextInt(accounts);
+                int to = recipientByRank[zipfRank(random, zipfCumulative)];
+                if (to == from) {
+                    to = (to + 1) % accounts;
+                }
+                long amount = logUniform(random, MIN_AMOUNT, MAX_AMOUNT);
+                String id = randomUuid(random).toString();
+                String key = "seed-" + randomSeed + "-" + n;
+                LocalDateTime createdOn = historyEnd.minusNanos(spanNanos - spanNanos / transactions * n);
+
+                TransactionLog.TransactionLogBuilder transaction = TransactionLog.builder()
+                        .id(id)
+                        .fromAccountId(firstId + from)
+                        .toAccountId(firstId + to)
+                        .amount(Money.ofMinorUnits(amount).toBigDecimal())
+                        .createdOn(createdOn);
+
+                if (balances[from] < amount) {
+                    // Same record the auditor writes for a rejected transfer, under a synthetic key
+                    logs.add(transaction
+                            .status(TransactionStatus.FAILED)
+                            .failureReason("Insufficient balance. Available: " + Money.ofMinorUnits(balances[from])
+                                    + ", Required: " + Money.ofMinorUnits(amount))
+                            .idempotencyKey(truncate("failed:" + id + ":" + key))
+                            .build());
+                } else {
+                    balances[from] -= amount;
+                    balances[to] += amount;
+                    TransactionLog success = transaction
+                            .status(TransactionStatus.SUCCESS)
+                            .idempotencyKey(key)
+                            .build();
+                    logs.add(success);
+                    postings.addAll(LedgerPosting.legsOf(success,
+                            Money.ofMinorUnits(balances[from]).toBigDecimal(),
+                            Money.ofMinorUnits(balances[to]).toBigDecimal()));
+                }
+
+                if (logs.size() == batchSize) {
+                    List<TransactionLog> logBatch = logs;
+                    List<LedgerPosting> postingBatch = postings;
+                    pending.add(writers.submit(() -> writeHistory(logBatch, postingBatch)));
+                    logs = new ArrayList<>(batchSize);
+                    postings = new ArrayList<>(batchSize * 2);
+                    checkWriters(pending);
+                }
+                if (System.nanoTime() > nextProgress) {
+                    logProgress(n + 1, start);
+                    nextProgress = System.nanoTime() + PROGRESS_INTERVAL_NANOS;
+                }
+            }
+            if (!logs.isEmpty()) {
+                List<TransactionLog> logBatch = logs;
+                List<LedgerPosting> postingBatch = postings;
+                pending.add(writers.submit(() -> writeHistory(logBatch, postingBatch)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+
+            // Step 3: Closing balances, the ones after each account's last posting
+            if (transactions > 0) {
+                writeAllAccounts(writers, false, firstId, balances, LocalDateTime.now());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while bulk seeding", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bulk seeding failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            writers.shutdownNow();
+        }
+
+        restartAccountIds(firstId + accounts);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("✓ Bulk seeding wrote {} rows in {} s ({} rows/s)",
+                rowsWritten.get(), String.format("%.1f", seconds), Math.round(rowsWritten.get() / seconds));
+    }
+
+    private void writeHistory(List<TransactionLog> logs, List<LedgerPosting> postings) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_LOG, logs, logs.size(), (ps, transaction) -> {
+                ps.setString(1, transaction.getId());
+                ps.setLong(2, transaction.getFromAccountId());
+                ps.setLong(3, transaction.getToAccountId());
+                ps.setBigDecimal(4, transaction.getAmount());
+                ps.setString(5, transaction.getStatus().name());
+                ps.setString(6, transaction.getFailureReason());
+                ps.setString(7, transaction.getIdempotencyKey());
+                ps.setTimestamp(8, Timestamp.valueOf(transaction.getCreatedOn()));
+            });
+            if (!postings.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_POSTING, postings, postings.size(), (ps, posting) -> {
+                    ps.setLong(1, posting.getAccountId());
+                    ps.setTimestamp(2, Timestamp.valueOf(posting.getCreatedOn()));
+                    ps.setString(3, posting.getTransactionId());
+                    ps.setLong(4, posting.getCounterpartyAccountId());
+                    ps.setBigDecimal(5, posting.getAmount());
+                    ps.setBigDecimal(6, posting.getBalanceAfter());
+                    ps.setString(7, posting.getIdempotencyKey());
+                });
+            }
+        });
+        rowsWritten.addAndGet(logs.size() + postings.size());
+    }
+
+    /**
+     * Insert all accounts, or update all their balances, and wait until every batch is written
+     */
+    private void writeAllAccounts(ThreadPoolExecutor writers, boolean insert, long firstId, long[] balances,
+                                  LocalDateTime now) throws ExecutionException, InterruptedException {
+        List<Future<?>> pending = new ArrayList<>();
+        for (int from = 0; from < accounts; from += batchSize) {
+            int batchStart = from;
+            int batchEnd = Math.min(from + batchSize, accounts);
+            pending.add(writers.submit(() -> writeAccounts(insert, firstId, balances, batchStart, batchEnd, now)));
+            checkWriters(pending);
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+    }
+
+    private void writeAccounts(boolean insert, long firstId, long[] balances, int from, int to, LocalDateTime now) {
+        Timestamp lastUpdated = Timestamp.valueOf(now);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(insert ? INSERT_ACCOUNT : UPDATE_BALANCE,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int index = from + i;
+                        BigDecimal balance = Money.ofMinorUnits(balances[index]).toBigDecimal();
+                        if (!insert) {
+                            ps.setBigDecimal(1, balance);
+                            ps.setTimestamp(2, lastUpdated);
+                            ps.setLong(3, firstId + index);
+                            return;
+                        }
+                        ps.setLong(1, firstId + index);
+                        ps.setString(2, "Bulk Account " + (index + 1));
+                        ps.setBigDecimal(3, balance);
+                        ps.setString(4, AccountStatus.ACTIVE.name());
+                        ps.setTimestamp(5, lastUpdated);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return to - from;
+                    }
+                }));
+        rowsWritten.addAndGet(to - from);
+    }
+
+    /**
+     * Accounts were inserted with explicit IDs; H2's identity column does not
+     * move past them on its own (MySQL's AUTO_INCREMENT does)
+     */
+    private void restartAccountIds(long nextId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            jdbcTemplate.execute("ALTER TABLE accounts ALTER COLUMN id RESTART WITH " + nextId);
+        }
+    }
+
+    /**
+     * Fail fast when a writer has already failed, instead of generating the rest of the history
+     */
+    private void checkWriters(List<Future<?>> pending) throws ExecutionException, InterruptedException {
+        for (int i = Math.max(0, pending.size() - threads * 3); i < pending.size(); i++) {
+            Future<?> future = pending.get(i);
+            if (future.isDone()) {
+                future.get();
+            }
+        }
+    }
+
+    private void logProgress(long generated, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("  → {} / {} transfers generated, {} rows written ({} rows/s)",
+                generated, transactions, rowsWritten.get(), Math.round(rowsWritten.get() / seconds));
+    }
+
+    private static long logUniform(SplittableRandom random, long min, long max) {
+        return Math.round(Math.exp(Math.log(min) + random.nextDouble() * (Math.log(max) - Math.log(min))));
+    }
+
+    private static int[] shuffledIndexes(SplittableRandom random, int size) {
+        int[] indexes = new int[size];
+        Arrays.setAll(indexes, i -> i);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    /**
+     * Rank k (0-based) is chosen with probability proportional to 1 / (k + 1)^exponent
+     */
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int zipfRank(SplittableRandom random, double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private static UUID randomUuid(SplittableRandom random) {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;                              // Version 4
+        long lsb = (random.nextLong() & ~0xC000000000000000L) | 0x8000000000000000L;      // IETF variant
+        return new UUID(msb, lsb);
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_KEY_LENGTH ? value.substring(0, MAX_KEY_LENGTH) : value;
+    }
+}
@@ -5,7 +5,10 @@ import com.moneytransfer.domain.enums.AccountStatus;
 import com.moneytransfer.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -22,13 +25,17 @@ import java.time.LocalDateTime;
 public class DataInitializer implements CommandLineRunner {
 
     private final AccountRepository accountRepository;
+    private final BulkDataSeeder bulkDataSeeder;
+
+    @Value("${moneytransfer.seed.load-test-accounts:0}")
+    private int loadTestAccounts;
 
     @Override
     public void run(String... args) {
         log.info("Initializing database with seed data...");
 
         // Clear existing data (for development)
-        accountRepository.deleteAll();
+        accountRepository.deleteAllInBatch();
 
         // Create test accounts
         createAccount("John Doe", new BigDecimal("10000.00"), AccountStatus.ACTIVE);
@@ -37,10 +44,20 @@ public class DataInitializer implements CommandLineRunner {
         createAccount("Alice Brown", new BigDecimal("2000.00"), AccountStatus.LOCKED);
         createAccount("Charlie Davis", new BigDecimal("0.00"), AccountStatus.CLOSED);
 
+        // Extra active accounts for the load generator (IDs 6 and up)
+        for (int i = 1; i <= loadTestAccounts; i++) {
+            createAccount("Load Test " + i, new BigDecimal("1000000.00"), AccountStatus.ACTIVE);
+        }
+
+        // Production-sized accounts and history for performance environments
+        if (bulkDataSeeder.isEnabled()) {
+            bulkDataSeeder.seed();
+        }
+
         log.info("✓ Database initialized with {} accounts", accountRepository.count());
 
         // Display account details
-        accountRepository.findAll().forEach(account -> {
+        accountRepository.findAll(PageRequest.of(0, 10, Sort.by("id"))).forEach(account -> {
             log.info("  → Account {}: {} - Balance: ${} - Status: {}",
                     account.getId(),
                     account.getHolderName(),
@@ -0,0 +1,118 @@
+package com.moneytransfer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.dto.ErrorResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many API requests run at once to what the connection pool can serve
+ *
+ * With virtual threads Tomcat no longer caps concurrency at its worker pool,
+ * so thousands of requests would otherwise pile up waiting inside Hikari,
+ * each holding memory and counting down Hikari's connection timeout. This
+ * filter keeps the queue in front of the application instead: a request
+ * waits up to {@code acquire-timeout-ms} for a permit and is rejected with
+ * 503 (SYS-503, Retry-After) when none frees up.
+ *
+ * Permits default to the Hikari maximum pool size, since with open-session-in-view
+ * a request keeps its connection from first use until it completes.
+ */
+@Component
+@ConditionalOnProperty(name = "moneytransfer.concurrency.db-limiter.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public DatabaseConcurrencyFilter(DataSource dataSource,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${moneytransfer.concurrency.db-limiter.max-concurrent:0}") int maxConcurrent,
+                                     @Value("${moneytransfer.concurrency.db-limiter.acquire-timeout-ms:1000}") long acquireTimeoutMillis) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : poolSize(dataSource);
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.objectMapper = objectMapper;
+
+        this.rejected = Counter.builder("moneytransfer.concurrency.rejected")
+                .description("API requests rejected because no database permit freed up in time")
+                .register(meterRegistry);
+        Gauge.builder("moneytransfer.concurrency.in.flight", permits, p -> limit - p.availablePermits())
+                .description("API requests currently holding a database permit")
+                .register(meterRegistry);
+
+        log.info("Database concurrency limiter enabled with {} permits", limit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorResponse("SYS-503", "Server is busy, please retry"));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Maximum size of the Hikari pool behind the data source, also through proxies
+     * (with read replicas that is the primary's pool, the one transfers need)
+     */
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not find the connection pool size: {}", e.getMessage());
+        }
+        return 10;  // Hikari's default
+    }
+}
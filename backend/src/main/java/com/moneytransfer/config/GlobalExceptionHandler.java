@@ -2,9 +2,13 @@ package com.moneytransfer.config;
 
 import com.moneytransfer.dto.ErrorResponse;
 import com.moneytransfer.exception.*;
+import com.moneytransfer.service.IdempotencyKeyFilter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -79,6 +83,89 @@ public class GlobalExceptionHandler {
                 .body(error);
     }
 
+    /**
+     * Handle TransferNotFoundException
+     * Returns 404 Not Found
+     */
+    @ExceptionHandler(TransferNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTransferNotFound(TransferNotFoundException ex) {
+        log.error("Transfer not found: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse("TRX-404", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(error);
+    }
+
+    /**
+     * Handle TransferQueueFullException
+     * Returns 503 Service Unavailable with Retry-After
+     */
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleTransferQueueFull(TransferQueueFullException ex) {
+        log.warn("Transfer queue full: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse("SYS-503", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Handle RateLimitExceededException
+     * Returns 429 Too Many Requests with Retry-After and RateLimit-* headers
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        log.warn("Rate limit exceeded ({}): retry in {} ms", ex.getScope(), ex.getRetryAfterNanos() / 1_000_000);
+
+        // Whole seconds, rounded up, so a client retrying on time is let through
+        String retryAfter = String.valueOf(Math.max(1, (ex.getRetryAfterNanos() + 999_999_999) / 1_000_000_000));
+        ErrorResponse error = new ErrorResponse("TRX-429", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .header("RateLimit-Limit", String.valueOf(ex.getLimit()))
+                .header("RateLimit-Remaining", "0")
+                .header("RateLimit-Reset", retryAfter)
+                .body(error);
+    }
+
+    /**
+     * Handle a duplicate idempotency key caught by the database unique constraint
+     * (the in-memory idempotency filter can let an old key through)
+     * Returns 409 Conflict; other constraint violations are unexpected errors
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!IdempotencyKeyFilter.isIdempotencyKeyViolation(ex)) {
+            return handleGenericException(ex);
+        }
+
+        log.error("Duplicate transfer rejected by unique constraint: {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse error = new ErrorResponse("TRX-409", "Duplicate transfer detected with an already used idempotency key");
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(error);
+    }
+
+    /**
+     * Handle concurrent updates of the same account (optimistic locking)
+     * Returns 409 Conflict; the client can safely retry with the same idempotency key
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Concurrent update conflict: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse("CON-409",
+                "The account was updated concurrently, please retry the transfer");
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(error);
+    }
+
     /**
      * Handle validation errors (from @Valid annotation)
      * Returns 422 Unprocessable Entity
@@ -0,0 +1,178 @@
+package com.moneytransfer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stand-in for database replication when primary and replicas are local H2 instances
+ * ({@code moneytransfer.datasource.replicas.local-sync.enabled})
+ *
+ * Every interval, new and changed rows are copied from the primary to each
+ * replica with MERGE: accounts by last_updated, transaction logs and ledger
+ * postings by created_on, balance snapshots by computed_on (re-reading a few
+ * seconds back, for transactions that committed late), balance slots and the
+ * heartbeat row in full. The heartbeat is copied first, so a replica's beat
+ * never claims data it doesn't have yet. The replica's schema is copied from
+ * the primary on the first run. Deletes are not copied.
+ *
+ * Real deployments use the database's own replication instead.
+ */
+@Slf4j
+public class LocalReplicaSync implements Runnable {
+
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    /**
+     * Tables in copy order: heartbeat first
+     */
+    private static final List<Table> TABLES = List.of(
+            new Table("replication_heartbeat", "id", null),
+            new Table("accounts", "id", "last_updated"),
+            new Table("account_balance_slots", "id", null),
+            new Table("transaction_logs", "id", "created_on"),
+            new Table("ledger_postings", "account_id, created_on, transaction_id", "created_on"),
+            new Table("account_balance_snapshots", "account_id, snapshot_date", "computed_on"));
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final long intervalMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public LocalReplicaSync(DataSource primary, List<DataSource> replicas, Duration interval) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas.stream().map(replica -> new Replica(new JdbcTemplate(replica))).toList();
+        this.intervalMillis = interval.toMillis();
+        this.thread = new Thread(this, "local-replica-sync");
+        this.thread.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join(5_000);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            for (int i = 0; i < replicas.size(); i++) {
+                try {
+                    sync(replicas.get(i));
+                } catch (RuntimeException e) {
+                    log.warn("Could not copy rows to replica {}: {}", i, e.getMessage());
+                }
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void sync(Replica replica) {
+        if (!replica.schemaCreated) {
+            createSchema(replica.jdbcTemplate);
+            replica.schemaCreated = true;
+        }
+        for (int i = 0; i < TABLES.size(); i++) {
+            replica.watermarks[i] = copy(TABLES.get(i), replica.jdbcTemplate, replica.watermarks[i]);
+        }
+    }
+
+    private void createSchema(JdbcTemplate replica) {
+        List<String> statements = primary.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS", String.class);
+        for (String statement : statements) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    /**
+     * Copy one table's new and changed rows
+     *
+     * @return Newest timestamp copied, the next run's starting point
+     */
+    private Timestamp copy(Table table, JdbcTemplate replica, Timestamp watermark) {
+        String select = "SELECT * FROM " + table.name();
+        List<Object> args = new ArrayList<>();
+        if (table.changedColumn() != null && watermark != null) {
+            select += " WHERE " + table.changedColumn() + " >= ?";
+            args.add(new Timestamp(watermark.getTime() - OVERLAP.toMillis()));
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<Object[]> rows = primary.query(select, (rs, rowNum) -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (columns.isEmpty()) {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnName(i));
+                }
+            }
+            Object[] values = new Object[metaData.getColumnCount()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getObject(i + 1);
+            }
+            return values;
+        }, args.toArray());
+        if (rows.isEmpty()) {
+            return watermark;
+        }
+
+        String merge = "MERGE INTO " + table.name() + " (" + String.join(", ", columns) + ") KEY (" + table.key()
+                + ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        replica.batchUpdate(merge, rows);
+
+        if (table.changedColumn() == null) {
+            return null;
+        }
+        int changed = columns.indexOf(table.changedColumn().toUpperCase());
+        Timestamp newest = watermark;
+        for (Object[] row : rows) {
+            Timestamp value = toTimestamp(row[changed]);
+            if (value != null && (newest == null || value.after(newest))) {
+                newest = value;
+            }
+        }
+        return newest;
+    }
+
+    private static Timestamp toTimestamp(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp;
+        }
+        return value instanceof LocalDateTime dateTime ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private record Table(String name, String key, String changedColumn) {
+    }
+
+    private static final class Replica {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final Timestamp[] watermarks = new Timestamp[TABLES.size()];
+        private boolean schemaCreated;
+
+        private Replica(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.moneytransfer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas ({@code moneytransfer.datasource.replicas.enabled})
+ *
+ * The application's DataSource becomes a {@link ReplicaRoutingDataSource}
+ * over the primary pool (configured by spring.datasource as usual) and one
+ * pool per replica URL, so read-only transactions are served by the replicas
+ * while transfers keep writing to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "moneytransfer.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${moneytransfer.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${moneytransfer.datasource.replicas.username:sa}")
+    private String username;
+
+    @Value("${moneytransfer.datasource.replicas.password:}")
+    private String password;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${moneytransfer.datasource.replicas.max-lag:1s}") Duration maxLag) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+    }
+
+    /**
+     * The DataSource everything else uses; connections are only fetched (and routed)
+     * at the first statement, after the transaction's read-only flag is set
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean(destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               HikariDataSource primaryDataSource,
+                                               @Value("${moneytransfer.datasource.replicas.heartbeat-interval:100ms}") Duration interval) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, primaryDataSource, interval);
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "moneytransfer.datasource.replicas.local-sync.enabled", havingValue = "true")
+    public LocalReplicaSync localReplicaSync(HikariDataSource primaryDataSource,
+                                             ReplicaRoutingDataSource replicaRoutingDataSource,
+                                             @Value("${moneytransfer.datasource.replicas.local-sync.interval:250ms}") Duration interval) {
+        return new LocalReplicaSync(primaryDataSource, replicaRoutingDataSource.replicas(), interval);
+    }
+}
@@ -0,0 +1,95 @@
+package com.moneytransfer.config;
+
+import com.moneytransfer.domain.entity.ReplicationHeartbeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures how far each replica is behind the primary (heartbeat table)
+ *
+ * Every interval the primary's replication_heartbeat row is set to the current
+ * time, and each replica's copy of the row is read back: the replica is behind
+ * by the difference between now and the beat it has. Both times come from the
+ * application's clock, so database clocks don't need to agree. A replica that
+ * cannot be read counts as infinitely behind.
+ *
+ * The table is part of the schema ({@link ReplicationHeartbeat}, database/schema.sql).
+ */
+@Slf4j
+public class ReplicaLagMonitor implements Runnable {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas;
+    private final long intervalMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, DataSource primary, Duration interval) {
+        this.routingDataSource = routingDataSource;
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = routingDataSource.replicas().stream().map(JdbcTemplate::new).toList();
+        this.intervalMillis = interval.toMillis();
+        this.thread = new Thread(this, "replica-lag-monitor");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start once the schema exists and seeding is done
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join(5_000);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                beat();
+                for (int i = 0; i < replicas.size(); i++) {
+                    routingDataSource.updateLag(i, measureLag(replicas.get(i), i));
+                }
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not write the replication heartbeat: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void beat() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (primary.update("UPDATE replication_heartbeat SET beat = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO replication_heartbeat (id, beat) VALUES (1, ?)", now);
+        }
+    }
+
+    private long measureLag(JdbcTemplate replica, int index) {
+        try {
+            List<Timestamp> beats = replica.queryForList("SELECT beat FROM replication_heartbeat WHERE id = 1",
+                    Timestamp.class);
+            if (beats.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+            return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - beats.get(0).getTime())).toNanos();
+        } catch (RuntimeException e) {
+            log.debug("Replica {} unavailable: {}", index, e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
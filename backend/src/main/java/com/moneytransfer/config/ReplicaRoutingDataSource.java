@@ -0,0 +1,143 @@
+package com.moneytransfer.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends connections of read-only transactions to replica pools
+ *
+ * Connections of {@code @Transactional(readOnly = true)} transactions go to the
+ * replicas in round-robin order, skipping replicas whose measured lag (see
+ * {@link ReplicaLagMonitor}) exceeds {@code max-lag}; with none left they go
+ * to the primary. Everything else, including work outside a transaction, uses
+ * the primary. A read-only transaction can also ask for the primary itself
+ * ({@link #usePrimaryForCurrentTransaction}), for read-your-writes.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+ * fetches its connection before the read-only flag is visible here.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PRIMARY_REQUESTED = new ThreadLocal<>();
+
+    private final List<DataSource> replicas;
+    private final int replicaCount;
+    private final long maxLagNanos;
+    private final AtomicLongArray lagNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter laggingReads;
+    private final Counter readYourWritesReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.replicaCount = replicas.size();
+        this.maxLagNanos = maxLag.toNanos();
+        this.lagNanos = new AtomicLongArray(replicaCount);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaCount; i++) {
+            targets.put(i, replicas.get(i));
+            // Unknown until the first heartbeat comes back
+            lagNanos.set(i, Long.MAX_VALUE);
+
+            int replica = i;
+            Gauge.builder("moneytransfer.datasource.replica.lag", this, routing -> routing.lagSeconds(replica))
+                    .description("How far the replica is behind the primary (infinite until measured)")
+                    .baseUnit("seconds")
+                    .tag("replica", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.laggingReads = readCounter(meterRegistry, "primary-replicas-lagging");
+        this.readYourWritesReads = readCounter(meterRegistry, "primary-read-your-writes");
+    }
+
+    /**
+     * Keep the current read-only transaction on the primary; cleared when the transaction completes
+     */
+    public static void usePrimaryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || PRIMARY_REQUESTED.get() != null) {
+            return;
+        }
+        PRIMARY_REQUESTED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARY_REQUESTED.remove();
+            }
+        });
+    }
+
+    void updateLag(int replica, long nanos) {
+        lagNanos.set(replica, nanos);
+    }
+
+    List<DataSource> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Close the replica pools; the primary pool is a bean of its own
+     */
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (PRIMARY_REQUESTED.get() != null) {
+            readYourWritesReads.increment();
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicaCount);
+        for (int i = 0; i < replicaCount; i++) {
+            int replica = (start + i) % replicaCount;
+            if (lagNanos.get(replica) <= maxLagNanos) {
+                replicaReads.increment();
+                return replica;
+            }
+        }
+        laggingReads.increment();
+        return PRIMARY;
+    }
+
+    private double lagSeconds(int replica) {
+        long lag = lagNanos.get(replica);
+        return lag == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : lag / 1e9;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("moneytransfer.datasource.reads")
+                .description("Connections of read-only transactions by where they were routed")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
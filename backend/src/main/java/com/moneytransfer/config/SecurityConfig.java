@@ -1,5 +1,8 @@
 package com.moneytransfer.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,6 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -28,7 +32,8 @@ public class SecurityConfig {
      * - Which endpoints are public
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthTokenService authTokenService)
+            throws Exception {
         http
                 // Disable CSRF for REST API (not needed for stateless APIs)
                 .csrf(csrf -> csrf.disable())
@@ -46,12 +51,28 @@ public class SecurityConfig {
                 // Enable HTTP Basic Authentication
                 .httpBasic(withDefaults())
 
+                // Accept bearer tokens from POST /api/v1/auth/token (no BCrypt per request)
+                .addFilterBefore(new BearerTokenAuthenticationFilter(authTokenService), BasicAuthenticationFilter.class)
+
                 // Allow H2 console to work (frames)
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
         return http.build();
     }
 
+    /**
+     * Run the adaptive concurrency filter ahead of the security filter chain,
+     * so a request shed with 503 never pays for authentication (BCrypt)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "moneytransfer.concurrency.adaptive.enabled", havingValue = "true")
+    public FilterRegistrationBean<AdaptiveConcurrencyFilter> adaptiveConcurrencyFilterRegistration(
+            AdaptiveConcurrencyFilter filter) {
+        FilterRegistrationBean<AdaptiveConcurrencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
     /**
      * Define users for authentication
      * In production, this would come from a database
@@ -1,15 +1,21 @@
 package com.moneytransfer.controller;
 
-import com.moneytransfer.domain.entity.TransactionLog;
 import com.moneytransfer.dto.AccountResponse;
+import com.moneytransfer.dto.TransactionPage;
 import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.StatementExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
 
 /**
  * REST Controller for account operations
@@ -23,6 +29,9 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final StatementExportService statementExportService;
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
 
     /**
      * Get account details
@@ -38,28 +47,110 @@ public class AccountController {
     }
 
     /**
-     * Get account balance
+     * Get account balance, now or at a point in time
      *
      * GET /api/v1/accounts/{id}/balance
+     * GET /api/v1/accounts/{id}/balance?asOf=2024-01-31T23:59:59
      */
     @GetMapping("/{id}/balance")
-    public ResponseEntity<BigDecimal> getBalance(@PathVariable Long id) {
+    public ResponseEntity<BigDecimal> getBalance(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
         log.info("Get balance request: {}", id);
 
-        BigDecimal balance = accountService.getBalance(id);
+        BigDecimal balance = asOf != null ? accountService.getBalanceAsOf(id, asOf) : accountService.getBalance(id);
         return ResponseEntity.ok(balance);
     }
 
     /**
-     * Get transaction history
+     * Get the full transaction history as a JSON array, newest first
+     * The array is streamed from a JDBC cursor, so long histories aren't loaded into memory
      *
      * GET /api/v1/accounts/{id}/transactions
      */
-    @GetMapping("/{id}/transactions")
-    public ResponseEntity<List<TransactionLog>> getTransactions(@PathVariable Long id) {
+    @GetMapping(value = "/{id}/transactions", params = {"!limit", "!cursor", "!from", "!to", "!format"})
+    public ResponseEntity<StreamingResponseBody> getTransactions(@PathVariable Long id) {
         log.info("Get transactions request: {}", id);
 
-        List<TransactionLog> transactions = accountService.getTransactions(id);
-        return ResponseEntity.ok(transactions);
+        StreamingResponseBody body = accountService.streamTransactionArray(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Get one page of transaction history, newest first
+     *
+     * GET /api/v1/accounts/{id}/transactions?limit=50&from=2024-01-01T00:00:00&to=2024-02-01T00:00:00
+     * GET /api/v1/accounts/{id}/transactions?limit=50&cursor={nextCursor of the previous page}
+     */
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<TransactionPage> getTransactionPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get transaction page request: {}", id);
+
+        TransactionPage page = accountService.getTransactionPage(id, limit, cursor, from, to);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Stream the full transaction history as NDJSON, newest first
+     *
+     * GET /api/v1/accounts/{id}/transactions?format=ndjson[&from=...][&to=...]
+     */
+    @GetMapping(value = "/{id}/transactions", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Stream transactions request: {}", id);
+
+        StreamingResponseBody body = accountService.streamTransactions(id, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Download an account statement as gzip-compressed CSV, oldest first
+     *
+     * GET /api/v1/accounts/{id}/statement[?from=...][&to=...]
+     */
+    @GetMapping("/{id}/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Export statement request: {}", id);
+
+        StreamingResponseBody body = statementExportService.exportAccount(id, from, to);
+        return csvGzip("statement-" + id + ".csv.gz", body);
+    }
+
+    /**
+     * Download the statements of all accounts as one gzip-compressed CSV,
+     * by account and then oldest first
+     *
+     * GET /api/v1/accounts/statements?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00
+     */
+    @GetMapping("/statements")
+    public ResponseEntity<StreamingResponseBody> exportStatements(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Export statements request: {} to {}", from, to);
+
+        StreamingResponseBody body = statementExportService.exportAll(from, to);
+        return csvGzip("statements.csv.gz", body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csvGzip(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.moneytransfer.controller;
+
+import com.moneytransfer.config.AuthTokenService;
+import com.moneytransfer.dto.TokenResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for bearer tokens
+ *
+ * Base URL: /api/v1/auth
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthTokenService authTokenService;
+
+    /**
+     * Exchange HTTP Basic credentials for a short-lived bearer token
+     *
+     * POST /api/v1/auth/token
+     *
+     * The password is checked (BCrypt) once here; later calls with
+     * {@code Authorization: Bearer <accessToken>} only verify the token's signature
+     */
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> token(Authentication authentication) {
+        return ResponseEntity.ok(authTokenService.issue(authentication));
+    }
+}
@@ -1,14 +1,24 @@
 package com.moneytransfer.controller;
 
+import com.moneytransfer.dto.AsyncTransferStatus;
+import com.moneytransfer.dto.BatchTransferRequest;
+import com.moneytransfer.dto.BatchTransferResponse;
 import com.moneytransfer.dto.TransferRequest;
 import com.moneytransfer.dto.TransferResponse;
-import com.moneytransfer.service.TransferService;
+import com.moneytransfer.service.AsyncTransferService;
+import com.moneytransfer.service.BatchTransferService;
+import com.moneytransfer.service.TransferGateway;
+import com.moneytransfer.service.TransferRateLimiter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.UUID;
 
 /**
  * REST Controller for money transfer operations
@@ -21,7 +31,10 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class TransferController {
 
-    private final TransferService transferService;
+    private final TransferGateway transferGateway;
+    private final BatchTransferService batchTransferService;
+    private final AsyncTransferService asyncTransferService;
+    private final TransferRateLimiter transferRateLimiter;
 
     /**
      * Execute a money transfer
@@ -37,13 +50,84 @@ public class TransferController {
      * }
      */
     @PostMapping
-    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request, Principal principal) {
         log.info("Transfer request received: {}", request);
 
-        TransferResponse response = transferService.transfer(request);
+        transferRateLimiter.acquire(principal.getName(), request.getFromAccountId());
+
+        TransferResponse response = transferGateway.transfer(request);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Execute many money transfers in one call
+     *
+     * POST /api/v1/transfers/batch
+     *
+     * Request Body:
+     * {
+     *   "transfers": [
+     *     { "fromAccountId": 1, "toAccountId": 2, "amount": 500.00, "idempotencyKey": "payroll-1" },
+     *     { "fromAccountId": 1, "toAccountId": 3, "amount": 250.00, "idempotencyKey": "payroll-2" }
+     *   ]
+     * }
+     *
+     * Always returns 200 with one result per item; failed items carry an error code.
+     * A batch takes one token per item from the client's rate limit, and from each debited account's
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(@Valid @RequestBody BatchTransferRequest request,
+                                                               Principal principal) {
+        log.info("Batch transfer request received: {} items", request.getTransfers().size());
+
+        transferRateLimiter.acquireBatch(principal.getName(), request.getTransfers());
+
+        BatchTransferResponse response = batchTransferService.transferBatch(request);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Queue a money transfer for background execution
+     *
+     * POST /api/v1/transfers/async
+     *
+     * Same request body as POST /api/v1/transfers. Returns 202 Accepted with a
+     * PENDING status and a Location header to poll once the transfer is safely
+     * queued; resubmitting the same idempotency key returns the existing transfer.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<AsyncTransferStatus> submitTransfer(@Valid @RequestBody TransferRequest request,
+                                                              Principal principal) {
+        log.info("Async transfer request received: {}", request);
+
+        transferRateLimiter.acquire(principal.getName(), request.getFromAccountId());
+
+        AsyncTransferStatus status = asyncTransferService.submit(request);
+
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/v1/transfers/{id}")
+                        .buildAndExpand(status.getTransferId())
+                        .toUri())
+                .body(status);
+    }
+
+    /**
+     * Get the status of a transfer queued with POST /api/v1/transfers/async
+     *
+     * GET /api/v1/transfers/{id}
+     *
+     * Status is PENDING, SUCCESS (with transactionId) or FAILED (with errorCode)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<AsyncTransferStatus> getTransferStatus(@PathVariable UUID id) {
+        return ResponseEntity.ok(asyncTransferService.getStatus(id));
+    }
+}
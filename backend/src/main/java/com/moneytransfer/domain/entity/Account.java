@@ -1,6 +1,8 @@
 package com.moneytransfer.domain.entity;
 
 import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.domain.value.MoneyConverter;
 import com.moneytransfer.exception.AccountNotActiveException;
 import com.moneytransfer.exception.InsufficientBalanceException;
 import jakarta.persistence.*;
@@ -29,12 +31,20 @@ public class Account {
     private String holderName;
 
     @Column(nullable = false, precision = 18, scale = 2)  // JPA: Decimal precision
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)  // Held as long minor units, stored as DECIMAL
+    private Money balance;
 
     @Enumerated(EnumType.STRING)  // JPA: Store enum as string in DB
     @Column(nullable = false, length = 20)
     private AccountStatus status;
 
+    /**
+     * Striped accounts keep part of their balance in account_balance_slots
+     * so that concurrent credits don't all update this row
+     */
+    @Column(nullable = false)
+    private boolean striped;
+
     @Version  // JPA: Optimistic locking - prevents concurrent updates
     private Integer version;
 
@@ -50,30 +60,63 @@ public class Account {
         this.lastUpdated = LocalDateTime.now();
     }
 
+    /**
+     * Get the balance as a decimal amount (for responses and logging)
+     */
+    public BigDecimal getBalance() {
+        return balance != null ? balance.toBigDecimal() : null;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance != null ? Money.of(balance) : null;
+    }
+
+    /**
+     * Get the balance as minor units, for arithmetic without BigDecimal
+     */
+    public Money getBalanceMoney() {
+        return balance;
+    }
+
     /**
      * Deduct money from the account
      */
-    public void debit(BigDecimal amount) {
+    public void debit(Money amount) {
         if (!isActive()) {
             throw new AccountNotActiveException("Cannot debit from account " + id + ". Account status: " + status);
         }
 
-        if (balance.compareTo(amount) < 0) {
+        if (balance.isLessThan(amount)) {
             throw new InsufficientBalanceException("Insufficient balance. Available: " + balance + ", Required: " + amount);
         }
 
-        this.balance = this.balance.subtract(amount);
+        this.balance = this.balance.minus(amount);
+    }
+
+    public void debit(BigDecimal amount) {
+        debit(Money.of(amount));
     }
 
     /**
      * Add money to the account
      */
-    public void credit(BigDecimal amount) {
+    public void credit(Money amount) {
         if (!isActive()) {
             throw new AccountNotActiveException("Cannot credit to account " + id + ". Account status: " + status);
         }
 
-        this.balance = this.balance.add(amount);
+        this.balance = this.balance.plus(amount);
+    }
+
+    public void credit(BigDecimal amount) {
+        credit(Money.of(amount));
+    }
+
+    /**
+     * Fold the sub-balances of a striped account back into the main balance
+     */
+    public void consolidate(Money slotBalance) {
+        this.balance = this.balance.plus(slotBalance);
     }
 
     /**
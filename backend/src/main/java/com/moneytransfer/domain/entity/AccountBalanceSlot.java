@@ -0,0 +1,37 @@
+package com.moneytransfer.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One sub-balance of a striped (hot) account
+ *
+ * The spendable balance of a striped account is its own balance plus the
+ * sum of all its slots. Credits are spread across the slots, so concurrent
+ * credits lock different rows instead of all serializing on the account row.
+ */
+@Entity
+@Table(name = "account_balance_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_slot", columnNames = {"account_id", "slot"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private int slot;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal balance;
+}
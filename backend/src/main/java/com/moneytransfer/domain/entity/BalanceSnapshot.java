@@ -0,0 +1,60 @@
+package com.moneytransfer.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An account's balance at the end of a day it had postings on
+ *
+ * Written by BalanceSnapshotJob for closed days only. Days without postings
+ * have no row: the balance at the end of any day is that of the latest
+ * snapshot on or before it.
+ */
+@Entity
+@Table(name = "account_balance_snapshots")
+@IdClass(BalanceSnapshot.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    /**
+     * Balance after the day's last posting
+     */
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * When the job wrote the row (lets replicas copy new rows incrementally)
+     */
+    @Column(name = "computed_on", nullable = false)
+    private LocalDateTime computedOn;
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate snapshotDate;
+    }
+}
@@ -0,0 +1,27 @@
+package com.moneytransfer.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of BalanceSnapshotJob, a single row with id 1
+ *
+ * Every posting created before {@code processedUntil} is covered by a snapshot.
+ */
+@Entity
+@Table(name = "balance_snapshot_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshotCheckpoint {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "processed_until", nullable = false)
+    private LocalDateTime processedUntil;
+}
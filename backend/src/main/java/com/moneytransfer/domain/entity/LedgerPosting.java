@@ -0,0 +1,137 @@
+package com.moneytransfer.domain.entity;
+
+import com.moneytransfer.domain.enums.TransactionStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One leg of a successful transfer in an account's ledger (double-entry)
+ *
+ * Every successful transfer is written as two postings: a debit leg on the
+ * source account (negative amount) and a credit leg on the destination account
+ * (positive amount), each with the account's balance right after it.
+ *
+ * The primary key (account_id, created_on, transaction_id) is also the order of
+ * an account's history, so a history page is one range scan of the primary key
+ * (the clustered index on InnoDB) instead of an OR across two indexes of
+ * transaction_logs. The row carries everything a history item shows.
+ */
+@Entity
+@Table(name = "ledger_postings")
+@IdClass(LedgerPosting.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerPosting implements Persistable<LedgerPosting.Key> {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "created_on")
+    private LocalDateTime createdOn;
+
+    @Id
+    @Column(name = "transaction_id", columnDefinition = "VARCHAR(36)")
+    private String transactionId;
+
+    @Column(name = "counterparty_account_id", nullable = false)
+    private Long counterpartyAccountId;
+
+    /**
+     * Signed amount: negative for the debit leg, positive for the credit leg
+     */
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * Balance of the account right after this posting
+     */
+    @Column(name = "balance_after", nullable = false, precision = 18, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    /**
+     * Build both legs of a successful transfer
+     *
+     * @param fromBalance Source account balance after the debit
+     * @param toBalance   Destination account balance after the credit
+     */
+    public static List<LedgerPosting> legsOf(TransactionLog transaction, BigDecimal fromBalance, BigDecimal toBalance) {
+        LedgerPosting debit = LedgerPosting.builder()
+                .accountId(transaction.getFromAccountId())
+                .createdOn(transaction.getCreatedOn())
+                .transactionId(transaction.getId())
+                .counterpartyAccountId(transaction.getToAccountId())
+                .amount(transaction.getAmount().negate())
+                .balanceAfter(fromBalance)
+                .idempotencyKey(transaction.getIdempotencyKey())
+                .build();
+
+        LedgerPosting credit = LedgerPosting.builder()
+                .accountId(transaction.getToAccountId())
+                .createdOn(transaction.getCreatedOn())
+                .transactionId(transaction.getId())
+                .counterpartyAccountId(transaction.getFromAccountId())
+                .amount(transaction.getAmount())
+                .balanceAfter(toBalance)
+                .idempotencyKey(transaction.getIdempotencyKey())
+                .build();
+
+        return List.of(debit, credit);
+    }
+
+    /**
+     * The transfer this posting belongs to, as shown in the account's history
+     */
+    public TransactionLog toTransactionLog() {
+        boolean debit = amount.signum() < 0;
+        return TransactionLog.builder()
+                .id(transactionId)
+                .fromAccountId(debit ? accountId : counterpartyAccountId)
+                .toAccountId(debit ? counterpartyAccountId : accountId)
+                .amount(amount.abs())
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey(idempotencyKey)
+                .createdOn(createdOn)
+                .build();
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(accountId, createdOn, transactionId);
+    }
+
+    /**
+     * Postings are insert-only, so saving never has to check for an existing row
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDateTime createdOn;
+        private String transactionId;
+    }
+}
@@ -0,0 +1,28 @@
+package com.moneytransfer.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat of the primary database, a single row with id 1
+ *
+ * Written by ReplicaLagMonitor; a replica's copy of {@code beat} tells how far
+ * behind that replica is.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicationHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDateTime beat;
+}
@@ -13,15 +13,24 @@ import java.util.UUID;
 
 /**
  * Represents a record of a money transfer transaction
+ *
+ * Account history is read from {@link LedgerPosting}, not from this table,
+ * so it only needs its primary key and the idempotency key constraint.
  */
 @Entity
-@Table(name = "transaction_logs")
+@Table(name = "transaction_logs",
+        uniqueConstraints = @UniqueConstraint(name = TransactionLog.IDEMPOTENCY_KEY_CONSTRAINT, columnNames = "idempotency_key"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TransactionLog {
 
+    /**
+     * Name of the unique constraint on idempotency_key, the final guard against duplicate transfers
+     */
+    public static final String IDEMPOTENCY_KEY_CONSTRAINT = "uk_idempotency_key";
+
     @Id
     @Column(columnDefinition = "VARCHAR(36)")
     private String id;  // Changed from UUID to String for JPA compatibility
@@ -42,20 +51,22 @@ public class TransactionLog {
     @Column(name = "failure_reason")
     private String failureReason;
 
-    @Column(name = "idempotency_key", unique = true, nullable = false, length = 100)
+    @Column(name = "idempotency_key", nullable = false, length = 100)
     private String idempotencyKey;
 
     @Column(name = "created_on", nullable = false)
     private LocalDateTime createdOn;
 
     /**
-     * Automatically set ID and timestamp before persisting
+     * Automatically set ID and timestamp before persisting, unless already assigned
      */
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
             this.id = UUID.randomUUID().toString();
         }
-        this.createdOn = LocalDateTime.now();
+        if (this.createdOn == null) {
+            this.createdOn = LocalDateTime.now();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.moneytransfer.domain.value;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money as a long number of minor units (cents)
+ *
+ * Used for balance arithmetic so debits, credits and comparisons don't
+ * allocate BigDecimals. BigDecimal only appears at the edges: JSON requests
+ * and responses, and the DECIMAL(18,2) database columns (see {@link MoneyConverter}).
+ *
+ * All arithmetic is overflow-checked and throws ArithmeticException instead
+ * of wrapping around.
+ */
+public record Money(long minorUnits) implements Comparable<Money>, Serializable {
+
+    /**
+     * Decimal places of the currency; matches the scale of the amount and balance columns
+     */
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Convert a decimal amount, rejecting amounts with more than {@link #SCALE} decimal places
+     */
+    public static Money of(BigDecimal amount) {
+        try {
+            return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE
+                    + " decimal places and fit the balance range: " + amount);
+        }
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits));
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Plain decimal form, e.g. "1500.00"
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.moneytransfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of a transfer submitted through POST /api/v1/transfers/async
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AsyncTransferStatus {
+
+    public static final String PENDING = "PENDING";
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+
+    /**
+     * ID to poll with GET /api/v1/transfers/{transferId}
+     */
+    private UUID transferId;
+    private String idempotencyKey;
+
+    /**
+     * PENDING, SUCCESS or FAILED
+     */
+    private String status;
+
+    /**
+     * Transaction ID of the executed transfer, only set on success
+     */
+    private UUID transactionId;
+
+    /**
+     * Same codes as {@link ErrorResponse} ("ACC-404", "TRX-400"), only set on failure
+     */
+    private String errorCode;
+    private String message;
+    private LocalDateTime submittedOn;
+    private LocalDateTime completedOn;
+}
@@ -0,0 +1,32 @@
+package com.moneytransfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a single transfer inside a batch
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransferItemResult {
+
+    /**
+     * Position of the item in the submitted batch (0-based)
+     */
+    private int index;
+    private String idempotencyKey;
+    private String status;
+    private UUID transactionId;
+
+    /**
+     * Same codes as {@link ErrorResponse} ("ACC-404", "TRX-400"), only set on failure
+     */
+    private String errorCode;
+    private String message;
+}
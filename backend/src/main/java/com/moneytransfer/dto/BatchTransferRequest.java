@@ -0,0 +1,30 @@
+package com.moneytransfer.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request object for submitting many transfers in one call
+ *
+ * Items are validated one by one by the batch service, so a single
+ * malformed row fails on its own instead of rejecting the whole file.
+ *
+ * At most {@link #MAX_ITEMS} items are accepted, checked before anything else
+ * runs; {@code moneytransfer.batch.max-items} defaults to it and can only lower it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferRequest {
+
+    public static final int MAX_ITEMS = 10000;
+
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " transfers are allowed per batch")
+    private List<TransferRequest> transfers;
+}
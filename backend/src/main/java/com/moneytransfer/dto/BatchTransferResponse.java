@@ -0,0 +1,22 @@
+package com.moneytransfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response object returned after a batch transfer
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransferResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchTransferItemResult> results;
+}
@@ -0,0 +1,26 @@
+package com.moneytransfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bearer token returned by POST /api/v1/auth/token
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+
+    private String accessToken;
+
+    /**
+     * Always "Bearer": send it as {@code Authorization: Bearer <accessToken>}
+     */
+    private String tokenType;
+
+    /**
+     * Seconds until the token expires
+     */
+    private long expiresIn;
+}
@@ -0,0 +1,24 @@
+package com.moneytransfer.dto;
+
+import com.moneytransfer.domain.entity.TransactionLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of an account's transaction history, newest first
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+
+    private List<TransactionLog> items;
+
+    /**
+     * Opaque cursor for the next (older) page, null when there are no more transactions
+     */
+    private String nextCursor;
+}
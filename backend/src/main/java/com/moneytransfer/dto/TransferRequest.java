@@ -1,7 +1,9 @@
 package com.moneytransfer.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,8 +25,10 @@ public class TransferRequest {
 
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 16, fraction = 2, message = "Amount must have at most 2 decimal places")
     private BigDecimal amount;
 
     @NotNull(message = "Idempotency key is required")
+    @Size(max = 100, message = "Idempotency key must be at most 100 characters")
     private String idempotencyKey;
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.exception.TransferQueueFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes transfers applied by the partitions to the database in batches
+ *
+ * Each batch runs in one transaction: all transaction logs and their ledger
+ * postings are inserted with JDBC batches, and each touched account gets a single
+ * {@code balance = balance + delta} update. Writing deltas (instead of the
+ * partition's current balance) keeps the accounts table consistent with the
+ * logs committed alongside it.
+ *
+ * With the transfer journal enabled, both tables are a projection of the
+ * journal: after each batch the persister reports the highest journal
+ * sequence up to which every transfer has committed, and at startup {@link #restore} inserts the logs of
+ * journaled transfers that never made it to the database.
+ *
+ * A transfer whose row can't be written has already moved money in memory, so
+ * it is never dropped: its idempotency key stays reserved (a client retry is
+ * still rejected as a duplicate) and it is retried with exponential backoff
+ * until it commits. The queue is bounded; once it is full the engine refuses
+ * new transfers instead of piling up unpersisted ones.
+ */
+@Slf4j
+class AsyncTransferPersister implements Runnable {
+
+    private static final String INSERT_LOG =
+            "INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, status, " +
+                    "idempotency_key, created_on) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_POSTING =
+            "INSERT INTO ledger_postings (account_id, created_on, transaction_id, counterparty_account_id, " +
+                    "amount, balance_after, idempotency_key) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_DELTA =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1, last_updated = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long intervalMillis;
+    private final LongConsumer projectedListener;
+    private static final long MIN_RETRY_BACKOFF_MILLIS = 100;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+
+    private final BlockingQueue<PersistedTransfer> queue;
+    private final int queueCapacity;
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final List<PersistedTransfer> retries = new ArrayList<>();  // persister thread only, oldest first
+    private long retryBackoffMillis;
+    private long nextRetryAt;
+    private long writtenSequence;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    AsyncTransferPersister(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           int queueCapacity, int batchSize, long intervalMillis, LongConsumer projectedListener) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+        this.projectedListener = projectedListener;
+        this.thread = new Thread(this, "transfer-persister");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Reserve an idempotency key until its transfer is persisted or rejected
+     *
+     * @return false if the key is already in flight
+     */
+    boolean reserve(String idempotencyKey) {
+        return pendingKeys.add(idempotencyKey);
+    }
+
+    void release(String idempotencyKey) {
+        pendingKeys.remove(idempotencyKey);
+    }
+
+    /**
+     * Refuse a new transfer while the queue is full (the database is slow or failing)
+     *
+     * @throws TransferQueueFullException when no room is left
+     */
+    void checkCapacity() {
+        if (queue.remainingCapacity() == 0) {
+            throw new TransferQueueFullException(queueCapacity);
+        }
+    }
+
+    /**
+     * Queue an applied transfer, blocking while the queue is full
+     * Only transfers that passed {@link #checkCapacity} get here, so this rarely waits
+     */
+    void enqueue(PersistedTransfer transfer) {
+        try {
+            queue.put(transfer);
+        } catch (InterruptedException e) {
+            // Shutting down: the money moved, so keep the transfer anyway
+            Thread.currentThread().interrupt();
+            queue.add(transfer);
+        }
+    }
+
+    @Override
+    public void run() {
+        List<PersistedTransfer> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (!retries.isEmpty() && System.currentTimeMillis() >= nextRetryAt) {
+                    retryFailed();
+                }
+                PersistedTransfer first = queue.poll(intervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                write(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Last attempt on shutdown
+        if (!retries.isEmpty()) {
+            retryFailed();
+            if (!retries.isEmpty()) {
+                log.error("{} applied transfers were never persisted and need manual reconciliation: {}",
+                        retries.size(), retries.stream().map(PersistedTransfer::transactionId).toList());
+            }
+        }
+    }
+
+    /**
+     * Write a batch in one transaction, falling back to one transaction per transfer
+     * Keys are released only for transfers whose row committed; the others are kept for a retry.
+     */
+    private void write(List<PersistedTransfer> batch) {
+        List<PersistedTransfer> failed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatch(batch));
+            batch.forEach(transfer -> pendingKeys.remove(transfer.idempotencyKey()));
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} transfers failed to persist, retrying one by one: {}", batch.size(), e.getMessage());
+
+            for (PersistedTransfer transfer : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writeBatch(List.of(transfer)));
+                    pendingKeys.remove(transfer.idempotencyKey());
+                } catch (RuntimeException single) {
+                    log.error("Could not persist transfer {} ({} -> {}, amount: {}), retrying later: {}",
+                            transfer.transactionId(), transfer.fromAccountId(), transfer.toAccountId(),
+                            transfer.amount(), single.getMessage());
+                    failed.add(transfer);
+                }
+            }
+        }
+
+        writtenSequence = Math.max(writtenSequence, batch.get(batch.size() - 1).sequence());
+        retries.addAll(failed);
+        if (failed.isEmpty()) {
+            if (retries.isEmpty()) {
+                retryBackoffMillis = 0;
+            }
+        } else {
+            retryBackoffMillis = Math.min(MAX_RETRY_BACKOFF_MILLIS, Math.max(MIN_RETRY_BACKOFF_MILLIS, retryBackoffMillis * 2));
+            nextRetryAt = System.currentTimeMillis() + retryBackoffMillis;
+        }
+
+        // The journal may drop what is reported here, so stop just before the oldest transfer still to be written
+        projectedListener.accept(retries.isEmpty() ? writtenSequence : retries.get(0).sequence() - 1);
+    }
+
+    /**
+     * Retry the transfers that failed to persist earlier
+     */
+    private void retryFailed() {
+        List<PersistedTransfer> pending = new ArrayList<>(retries);
+        retries.clear();
+        write(pending);
+        if (retries.isEmpty()) {
+            log.info("{} previously failed transfers persisted", pending.size());
+        }
+    }
+
+    /**
+     * Insert the transaction logs and postings of journaled transfers missing from the database
+     * Balances are not touched: the engine writes each account's journal balance when it loads it
+     */
+    void restore(List<PersistedTransfer> transfers) {
+        for (int from = 0; from < transfers.size(); from += batchSize) {
+            List<PersistedTransfer> chunk = transfers.subList(from, Math.min(from + batchSize, transfers.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT id FROM transaction_logs WHERE id IN (" + placeholders + ")", String.class,
+                        chunk.stream().map(PersistedTransfer::transactionId).toArray()));
+
+                List<PersistedTransfer> missing = chunk.stream()
+                        .filter(transfer -> !existing.contains(transfer.transactionId()))
+                        .toList();
+                if (!missing.isEmpty()) {
+                    insertLogs(missing);
+                }
+            });
+            projectedListener.accept(chunk.get(chunk.size() - 1).sequence());
+        }
+
+        if (!transfers.isEmpty()) {
+            log.info("Restored {} journaled transfers to the database", transfers.size());
+        }
+    }
+
+    private void writeBatch(List<PersistedTransfer> batch) {
+        Map<Long, Money> deltas = new LinkedHashMap<>();
+        for (PersistedTransfer transfer : batch) {
+            deltas.merge(transfer.fromAccountId(), transfer.amount().negate(), Money::plus);
+            deltas.merge(transfer.toAccountId(), transfer.amount(), Money::plus);
+        }
+
+        insertLogs(batch);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Map.Entry<Long, Money>> updates = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(APPLY_DELTA, updates, updates.size(), (ps, delta) -> {
+            ps.setBigDecimal(1, delta.getValue().toBigDecimal());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, delta.getKey());
+        });
+    }
+
+    /**
+     * Insert the transaction logs and both ledger postings of each transfer
+     */
+    private void insertLogs(List<PersistedTransfer> batch) {
+        jdbcTemplate.batchUpdate(INSERT_LOG, batch, batch.size(), (ps, transfer) -> {
+            ps.setString(1, transfer.transactionId());
+            ps.setLong(2, transfer.fromAccountId());
+            ps.setLong(3, transfer.toAccountId());
+            ps.setBigDecimal(4, transfer.amount().toBigDecimal());
+            ps.setString(5, TransactionStatus.SUCCESS.name());
+            ps.setString(6, transfer.idempotencyKey());
+            ps.setTimestamp(7, Timestamp.valueOf(transfer.createdOn()));
+        });
+
+        List<Object[]> postings = new ArrayList<>(batch.size() * 2);
+        for (PersistedTransfer transfer : batch) {
+            Timestamp createdOn = Timestamp.valueOf(transfer.createdOn());
+            postings.add(new Object[]{transfer.fromAccountId(), createdOn, transfer.transactionId(), transfer.toAccountId(),
+                    transfer.amount().negate().toBigDecimal(), transfer.fromBalance().toBigDecimal(), transfer.idempotencyKey()});
+            postings.add(new Object[]{transfer.toAccountId(), createdOn, transfer.transactionId(), transfer.fromAccountId(),
+                    transfer.amount().toBigDecimal(), transfer.toBalance().toBigDecimal(), transfer.idempotencyKey()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_POSTING, postings);
+    }
+
+    void stop() throws InterruptedException {
+        // No interrupt: let the current batch finish and drain the rest of the queue
+        running = false;
+        thread.join(30_000);
+    }
+}
@@ -0,0 +1,111 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.entity.Account;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A single-threaded slice of the transfer engine
+ *
+ * Every account hashed onto this partition is owned by its thread: the balance
+ * lives in a detached {@link Account} that only this thread reads or writes, so
+ * {@code debit}/{@code credit} run without locks or version checks.
+ *
+ * External submissions are bounded by {@code capacity} (callers block when the
+ * partition is saturated). Hand-offs from other partitions bypass that bound so
+ * two busy partitions can never deadlock waiting on each other.
+ */
+@Slf4j
+class Partition implements Runnable {
+
+    private final int index;
+    private final Function<Long, Account> accountLoader;
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+    private final Semaphore admission;
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    Partition(int index, int capacity, Function<Long, Account> accountLoader) {
+        this.index = index;
+        this.accountLoader = accountLoader;
+        this.admission = new Semaphore(capacity);
+        this.thread = new Thread(this, "transfer-partition-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Enqueue work coming from outside the engine, blocking while the partition is full
+     */
+    void submit(Runnable task) {
+        admission.acquireUninterruptibly();
+        queue.add(() -> {
+            try {
+                task.run();
+            } finally {
+                admission.release();
+            }
+        });
+    }
+
+    /**
+     * Enqueue the second step of a cross-partition transfer
+     */
+    void handOff(Runnable task) {
+        queue.add(task);
+    }
+
+    /**
+     * Get the partition-owned copy of an account, loading it on first use
+     * Must only be called from this partition's thread
+     */
+    Account account(Long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            account = accountLoader.apply(accountId);
+            accounts.put(accountId, account);
+        }
+        return account;
+    }
+
+    /**
+     * Get an account only if this partition already owns it
+     * Must only be called from this partition's thread
+     */
+    Account loadedAccount(Long accountId) {
+        return accounts.get(accountId);
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Runnable task = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in transfer partition {}", index, e);
+            }
+        }
+    }
+
+    void stop() throws InterruptedException {
+        // No interrupt: finish the current task and drain what is already queued
+        running = false;
+        thread.join(10_000);
+    }
+}
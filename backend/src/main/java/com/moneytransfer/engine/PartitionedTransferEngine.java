@@ -0,0 +1,333 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.MoneyTransferException;
+import com.moneytransfer.repository.TransactionLogRepository;
+import com.moneytransfer.service.FailedTransferAuditor;
+import com.moneytransfer.service.StripedBalanceService;
+import com.moneytransfer.service.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Single-writer transfer engine, enabled with {@code moneytransfer.engine.mode=partitioned}
+ *
+ * Account IDs are hashed onto N partitions, each served by one thread that owns
+ * the in-memory balances of its accounts (LMAX style). Transfers never contend
+ * on the {@code accounts.version} column because only one thread ever changes
+ * a given account.
+ *
+ * Transfers between two partitions use a deterministic two-step hand-off:
+ * the source partition debits, then passes the credit to the destination
+ * partition. If the credit is rejected (unknown or inactive account), the
+ * amount is handed back to the source partition and refunded.
+ *
+ * Successful transfers are written to the database asynchronously in batches
+ * by {@link AsyncTransferPersister}. In this mode the engine must be the only
+ * writer of account balances, and account status changes made directly in the
+ * database are only picked up after a restart. Striped accounts are folded
+ * back into a single balance when a partition first loads them. Transfers a
+ * partition rejects get a FAILED record through {@link FailedTransferAuditor},
+ * as in jpa mode.
+ *
+ * With {@code moneytransfer.engine.journal.enabled=true} (ledger mode) each
+ * transfer is also appended to a {@link TransferJournal} and only reported
+ * as successful once its record is on disk. The journal then owns balances:
+ * they are rebuilt from it at startup, and the accounts and transaction_logs
+ * tables become a projection that the persister keeps up to date.
+ */
+@Component
+@ConditionalOnProperty(name = "moneytransfer.engine.mode", havingValue = "partitioned")
+@Slf4j
+public class PartitionedTransferEngine {
+
+    private static final String SET_BALANCE =
+            "UPDATE accounts SET balance = ?, version = version + 1, last_updated = ? WHERE id = ?";
+
+    private final StripedBalanceService stripedBalanceService;
+    private final TransactionLogRepository transactionLogRepository;
+    private final FailedTransferAuditor failedTransferAuditor;
+    private final JdbcTemplate jdbcTemplate;
+    private final Partition[] partitions;
+    private final AsyncTransferPersister persister;
+    private final TransferJournal journal;  // null unless ledger mode is on
+
+    public PartitionedTransferEngine(StripedBalanceService stripedBalanceService,
+                                     TransactionLogRepository transactionLogRepository,
+                                     FailedTransferAuditor failedTransferAuditor,
+                                     JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${moneytransfer.engine.partitions:0}") int partitionCount,
+                                     @Value("${moneytransfer.engine.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${moneytransfer.engine.persist-queue-capacity:100000}") int persistQueueCapacity,
+                                     @Value("${moneytransfer.engine.persist-batch-size:500}") int persistBatchSize,
+                                     @Value("${moneytransfer.engine.persist-interval-ms:20}") long persistIntervalMillis,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${moneytransfer.engine.journal.enabled:false}") boolean journalEnabled,
+                                     @Value("${moneytransfer.engine.journal.directory:${java.io.tmpdir}/moneytransfer-journal}") Path journalDirectory,
+                                     @Value("${moneytransfer.engine.journal.segment-size:64MB}") DataSize journalSegmentSize,
+                                     @Value("${moneytransfer.engine.journal.max-batch:1000}") int journalMaxBatch,
+                                     @Value("${moneytransfer.engine.journal.snapshot-every:100000}") long journalSnapshotEvery) {
+        this.stripedBalanceService = stripedBalanceService;
+        this.transactionLogRepository = transactionLogRepository;
+        this.failedTransferAuditor = failedTransferAuditor;
+        this.jdbcTemplate = jdbcTemplate;
+
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new Partition(i, queueCapacity, this::loadAccount);
+        }
+        this.journal = journalEnabled
+                ? new TransferJournal(journalDirectory, journalSegmentSize.toBytes(), journalMaxBatch,
+                        journalSnapshotEvery, meterRegistry)
+                : null;
+        this.persister = new AsyncTransferPersister(jdbcTemplate, transactionTemplate, persistQueueCapacity,
+                persistBatchSize, persistIntervalMillis, journal != null ? journal::projected : sequence -> { });
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (journal != null) {
+            // Rebuild balances before the partitions take any transfer
+            persister.restore(journal.recover());
+            journal.start();
+        }
+        for (Partition partition : partitions) {
+            partition.start();
+        }
+        persister.start();
+        log.info("Partitioned transfer engine started with {} partitions", partitions.length);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+        if (journal != null) {
+            journal.stop();
+        }
+        persister.stop();
+        log.info("Partitioned transfer engine stopped");
+    }
+
+    /**
+     * Execute a transfer and wait for the in-memory result
+     * The database write happens afterwards, asynchronously
+     */
+    public TransferResponse transfer(TransferRequest request) {
+        try {
+            return submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submit a transfer without waiting for it
+     */
+    public CompletableFuture<TransferResponse> submit(TransferRequest request) {
+        CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+        String idempotencyKey = request.getIdempotencyKey();
+
+        // Step 1: Check for duplicate transfer (in flight first, then already persisted).
+        // The database is always read here: money moves before the log is written, so the
+        // unique constraint can't act as a safety net for the idempotency filter in this mode.
+        if (!persister.reserve(idempotencyKey)) {
+            result.completeExceptionally(new DuplicateTransferException(idempotencyKey));
+            return result;
+        }
+        Money amount;
+        try {
+            if (transactionLogRepository.findByIdempotencyKey(idempotencyKey).isPresent()) {
+                throw new DuplicateTransferException(idempotencyKey);
+            }
+            TransferService.validateTransfer(request);
+            amount = Money.of(request.getAmount());
+            persister.checkCapacity();
+            if (journal != null) {
+                journal.checkAppendable(idempotencyKey);
+            }
+        } catch (RuntimeException e) {
+            persister.release(idempotencyKey);
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        // Step 2: Run the debit on the partition owning the source account
+        Partition source = partitionOf(request.getFromAccountId());
+        Partition destination = partitionOf(request.getToAccountId());
+        source.submit(() -> debit(request, amount, source, destination, result));
+
+        return result;
+    }
+
+    /**
+     * Get the current in-memory balance of an account owned by the engine
+     *
+     * @return empty if no partition has loaded the account yet (and the journal
+     * doesn't know it), in which case the database balance is up to date
+     */
+    public Optional<BigDecimal> balanceOf(Long accountId) {
+        Partition partition = partitionOf(accountId);
+        CompletableFuture<BigDecimal> balance = new CompletableFuture<>();
+        partition.submit(() -> {
+            Account account = partition.loadedAccount(accountId);
+            if (account != null) {
+                balance.complete(account.getBalance());
+                return;
+            }
+            Money journaled = journal != null ? journal.recoveredBalance(accountId) : null;
+            balance.complete(journaled != null ? journaled.toBigDecimal() : null);
+        });
+        return Optional.ofNullable(balance.join());
+    }
+
+    /**
+     * Load an account for a partition
+     * In ledger mode its balance comes from the journal; an account the journal
+     * hasn't seen yet is opened there with its database balance.
+     */
+    private Account loadAccount(Long accountId) {
+        Account account = stripedBalanceService.loadUnstriped(accountId);
+        if (journal == null) {
+            return account;
+        }
+
+        Money journaled = journal.recoveredBalance(accountId);
+        if (journaled == null) {
+            journal.open(accountId, account.getBalanceMoney());
+        } else if (!journaled.equals(account.getBalanceMoney())) {
+            // The database lags behind the journal (or was reset): bring the projection up to date
+            log.info("Account {} balance restored from journal: {} (database had {})",
+                    accountId, journaled, account.getBalanceMoney());
+            jdbcTemplate.update(SET_BALANCE, journaled.toBigDecimal(),
+                    new Timestamp(System.currentTimeMillis()), accountId);
+            account.setBalance(journaled.toBigDecimal());
+        }
+        return account;
+    }
+
+    private void debit(TransferRequest request, Money amount, Partition source, Partition destination,
+                       CompletableFuture<TransferResponse> result) {
+        Account fromAccount;
+        Money fromBalance;
+        try {
+            fromAccount = source.account(request.getFromAccountId());
+
+            if (source == destination) {
+                // Same partition: both legs run on this thread
+                Account toAccount = source.account(request.getToAccountId());
+                fromAccount.debit(amount);
+                try {
+                    toAccount.credit(amount);
+                } catch (MoneyTransferException e) {
+                    fromAccount.credit(amount);
+                    throw e;
+                }
+                complete(request, amount, fromAccount.getBalanceMoney(), toAccount.getBalanceMoney(), result);
+                return;
+            }
+
+            fromAccount.debit(amount);
+            fromBalance = fromAccount.getBalanceMoney();
+        } catch (RuntimeException e) {
+            fail(request, result, e);
+            return;
+        }
+
+        // Cross partition: hand the credit over to the destination partition
+        destination.handOff(() -> credit(request, amount, fromBalance, source, fromAccount, destination, result));
+    }
+
+    private void credit(TransferRequest request, Money amount, Money fromBalance, Partition source,
+                        Account fromAccount, Partition destination, CompletableFuture<TransferResponse> result) {
+        try {
+            Account toAccount = destination.account(request.getToAccountId());
+            toAccount.credit(amount);
+            complete(request, amount, fromBalance, toAccount.getBalanceMoney(), result);
+        } catch (RuntimeException e) {
+            // Give the money back on the partition that owns the source account
+            source.handOff(() -> {
+                fromAccount.credit(amount);
+                fail(request, result, e);
+            });
+        }
+    }
+
+    private void complete(TransferRequest request, Money amount, Money fromBalance, Money toBalance,
+                          CompletableFuture<TransferResponse> result) {
+        String transactionId = UUID.randomUUID().toString();
+
+        PersistedTransfer transfer = new PersistedTransfer(transactionId,
+                request.getFromAccountId(),
+                request.getToAccountId(),
+                amount,
+                fromBalance,
+                toBalance,
+                request.getIdempotencyKey(),
+                LocalDateTime.now(),
+                0);
+
+        TransferResponse response = TransferResponse.builder()
+                .transactionId(UUID.fromString(transactionId))
+                .status("SUCCESS")
+                .message("Transfer completed successfully")
+                .debitedFrom(request.getFromAccountId())
+                .creditedTo(request.getToAccountId())
+                .amount(request.getAmount())
+                .build();
+
+        if (journal == null) {
+            persister.enqueue(transfer);
+            result.complete(response);
+            return;
+        }
+
+        // Answer only once the journal record is durable. A journal failure leaves the
+        // in-memory balances ahead of the journal, which is why it stops the engine.
+        journal.append(transfer,
+                durable -> {
+                    persister.enqueue(durable);
+                    result.complete(response);
+                },
+                e -> fail(request, result, e));
+    }
+
+    private void fail(TransferRequest request, CompletableFuture<TransferResponse> result, RuntimeException e) {
+        log.error("Transfer failed: {}", e.getMessage());
+        failedTransferAuditor.record(request, e);
+        persister.release(request.getIdempotencyKey());
+        result.completeExceptionally(e);
+    }
+
+    private Partition partitionOf(Long accountId) {
+        return partitions[Math.floorMod(Long.hashCode(accountId), partitions.length)];
+    }
+}
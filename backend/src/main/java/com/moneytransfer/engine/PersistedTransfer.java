@@ -0,0 +1,29 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.value.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * A transfer already applied in memory and waiting to be written to the database
+ *
+ * {@code fromBalance} and {@code toBalance} are the account balances right after
+ * the debit and the credit, for the ledger postings. {@code sequence} is the
+ * transfer's position in the {@link TransferJournal}, or 0 when the journal is
+ * disabled.
+ */
+record PersistedTransfer(String transactionId,
+                         Long fromAccountId,
+                         Long toAccountId,
+                         Money amount,
+                         Money fromBalance,
+                         Money toBalance,
+                         String idempotencyKey,
+                         LocalDateTime createdOn,
+                         long sequence) {
+
+    PersistedTransfer withSequence(long sequence) {
+        return new PersistedTransfer(transactionId, fromAccountId, toAccountId, amount, fromBalance, toBalance,
+                idempotencyKey, createdOn, sequence);
+    }
+}
@@ -0,0 +1,544 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.value.Money;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only journal of applied transfers, the system of record for balances in ledger mode
+ *
+ * Every transfer is written as a fixed-size binary record to a memory-mapped
+ * segment file. A single writer thread appends whatever the partitions queued
+ * since its last pass and then forces the written range to disk once (group
+ * commit); a transfer is only reported as successful after that. Segments
+ * roll over at {@code segment-size}.
+ *
+ * Balances are derived from the journal: an OPEN record captures an account's
+ * database balance the first time the engine loads it, and TRANSFER records
+ * move money between accounts. Every {@code snapshot-every} records all
+ * balances are written to a snapshot file; at startup the newest snapshot is
+ * loaded and the records after it are replayed. A segment is deleted once it
+ * is covered by a snapshot and all its transfers are in the database.
+ *
+ * A write failure is fatal: the journal rejects every further append, and the
+ * in-memory balances have to be rebuilt from disk by restarting.
+ */
+@Slf4j
+class TransferJournal implements Runnable {
+
+    static final int RECORD_SIZE = 256;
+
+    // Record layout (byte offsets)
+    private static final int SEQUENCE = 0;         // long, 0 marks the unused tail of a segment
+    private static final int TYPE = 8;             // byte
+    private static final int KEY_LENGTH = 10;      // short
+    private static final int CHECKSUM = 12;        // int, CRC32C of the record with this field zeroed
+    private static final int CREATED_ON = 16;      // long, epoch microseconds (UTC)
+    private static final int FROM_ACCOUNT = 24;    // long, also the account of an OPEN record
+    private static final int TO_ACCOUNT = 32;      // long
+    private static final int AMOUNT = 40;          // long, minor units; opening balance of an OPEN record
+    private static final int TRANSACTION_ID = 48;  // two longs (UUID)
+    private static final int FROM_BALANCE = 64;    // long, minor units after the debit
+    private static final int TO_BALANCE = 72;      // long, minor units after the credit
+    private static final int KEY = 80;             // UTF-8 idempotency key
+
+    static final int MAX_KEY_BYTES = RECORD_SIZE - KEY;
+
+    private static final byte TRANSFER = 1;
+    private static final byte OPEN = 2;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String CHECKPOINT_FILE = "projected.checkpoint";
+    private static final int SNAPSHOT_MAGIC = 0x4D54534E;  // "MTSN"
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxBatch;
+    private final long snapshotEvery;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private final Timer forceTimer;
+    private final DistributionSummary batchSizes;
+    private volatile boolean running = true;
+    private volatile RuntimeException failure;
+
+    // Balances as recovered at startup, read by the partitions when they first load an account
+    private volatile Map<Long, Money> recoveredBalances = Map.of();
+
+    // Highest sequence whose transfer is in the database, advanced by the persister thread
+    private volatile long projectedSequence;
+    private MappedByteBuffer projectionCheckpoint;
+
+    // Writer thread state
+    private final Map<Long, Money> balances = new HashMap<>();
+    private final TreeMap<Long, Path> segments = new TreeMap<>();  // first sequence -> file
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    private MappedByteBuffer segment;
+    private long nextSequence = 1;
+    private long snapshotSequence;
+
+    TransferJournal(Path directory, long segmentBytes, int maxBatch, long snapshotEvery, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.segmentBytes = Math.max(1, segmentBytes / RECORD_SIZE) * RECORD_SIZE;
+        this.maxBatch = maxBatch;
+        this.snapshotEvery = snapshotEvery;
+        this.thread = new Thread(this, "transfer-journal");
+        this.thread.setDaemon(true);
+
+        this.forceTimer = Timer.builder("moneytransfer.journal.force")
+                .description("Time to force one batch of journal records to disk")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("moneytransfer.journal.batch.size")
+                .description("Journal records made durable by one force")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild balances from the newest snapshot and the records after it
+     * Must be called once, before {@link #start()}
+     *
+     * @return transfers in the journal that may not be in the database yet, oldest first
+     */
+    List<PersistedTransfer> recover() throws IOException {
+        Files.createDirectories(directory);
+        projectionCheckpoint = map(directory.resolve(CHECKPOINT_FILE), Long.BYTES);
+        projectedSequence = projectionCheckpoint.getLong(0);
+        loadSnapshot();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> isSegment(file.getFileName().toString()))
+                    .forEach(file -> segments.put(sequenceOf(file, SEGMENT_PREFIX, SEGMENT_SUFFIX), file));
+        }
+
+        List<PersistedTransfer> unprojected = new ArrayList<>();
+        long expected = segments.isEmpty() ? snapshotSequence + 1 : segments.firstKey();
+        if (expected > snapshotSequence + 1) {
+            throw new IllegalStateException("Journal records " + (snapshotSequence + 1) + " to "
+                    + (expected - 1) + " are missing from " + directory);
+        }
+
+        for (Map.Entry<Long, Path> file : segments.entrySet()) {
+            if (file.getKey() != expected) {
+                throw new IllegalStateException("Journal segment " + file.getValue() + " should start at record " + expected);
+            }
+            boolean last = file.getKey().equals(segments.lastKey());
+            MappedByteBuffer buffer = map(file.getValue(), Files.size(file.getValue()));
+
+            int position = 0;
+            while (position + RECORD_SIZE <= buffer.capacity()) {
+                long sequence = buffer.getLong(position + SEQUENCE);
+                if (sequence == 0) {
+                    break;
+                }
+                if (sequence != expected || !readValid(buffer, position)) {
+                    // A record torn by a crash can only be the last one written
+                    if (!last) {
+                        throw new IllegalStateException("Corrupt journal record " + expected + " in " + file.getValue());
+                    }
+                    log.warn("Discarding torn journal record {} at the end of {}", expected, file.getValue());
+                    buffer.put(position, new byte[RECORD_SIZE]);
+                    break;
+                }
+
+                replay(sequence, unprojected);
+                expected++;
+                position += RECORD_SIZE;
+            }
+
+            if (last) {
+                segment = buffer;
+                segment.position(position);
+            }
+        }
+
+        nextSequence = expected;
+        recoveredBalances = Map.copyOf(balances);
+        log.info("Transfer journal recovered {} accounts up to record {} (snapshot at {}, {} transfers to project)",
+                balances.size(), nextSequence - 1, snapshotSequence, unprojected.size());
+        return unprojected;
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        // No interrupt: append and force everything already queued
+        running = false;
+        thread.join(10_000);
+
+        if (failure == null && nextSequence - 1 > snapshotSequence) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Get an account's balance as recovered at startup
+     *
+     * @return null if the journal has never seen the account
+     */
+    Money recoveredBalance(Long accountId) {
+        return recoveredBalances.get(accountId);
+    }
+
+    /**
+     * Reject a transfer up front if it could not be journaled
+     */
+    void checkAppendable(String idempotencyKey) {
+        if (failure != null) {
+            throw failure;
+        }
+        if (idempotencyKey.getBytes(StandardCharsets.UTF_8).length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Idempotency key must be at most " + MAX_KEY_BYTES + " bytes");
+        }
+    }
+
+    /**
+     * Record the balance an account had when the engine took it over
+     */
+    void open(Long accountId, Money balance) {
+        queue.add(new Entry(OPEN, accountId, balance, null, null, null));
+    }
+
+    /**
+     * Append a transfer; exactly one of the callbacks runs on the journal thread
+     *
+     * @param onDurable receives the transfer with its sequence once the record is on disk
+     */
+    void append(PersistedTransfer transfer, Consumer<PersistedTransfer> onDurable, Consumer<RuntimeException> onFailure) {
+        queue.add(new Entry(TRANSFER, transfer.fromAccountId(), transfer.amount(), transfer, onDurable, onFailure));
+    }
+
+    /**
+     * Note that all transfers up to {@code sequence} are in the database
+     * Called by the persister thread only
+     */
+    void projected(long sequence) {
+        if (sequence > projectedSequence) {
+            projectedSequence = sequence;
+            projectionCheckpoint.putLong(0, sequence);
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        long sinceSnapshot = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+
+                if (write(batch)) {
+                    sinceSnapshot += batch.size();
+                    if (sinceSnapshot >= snapshotEvery) {
+                        snapshot();
+                        sinceSnapshot = 0;
+                    }
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Append a batch, force it to disk once, then acknowledge it
+     */
+    private boolean write(List<Entry> batch) {
+        if (failure != null) {
+            batch.forEach(entry -> entry.fail(failure));
+            return false;
+        }
+
+        long firstSequence = nextSequence;
+        try {
+            int start = segment != null ? segment.position() : 0;
+            for (Entry entry : batch) {
+                if (segment == null || segment.remaining() < RECORD_SIZE) {
+                    if (segment != null) {
+                        segment.force(start, segment.position() - start);
+                    }
+                    roll();
+                    start = 0;
+                }
+                encode(entry, nextSequence++);
+                segment.put(record.array(), 0, RECORD_SIZE);
+            }
+
+            long started = System.nanoTime();
+            segment.force(start, segment.position() - start);
+            forceTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+        } catch (IOException | RuntimeException e) {
+            failure = new IllegalStateException("Transfer journal is unavailable, restart to recover balances", e);
+            log.error("Transfer journal write failed, rejecting all further transfers", e);
+            batch.forEach(entry -> entry.fail(failure));
+            return false;
+        }
+
+        long sequence = firstSequence;
+        for (Entry entry : batch) {
+            apply(entry.type(), entry.accountId(), entry.transfer() != null ? entry.transfer().toAccountId() : 0,
+                    entry.amount());
+            if (entry.transfer() != null) {
+                entry.onDurable().accept(entry.transfer().withSequence(sequence));
+            }
+            sequence++;
+        }
+        return true;
+    }
+
+    private void encode(Entry entry, long sequence) {
+        Arrays.fill(record.array(), (byte) 0);
+        record.putLong(SEQUENCE, sequence);
+        record.put(TYPE, entry.type());
+        record.putLong(FROM_ACCOUNT, entry.accountId());
+        record.putLong(AMOUNT, entry.amount().minorUnits());
+
+        PersistedTransfer transfer = entry.transfer();
+        if (transfer != null) {
+            UUID transactionId = UUID.fromString(transfer.transactionId());
+            byte[] key = transfer.idempotencyKey().getBytes(StandardCharsets.UTF_8);
+
+            record.putLong(CREATED_ON, toEpochMicros(transfer.createdOn()));
+            record.putLong(TO_ACCOUNT, transfer.toAccountId());
+            record.putLong(TRANSACTION_ID, transactionId.getMostSignificantBits());
+            record.putLong(TRANSACTION_ID + Long.BYTES, transactionId.getLeastSignificantBits());
+            record.putLong(FROM_BALANCE, transfer.fromBalance().minorUnits());
+            record.putLong(TO_BALANCE, transfer.toBalance().minorUnits());
+            record.putShort(KEY_LENGTH, (short) key.length);
+            record.put(KEY, key);
+        }
+
+        checksum.reset();
+        checksum.update(record.array(), 0, RECORD_SIZE);
+        record.putInt(CHECKSUM, (int) checksum.getValue());
+    }
+
+    /**
+     * Copy the record at {@code position} into {@link #record} and verify its checksum
+     */
+    private boolean readValid(ByteBuffer buffer, int position) {
+        buffer.get(position, record.array(), 0, RECORD_SIZE);
+        int expected = record.getInt(CHECKSUM);
+        record.putInt(CHECKSUM, 0);
+
+        checksum.reset();
+        checksum.update(record.array(), 0, RECORD_SIZE);
+        return (int) checksum.getValue() == expected;
+    }
+
+    /**
+     * Apply the record in {@link #record} during recovery
+     */
+    private void replay(long sequence, List<PersistedTransfer> unprojected) {
+        byte type = record.get(TYPE);
+        long fromAccountId = record.getLong(FROM_ACCOUNT);
+        long toAccountId = record.getLong(TO_ACCOUNT);
+        Money amount = Money.ofMinorUnits(record.getLong(AMOUNT));
+
+        if (sequence > snapshotSequence) {
+            apply(type, fromAccountId, toAccountId, amount);
+        }
+        if (type == TRANSFER && sequence > projectedSequence) {
+            unprojected.add(new PersistedTransfer(
+                    new UUID(record.getLong(TRANSACTION_ID), record.getLong(TRANSACTION_ID + Long.BYTES)).toString(),
+                    fromAccountId,
+                    toAccountId,
+                    amount,
+                    Money.ofMinorUnits(record.getLong(FROM_BALANCE)),
+                    Money.ofMinorUnits(record.getLong(TO_BALANCE)),
+                    new String(record.array(), KEY, record.getShort(KEY_LENGTH), StandardCharsets.UTF_8),
+                    fromEpochMicros(record.getLong(CREATED_ON)),
+                    sequence));
+        }
+    }
+
+    private void apply(byte type, long fromAccountId, long toAccountId, Money amount) {
+        if (type == OPEN) {
+            balances.putIfAbsent(fromAccountId, amount);
+        } else {
+            balances.merge(fromAccountId, amount.negate(), Money::plus);
+            balances.merge(toAccountId, amount, Money::plus);
+        }
+    }
+
+    private void roll() throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        segment = map(file, segmentBytes);
+        segments.put(nextSequence, file);
+        log.debug("Transfer journal rolled to {}", file.getFileName());
+    }
+
+    /**
+     * Write all balances as of the last appended record, then delete what the snapshot made obsolete
+     * A failed snapshot is only logged: the journal itself is still complete
+     */
+    private void snapshot() {
+        long sequence = nextSequence - 1;
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(Files.newOutputStream(temp), new CRC32C());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(sequence);
+                out.writeInt(balances.size());
+                for (Map.Entry<Long, Money> balance : balances.entrySet()) {
+                    out.writeLong(balance.getKey());
+                    out.writeLong(balance.getValue().minorUnits());
+                }
+                out.flush();
+                out.writeInt((int) checked.getChecksum().getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            long previous = snapshotSequence;
+            snapshotSequence = sequence;
+            if (previous > 0) {
+                Files.deleteIfExists(directory.resolve(
+                        String.format("%s%020d%s", SNAPSHOT_PREFIX, previous, SNAPSHOT_SUFFIX)));
+            }
+            deleteCoveredSegments();
+            log.info("Transfer journal snapshot of {} accounts at record {}", balances.size(), sequence);
+        } catch (IOException e) {
+            log.error("Could not write transfer journal snapshot at record {}: {}", sequence, e.getMessage());
+        }
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path newest;
+        try (Stream<Path> files = Files.list(directory)) {
+            newest = files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .max(Path::compareTo)
+                    .orElse(null);
+        }
+        if (newest == null) {
+            return;
+        }
+
+        ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(newest));
+        CRC32C expected = new CRC32C();
+        expected.update(snapshot.array(), 0, snapshot.capacity() - Integer.BYTES);
+        if (snapshot.getInt(0) != SNAPSHOT_MAGIC
+                || snapshot.getInt(snapshot.capacity() - Integer.BYTES) != (int) expected.getValue()) {
+            throw new IllegalStateException("Corrupt transfer journal snapshot: " + newest);
+        }
+
+        snapshot.position(Integer.BYTES);
+        long sequence = snapshot.getLong();
+        int count = snapshot.getInt();
+        for (int i = 0; i < count; i++) {
+            balances.put(snapshot.getLong(), Money.ofMinorUnits(snapshot.getLong()));
+        }
+        snapshotSequence = sequence;
+    }
+
+    /**
+     * Delete segments whose records are all in the snapshot and in the database
+     */
+    private void deleteCoveredSegments() throws IOException {
+        long covered = Math.min(snapshotSequence, projectedSequence);
+        while (segments.size() > 1) {
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            long lastSequence = segments.higherKey(oldest.getKey()) - 1;
+            if (lastSequence > covered) {
+                return;
+            }
+            Files.deleteIfExists(oldest.getValue());
+            segments.pollFirstEntry();
+            log.debug("Deleted transfer journal segment {}", oldest.getValue().getFileName());
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end grows the file; the new part reads as zeros
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static boolean isSegment(String name) {
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * A record waiting to be appended; {@code transfer} and the callbacks are null for OPEN records
+     */
+    private record Entry(byte type,
+                         long accountId,
+                         Money amount,
+                         PersistedTransfer transfer,
+                         Consumer<PersistedTransfer> onDurable,
+                         Consumer<RuntimeException> onFailure) {
+
+        void fail(RuntimeException e) {
+            if (onFailure != null) {
+                onFailure.accept(e);
+            }
+        }
+    }
+}
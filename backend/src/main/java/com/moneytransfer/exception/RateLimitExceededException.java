@@ -0,0 +1,21 @@
+package com.moneytransfer.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a client or a debited account submits transfers faster than its rate limit
+ */
+@Getter
+public class RateLimitExceededException extends MoneyTransferException {
+
+    private final String scope;
+    private final int limit;
+    private final long retryAfterNanos;
+
+    public RateLimitExceededException(String scope, int limit, long retryAfterNanos) {
+        super("Too many transfers for this " + scope + ", please retry later");
+        this.scope = scope;
+        this.limit = limit;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+}
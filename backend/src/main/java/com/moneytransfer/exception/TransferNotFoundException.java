@@ -0,0 +1,13 @@
+package com.moneytransfer.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when an async transfer ID is unknown (or its status has expired)
+ */
+public class TransferNotFoundException extends MoneyTransferException {
+
+    public TransferNotFoundException(UUID transferId) {
+        super("Transfer not found with ID: " + transferId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.moneytransfer.exception;
+
+/**
+ * Thrown when the async transfer queue has no room for another submission
+ */
+public class TransferQueueFullException extends MoneyTransferException {
+
+    public TransferQueueFullException(int capacity) {
+        super("Transfer queue is full (" + capacity + " pending transfers), please retry");
+    }
+}
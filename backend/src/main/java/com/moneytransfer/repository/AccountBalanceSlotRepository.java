@@ -0,0 +1,43 @@
+package com.moneytransfer.repository;
+
+import com.moneytransfer.domain.entity.AccountBalanceSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for the sub-balances of striped accounts
+ */
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    /**
+     * Add an amount to one slot with a single UPDATE
+     * Only that slot row is locked, and no version check is involved
+     *
+     * @return Number of updated rows (0 if the slot doesn't exist)
+     */
+    @Modifying
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance + :amount " +
+            "WHERE s.accountId = :accountId AND s.slot = :slot")
+    int addToSlot(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Sum of all slots of an account
+     */
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.accountId = :accountId")
+    BigDecimal sumBalances(@Param("accountId") Long accountId);
+
+    /**
+     * Lock all slots of an account, used when consolidating them
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<AccountBalanceSlot> findByAccountIdOrderBySlot(Long accountId);
+}
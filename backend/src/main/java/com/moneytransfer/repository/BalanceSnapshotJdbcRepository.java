@@ -0,0 +1,198 @@
+package com.moneytransfer.repository;
+
+import com.moneytransfer.domain.entity.BalanceSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * JDBC access to daily balance snapshots and the postings they are built from
+ *
+ * The job's progress is one row in balance_snapshot_checkpoint
+ * ({@link com.moneytransfer.domain.entity.BalanceSnapshotCheckpoint}).
+ */
+@Repository
+public class BalanceSnapshotJdbcRepository {
+
+    /**
+     * Served by the transaction_logs created_on index; UNION makes the database
+     * return each account once instead of both sides of every transfer
+     */
+    private static final String SELECT_TOUCHED_ACCOUNTS =
+            "SELECT from_account_id FROM transaction_logs " +
+                    "WHERE created_on >= ? AND created_on < ? AND status = 'SUCCESS' " +
+                    "UNION SELECT to_account_id FROM transaction_logs " +
+                    "WHERE created_on >= ? AND created_on < ? AND status = 'SUCCESS'";
+
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO account_balance_snapshots (account_id, snapshot_date, balance, computed_on) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_LATEST_SNAPSHOT =
+            "SELECT snapshot_date, balance FROM account_balance_snapshots " +
+                    "WHERE account_id = ? AND snapshot_date < ? " +
+                    "ORDER BY snapshot_date DESC LIMIT 1";
+
+    private static final String SUM_POSTINGS =
+            "SELECT COALESCE(SUM(amount), 0) FROM ledger_postings " +
+                    "WHERE account_id = ? AND created_on >= ? AND created_on < ?";
+
+    private static final String SELECT_OPENING_BALANCE =
+            "SELECT balance_after - amount FROM ledger_postings " +
+                    "WHERE account_id = ? ORDER BY created_on, transaction_id LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceSnapshotJdbcRepository(DataSource dataSource,
+                                         @Value("${moneytransfer.snapshots.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * @return Start of the first day without snapshots, or null before the first run
+     */
+    public LocalDateTime findCheckpoint() {
+        List<Timestamp> checkpoint = jdbcTemplate.queryForList(
+                "SELECT processed_until FROM balance_snapshot_checkpoint WHERE id = 1", Timestamp.class);
+        return checkpoint.isEmpty() ? null : checkpoint.get(0).toLocalDateTime();
+    }
+
+    public void saveCheckpoint(LocalDateTime processedUntil) {
+        Timestamp value = Timestamp.valueOf(processedUntil);
+        if (jdbcTemplate.update("UPDATE balance_snapshot_checkpoint SET processed_until = ? WHERE id = 1", value) == 0) {
+            jdbcTemplate.update("INSERT INTO balance_snapshot_checkpoint (id, processed_until) VALUES (1, ?)", value);
+        }
+    }
+
+    /**
+     * Time of the first successful transfer, or null when there is none
+     */
+    public LocalDateTime findFirstTransferTime() {
+        Timestamp first = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_on) FROM transaction_logs WHERE status = 'SUCCESS'", Timestamp.class);
+        return first != null ? first.toLocalDateTime() : null;
+    }
+
+    /**
+     * Stream each account with a successful transfer in a time range, once
+     */
+    public void streamTouchedAccounts(LocalDateTime from, LocalDateTime to, LongConsumer consumer) {
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        jdbcTemplate.query(SELECT_TOUCHED_ACCOUNTS, rs -> {
+            consumer.accept(rs.getLong(1));
+        }, start, end, start, end);
+    }
+
+    /**
+     * Net amount posted to each of the given accounts in a time range
+     * Accounts without postings in the range are missing from the map.
+     */
+    public Map<Long, BigDecimal> sumPostingsByAccount(long[] accountIds, LocalDateTime from, LocalDateTime to) {
+        String sql = "SELECT account_id, SUM(amount) FROM ledger_postings " +
+                "WHERE account_id IN (" + placeholders(accountIds.length) + ") AND created_on >= ? AND created_on < ? " +
+                "GROUP BY account_id";
+        Object[] args = Arrays.copyOf(idArgs(accountIds), accountIds.length + 2);
+        args[accountIds.length] = Timestamp.valueOf(from);
+        args[accountIds.length + 1] = Timestamp.valueOf(to);
+
+        Map<Long, BigDecimal> sums = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            sums.put(rs.getLong(1), rs.getBigDecimal(2));
+        }, args);
+        return sums;
+    }
+
+    /**
+     * Balance of each of the given accounts' latest snapshot of a day before the given one
+     * Accounts without such a snapshot are missing from the map.
+     */
+    public Map<Long, BigDecimal> findLatestBalancesBefore(long[] accountIds, LocalDate before) {
+        String sql = "SELECT s.account_id, s.balance FROM account_balance_snapshots s " +
+                "JOIN (SELECT account_id, MAX(snapshot_date) AS snapshot_date FROM account_balance_snapshots " +
+                "WHERE account_id IN (" + placeholders(accountIds.length) + ") AND snapshot_date < ? " +
+                "GROUP BY account_id) latest " +
+                "ON s.account_id = latest.account_id AND s.snapshot_date = latest.snapshot_date";
+        Object[] args = Arrays.copyOf(idArgs(accountIds), accountIds.length + 1);
+        args[accountIds.length] = Date.valueOf(before);
+
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            balances.put(rs.getLong(1), rs.getBigDecimal(2));
+        }, args);
+        return balances;
+    }
+
+    /**
+     * Replace the accounts' snapshots of one day; run in one transaction
+     */
+    public void replaceSnapshots(long[] accountIds, LocalDate date, List<BalanceSnapshot> snapshots) {
+        Object[] args = Arrays.copyOf(idArgs(accountIds), accountIds.length + 1);
+        args[accountIds.length] = Date.valueOf(date);
+        jdbcTemplate.update("DELETE FROM account_balance_snapshots WHERE account_id IN ("
+                + placeholders(accountIds.length) + ") AND snapshot_date = ?", args);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, snapshots, 1000, (ps, snapshot) -> {
+            ps.setLong(1, snapshot.getAccountId());
+            ps.setDate(2, Date.valueOf(snapshot.getSnapshotDate()));
+            ps.setBigDecimal(3, snapshot.getBalance());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    /**
+     * Latest snapshot of a day before the given one, or null
+     */
+    public BalanceSnapshot findLatestBefore(Long accountId, LocalDate before) {
+        List<BalanceSnapshot> snapshots = jdbcTemplate.query(SELECT_LATEST_SNAPSHOT,
+                (rs, rowNum) -> new BalanceSnapshot(accountId, rs.getDate(1).toLocalDate(), rs.getBigDecimal(2), null),
+                accountId, Date.valueOf(before));
+        return snapshots.isEmpty() ? null : snapshots.get(0);
+    }
+
+    /**
+     * Net amount posted to an account in a time range
+     */
+    public BigDecimal sumPostings(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject(SUM_POSTINGS, BigDecimal.class,
+                accountId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Balance before the account's first posting, or null when it has none
+     *
+     * This is the only place balance_after is read back. It is exact here: an
+     * account is only striped after conflicting transfers on it have committed,
+     * so its first posting was written while it had a single balance row.
+     */
+    public BigDecimal findOpeningBalance(Long accountId) {
+        List<BigDecimal> balances = jdbcTemplate.queryForList(SELECT_OPENING_BALANCE, BigDecimal.class, accountId);
+        return balances.isEmpty() ? null : balances.get(0);
+    }
+
+    private static Object[] idArgs(long[] accountIds) {
+        Object[] args = new Object[accountIds.length];
+        for (int i = 0; i < accountIds.length; i++) {
+            args[i] = accountIds[i];
+        }
+        return args;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.moneytransfer.repository;
+
+import com.moneytransfer.domain.entity.LedgerPosting;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for LedgerPosting entity
+ * All queries are range scans of the (account_id, created_on, transaction_id) primary key
+ */
+@Repository
+public interface LedgerPostingRepository extends JpaRepository<LedgerPosting, LedgerPosting.Key> {
+
+    /**
+     * Find one page of an account's postings, newest first (keyset pagination)
+     *
+     * Returns rows created at or after {@code from} and strictly before the
+     * (beforeTime, beforeId) position, so each page continues exactly where the
+     * previous one stopped, without OFFSET scans.
+     *
+     * @param pageable Only the page size is used; the page number must be 0
+     */
+    @Query("SELECT p FROM LedgerPosting p " +
+            "WHERE p.accountId = :accountId " +
+            "AND p.createdOn >= :from " +
+            "AND (p.createdOn < :beforeTime OR (p.createdOn = :beforeTime AND p.transactionId < :beforeId)) " +
+            "ORDER BY p.createdOn DESC, p.transactionId DESC")
+    List<LedgerPosting> findPageForAccount(@Param("accountId") Long accountId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("beforeTime") LocalDateTime beforeTime,
+                                           @Param("beforeId") String beforeId,
+                                           Pageable pageable);
+}
@@ -0,0 +1,139 @@
+package com.moneytransfer.repository;
+
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only JDBC reads of account history for results too large for a List
+ *
+ * History comes from the account's ledger_postings rows (one primary key range
+ * scan) and is returned as the TransactionLog each posting belongs to.
+ *
+ * Rows are read through a cursor with {@code moneytransfer.history.fetch-size}
+ * and handed to the caller one at a time, so memory use doesn't grow with the
+ * number of rows. On MySQL the JDBC URL needs {@code useCursorFetch=true} for
+ * the fetch size to be honoured.
+ *
+ * Statement exports read the postings themselves, oldest first, with the
+ * larger {@code moneytransfer.export.fetch-size}.
+ */
+@Repository
+public class TransactionLogJdbcRepository {
+
+    private static final String SELECT_FOR_ACCOUNT =
+            "SELECT account_id, created_on, transaction_id, counterparty_account_id, amount, balance_after, idempotency_key " +
+                    "FROM ledger_postings " +
+                    "WHERE account_id = ? AND created_on >= ? AND created_on < ? " +
+                    "ORDER BY created_on DESC, transaction_id DESC";
+
+    private static final String EXPORT_COLUMNS =
+            "SELECT account_id, created_on, transaction_id, counterparty_account_id, amount, balance_after, idempotency_key " +
+                    "FROM ledger_postings ";
+
+    private static final String EXPORT_FOR_ACCOUNT = EXPORT_COLUMNS +
+            "WHERE account_id = ? AND created_on >= ? AND created_on < ? " +
+            "ORDER BY created_on, transaction_id";
+
+    private static final String NEXT_ACCOUNT_IDS =
+            "SELECT id FROM accounts WHERE id > ? ORDER BY id LIMIT ?";
+
+    /**
+     * Accounts per query of an all-accounts export
+     */
+    private static final int EXPORT_ACCOUNT_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    public TransactionLogJdbcRepository(DataSource dataSource,
+                                        @Value("${moneytransfer.history.fetch-size:1000}") int fetchSize,
+                                        @Value("${moneytransfer.export.fetch-size:10000}") int exportFetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(exportFetchSize);
+    }
+
+    /**
+     * Stream all transactions of an account in a time range, newest first
+     *
+     * @param from Inclusive lower bound on created_on
+     * @param to   Exclusive upper bound on created_on
+     */
+    public void streamForAccount(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<TransactionLog> consumer) {
+        jdbcTemplate.query(SELECT_FOR_ACCOUNT,
+                rs -> {
+                    consumer.accept(mapRow(rs));
+                },
+                accountId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Stream the ledger postings of one account, or of all accounts (accountId null),
+     * in a time range: by account, then oldest first
+     *
+     * All accounts are read in chunks of account IDs, each chunk being one
+     * {@code account_id IN (...) AND created_on} range per account on the primary
+     * key. The cost is one index seek per account plus the postings in the range,
+     * instead of a walk over every posting of every account whatever the range.
+     *
+     * @param from Inclusive lower bound on created_on
+     * @param to   Exclusive upper bound on created_on
+     */
+    public void streamPostings(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<LedgerPosting> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(mapPosting(rs));
+        if (accountId != null) {
+            exportJdbcTemplate.query(EXPORT_FOR_ACCOUNT, handler, accountId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            return;
+        }
+
+        long after = 0;
+        while (true) {
+            List<Long> accountIds = jdbcTemplate.queryForList(NEXT_ACCOUNT_IDS, Long.class, after, EXPORT_ACCOUNT_CHUNK);
+            if (accountIds.isEmpty()) {
+                return;
+            }
+
+            Object[] args = new Object[accountIds.size() + 2];
+            for (int i = 0; i < accountIds.size(); i++) {
+                args[i] = accountIds.get(i);
+            }
+            args[accountIds.size()] = Timestamp.valueOf(from);
+            args[accountIds.size() + 1] = Timestamp.valueOf(to);
+            exportJdbcTemplate.query(EXPORT_COLUMNS +
+                    "WHERE account_id IN (" + String.join(", ", Collections.nCopies(accountIds.size(), "?")) + ") " +
+                    "AND created_on >= ? AND created_on < ? " +
+                    "ORDER BY account_id, created_on, transaction_id", handler, args);
+            after = accountIds.get(accountIds.size() - 1);
+        }
+    }
+
+    static TransactionLog mapRow(ResultSet rs) throws SQLException {
+        return mapPosting(rs).toTransactionLog();
+    }
+
+    private static LedgerPosting mapPosting(ResultSet rs) throws SQLException {
+        return LedgerPosting.builder()
+                .accountId(rs.getLong("account_id"))
+                .createdOn(rs.getTimestamp("created_on").toLocalDateTime())
+                .transactionId(rs.getString("transaction_id"))
+                .counterpartyAccountId(rs.getLong("counterparty_account_id"))
+                .amount(rs.getBigDecimal("amount"))
+                .balanceAfter(rs.getBigDecimal("balance_after"))
+                .idempotencyKey(rs.getString("idempotency_key"))
+                .build();
+    }
+}
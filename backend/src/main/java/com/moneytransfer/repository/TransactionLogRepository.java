@@ -1,11 +1,19 @@
 package com.moneytransfer.repository;
 
 import com.moneytransfer.domain.entity.TransactionLog;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for TransactionLog entity
@@ -20,10 +28,27 @@ public interface TransactionLogRepository extends JpaRepository<TransactionLog,
     Optional<TransactionLog> findByIdempotencyKey(String idempotencyKey);
 
     /**
-     * Find all transactions for a specific account (as sender or receiver)
+     * Find which of the given idempotency keys are already used
+     * Used by batch transfers to check a whole chunk in one query
+     *
+     * @param idempotencyKeys Keys to check
+     * @return The subset of keys that already exist
+     */
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t WHERE t.idempotencyKey IN :keys")
+    Set<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> idempotencyKeys);
+
+    /**
+     * Stream the idempotency keys of successful transfers, oldest first
+     * Used to warm up the in-memory idempotency filter; must be consumed inside a transaction
      *
-     * @param accountId Account ID
-     * @return List of transactions
+     * FAILED rows carry synthetic {@code failed:<uuid>:<key>} keys no client sends,
+     * so they are left out. The order matters once there are more keys than one
+     * filter generation holds: loading oldest first leaves the newest keys in the
+     * generations that are kept.
      */
-    List<TransactionLog> findByFromAccountIdOrToAccountId(Long accountId, Long accountId2);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t " +
+            "WHERE t.status = com.moneytransfer.domain.enums.TransactionStatus.SUCCESS " +
+            "ORDER BY t.createdOn")
+    Stream<String> streamAllIdempotencyKeys();
+}
@@ -0,0 +1,201 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.dto.AccountResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-based read cache for account details and balances
+ *
+ * Every entry carries the {@code accounts.version} it was read at, and an
+ * entry is only ever replaced by one with the same or a newer version, even
+ * once it has expired. Writers push the committed state from an after-commit
+ * hook, so a reader that loaded an older row concurrently can never overwrite it.
+ *
+ * When the cache is full, expired entries are dropped first and then, if
+ * needed, about a tenth of the rest. A dropped entry leaves its version behind
+ * for one TTL, which outlasts any read that was in flight when it was dropped,
+ * so older versions are still rejected after an eviction.
+ *
+ * Striped accounts are never cached: credits to their balance slots don't
+ * change the account version. Instead a version tombstone is stored, so stale
+ * snapshots read before striping can't be re-inserted either.
+ *
+ * Disabled with {@code moneytransfer.cache.accounts.enabled=false}, and always
+ * off in partitioned engine mode, where balances live in the engine.
+ */
+@Component
+public class AccountReadCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> evicted = new ConcurrentHashMap<>();  // version tombstones of dropped entries
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccountReadCache(MeterRegistry meterRegistry,
+                            @Value("${moneytransfer.cache.accounts.enabled:true}") boolean enabled,
+                            @Value("${moneytransfer.cache.accounts.max-size:10000}") int maxSize,
+                            @Value("${moneytransfer.cache.accounts.ttl:30s}") Duration ttl,
+                            @Value("${moneytransfer.engine.mode:jpa}") String engineMode) {
+        this.enabled = enabled && !"partitioned".equals(engineMode);
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = Counter.builder("moneytransfer.account.cache.requests")
+                .description("Account read cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("moneytransfer.account.cache.requests")
+                .description("Account read cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("moneytransfer.account.cache.hit.ratio", this, AccountReadCache::hitRatio)
+                .description("Share of account reads answered from the cache")
+                .register(meterRegistry);
+        Gauge.builder("moneytransfer.account.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a cached account, or null on a miss
+     */
+    public AccountResponse get(Long accountId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(accountId);
+        if (entry == null || entry.response == null || entry.isExpired(System.nanoTime())) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.response;
+    }
+
+    /**
+     * Cache an account that was just read from the database
+     */
+    public void put(Account account, AccountResponse response) {
+        if (!enabled) {
+            return;
+        }
+
+        store(account.getId(), account.getVersion(), account.isStriped() ? null : response);
+    }
+
+    /**
+     * Refresh the given accounts with their committed state after the current
+     * transaction commits (immediately when no transaction is active)
+     */
+    public void updateAfterCommit(List<Account> accounts) {
+        if (!enabled) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accounts.forEach(this::refresh);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accounts.forEach(AccountReadCache.this::refresh);
+            }
+        });
+    }
+
+    private void refresh(Account account) {
+        AccountResponse response = account.isStriped() ? null : AccountResponse.builder()
+                .id(account.getId())
+                .holderName(account.getHolderName())
+                .balance(account.getBalance())
+                .status(account.getStatus().name())
+                .build();
+        store(account.getId(), account.getVersion(), response);
+    }
+
+    private void store(Long accountId, Integer version, AccountResponse response) {
+        long now = System.nanoTime();
+        long newVersion = version != null ? version : 0;
+
+        if (entries.size() >= maxSize && !entries.containsKey(accountId)) {
+            evict(now);
+        }
+
+        Entry tombstone = evicted.get(accountId);
+        if (tombstone != null) {
+            if (tombstone.version > newVersion && !tombstone.isExpired(now)) {
+                return;
+            }
+            evicted.remove(accountId, tombstone);
+        }
+
+        entries.compute(accountId, (id, current) ->
+                current != null && current.version > newVersion
+                        ? current
+                        : new Entry(response, newVersion, now + ttlNanos));
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, drop about a tenth of it
+     * Dropped entries leave a version tombstone that expires after one TTL.
+     */
+    private void evict(long now) {
+        evicted.values().removeIf(tombstone -> tombstone.isExpired(now));
+
+        Iterator<Map.Entry<Long, Entry>> expired = entries.entrySet().iterator();
+        while (expired.hasNext()) {
+            Map.Entry<Long, Entry> entry = expired.next();
+            if (entry.getValue().isExpired(now)) {
+                drop(entry.getKey(), entry.getValue(), now);
+                expired.remove();
+            }
+        }
+
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<Long, Entry>> remaining = entries.entrySet().iterator();
+        while (toRemove-- > 0 && remaining.hasNext()) {
+            Map.Entry<Long, Entry> entry = remaining.next();
+            drop(entry.getKey(), entry.getValue(), now);
+            remaining.remove();
+        }
+    }
+
+    private void drop(Long accountId, Entry entry, long now) {
+        evicted.merge(accountId, new Entry(null, entry.version, now + ttlNanos),
+                (current, next) -> current.version >= next.version ? current : next);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /**
+     * A cached account, or a version tombstone when response is null
+     */
+    private record Entry(AccountResponse response, long version, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
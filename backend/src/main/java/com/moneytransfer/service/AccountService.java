@@ -1,16 +1,36 @@
 package com.moneytransfer.service;
 
 import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.BalanceSnapshot;
+import com.moneytransfer.domain.entity.LedgerPosting;
 import com.moneytransfer.domain.entity.TransactionLog;
 import com.moneytransfer.dto.AccountResponse;
+import com.moneytransfer.dto.TransactionPage;
+import com.moneytransfer.engine.PartitionedTransferEngine;
 import com.moneytransfer.exception.AccountNotFoundException;
 import com.moneytransfer.repository.AccountRepository;
-import com.moneytransfer.repository.TransactionLogRepository;
+import com.moneytransfer.repository.BalanceSnapshotJdbcRepository;
+import com.moneytransfer.repository.LedgerPostingRepository;
+import com.moneytransfer.repository.TransactionLogJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 
@@ -20,47 +40,226 @@ import java.util.List;
 public class AccountService {
 
     private final AccountRepository accountRepository;
-    private final TransactionLogRepository transactionLogRepository;
+    private final LedgerPostingRepository ledgerPostingRepository;
+    private final StripedBalanceService stripedBalanceService;
+    private final ObjectProvider<PartitionedTransferEngine> partitionedEngine;
+    private final TransactionLogJdbcRepository transactionLogJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final AccountReadCache accountReadCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final BalanceSnapshotJdbcRepository balanceSnapshotRepository;
+
+    /**
+     * Bounds used when a history request has no date range
+     */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(3000, 1, 1, 0, 0);
+
+    @Value("${moneytransfer.history.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${moneytransfer.history.max-page-size:500}")
+    private int maxPageSize;
 
     /**
      * Get account details by ID
+     * Served from the read cache when it holds the account
      */
+    @Transactional(readOnly = true)
     public AccountResponse getAccount(Long accountId) {
         log.info("Fetching account: {}", accountId);
 
+        AccountResponse cached = accountReadCache.get(accountId);
+        if (cached != null) {
+            return cached;
+        }
+
+        readYourWritesTracker.routeToPrimaryIfRecent(accountId);
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        return AccountResponse.builder()
+        AccountResponse response = AccountResponse.builder()
                 .id(account.getId())
                 .holderName(account.getHolderName())
-                .balance(account.getBalance())
+                .balance(currentBalance(account))
                 .status(account.getStatus().name())
                 .build();
+        accountReadCache.put(account, response);
+
+        return response;
     }
 
     /**
      * Get account balance
      */
+    @Transactional(readOnly = true)
     public BigDecimal getBalance(Long accountId) {
         log.info("Fetching balance for account: {}", accountId);
 
-        Account account = accountRepository.findById(accountId)
+        return getAccount(accountId).getBalance();
+    }
+
+    /**
+     * Get the balance an account had at a point in time
+     *
+     * Starts from the account's latest end-of-day snapshot before that day and
+     * adds the amounts posted since, at most the days not yet snapshotted plus
+     * one. Without a snapshot it starts from the balance before the account's
+     * first posting.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        log.info("Fetching balance for account {} as of {}", accountId, asOf);
+        readYourWritesTracker.routeToPrimaryIfRecent(accountId);
+
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+
+        BalanceSnapshot snapshot = balanceSnapshotRepository.findLatestBefore(accountId, asOf.toLocalDate());
+        if (snapshot != null) {
+            LocalDateTime snapshotEnd = snapshot.getSnapshotDate().plusDays(1).atStartOfDay();
+            return snapshot.getBalance().add(balanceSnapshotRepository.sumPostings(accountId, snapshotEnd, asOf));
+        }
+
+        BigDecimal opening = balanceSnapshotRepository.findOpeningBalance(accountId);
+        if (opening == null) {
+            // Never part of a transfer: the balance hasn't changed since it was opened
+            return getBalance(accountId);
+        }
+        return opening.add(balanceSnapshotRepository.sumPostings(accountId, EARLIEST, asOf));
+    }
+
+    /**
+     * Stream the whole transaction history as one JSON array, newest first
+     * History is read from the account's ledger postings, so it lists successful transfers.
+     * Rows are read through a JDBC cursor, as for {@link #streamTransactions}.
+     */
+    public StreamingResponseBody streamTransactionArray(Long accountId) {
+        log.info("Streaming transactions for account: {}", accountId);
+
+        // Verify account exists before the response is committed
+        accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        return account.getBalance();
+        return stream(accountId, EARLIEST, LATEST, true);
     }
 
     /**
-     * Get transaction history for an account
+     * Get one page of transaction history, newest first
+     *
+     * @param limit  Page size (defaults to moneytransfer.history.default-page-size)
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param from   Optional inclusive lower bound on createdOn
+     * @param to     Optional exclusive upper bound on createdOn
      */
-    public List<TransactionLog> getTransactions(Long accountId) {
-        log.info("Fetching transactions for account: {}", accountId);
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionPage(Long accountId, Integer limit, String cursor,
+                                              LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching transaction page for account: {}", accountId);
+        readYourWritesTracker.routeToPrimaryIfRecent(accountId);
+
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
 
         // Verify account exists
         accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        return transactionLogRepository.findByFromAccountIdOrToAccountId(accountId, accountId);
+        // Start right below the cursor, or at the upper end of the range for the first page
+        LocalDateTime beforeTime = to != null ? to : LATEST;
+        String beforeId = "";
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            beforeTime = LocalDateTime.parse(position[0]);
+            beforeId = position[1];
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        List<TransactionLog> rows = ledgerPostingRepository.findPageForAccount(accountId,
+                from != null ? from : EARLIEST, beforeTime, beforeId, PageRequest.of(0, pageSize + 1)).stream()
+                .map(LedgerPosting::toTransactionLog)
+                .toList();
+
+        if (rows.size() <= pageSize) {
+            return new TransactionPage(rows, null);
+        }
+
+        List<TransactionLog> items = rows.subList(0, pageSize);
+        TransactionLog last = items.get(pageSize - 1);
+        return new TransactionPage(items, encodeCursor(last));
+    }
+
+    /**
+     * Stream the whole transaction history as NDJSON (one JSON object per line)
+     * Rows are read through a JDBC cursor, so memory use doesn't depend on history length
+     */
+    public StreamingResponseBody streamTransactions(Long accountId, LocalDateTime from, LocalDateTime to) {
+        log.info("Streaming transactions for account: {}", accountId);
+
+        // Verify account exists before the response is committed
+        accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        return stream(accountId, from != null ? from : EARLIEST, to != null ? to : LATEST, false);
+    }
+
+    /**
+     * Write the transactions as a JSON array, or as NDJSON lines
+     */
+    private StreamingResponseBody stream(Long accountId, LocalDateTime from, LocalDateTime to, boolean array) {
+        return out -> {
+            ObjectWriter objectWriter = objectMapper.writer();
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            try (SequenceWriter writer = array
+                    ? objectWriter.writeValuesAsArray(buffered)
+                    : objectWriter.withRootValueSeparator("\n").writeValues(buffered)) {
+                transactionLogJdbcRepository.streamForAccount(accountId, from, to,
+                        transaction -> {
+                            try {
+                                writer.write(transaction);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                writer.flush();
+            }
+        };
+    }
+
+    private static String encodeCursor(TransactionLog transaction) {
+        String position = transaction.getCreatedOn() + "|" + transaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            LocalDateTime.parse(parts[0]);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Striped accounts report their row balance plus all balance slots.
+     * In partitioned engine mode the engine's in-memory balance is ahead of
+     * the database until its asynchronous writer catches up.
+     */
+    private BigDecimal currentBalance(Account account) {
+        PartitionedTransferEngine engine = partitionedEngine.getIfAvailable();
+        if (engine != null) {
+            return engine.balanceOf(account.getId())
+                    .orElseGet(() -> stripedBalanceService.totalBalance(account));
+        }
+
+        return stripedBalanceService.totalBalance(account);
     }
-}
\ No newline at end of file
+}
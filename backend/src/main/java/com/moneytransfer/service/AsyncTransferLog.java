@@ -0,0 +1,167 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.dto.AsyncTransferStatus;
+import com.moneytransfer.dto.TransferRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Append-only NDJSON file behind the async transfer queue
+ *
+ * A submission is written with its request and forced to disk before the
+ * client gets its 202; the final status follows as a second line for the same
+ * transfer ID, without a force (losing it only means the transfer runs again
+ * after a crash and is answered from its idempotency key). Concurrent
+ * submitters share forces: a submitter only forces when no other force has
+ * already covered its line (group commit).
+ */
+@Slf4j
+class AsyncTransferLog {
+
+    private final Path file;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private final Lock writeLock = new ReentrantLock();
+    private final Lock forceLock = new ReentrantLock();
+    private FileChannel channel;
+    private volatile long appended;  // Lines written, guarded by writeLock
+    private long forced;             // Lines known to be on disk, guarded by forceLock
+
+    AsyncTransferLog(Path file, boolean fsync, ObjectMapper objectMapper) throws IOException {
+        this.file = file;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open();
+    }
+
+    /**
+     * Append one line; when {@code durable}, return only once it is on disk
+     */
+    void append(Line line, boolean durable) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        long ticket;
+        writeLock.lock();
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            ticket = ++appended;
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (!durable || !fsync) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (forced < ticket) {
+                // Everything appended so far is covered by this force, including other submitters' lines
+                long upTo = appended;
+                channel.force(false);
+                forced = upTo;
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Read every line in file order; a torn last line (crash mid-write) is skipped
+     */
+    List<Line> replay() throws IOException {
+        List<Line> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    lines.add(objectMapper.readValue(text, Line.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping unreadable line in {}: {}", file, e.getOriginalMessage());
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Replace the file with the given lines
+     *
+     * The supplier is called with appends blocked, so no line written after the
+     * snapshot can be lost by the swap.
+     */
+    void rewrite(Supplier<List<Line>> snapshot) throws IOException {
+        Path compacting = file.resolveSibling(file.getFileName() + ".compacting");
+        writeLock.lock();
+        forceLock.lock();
+        try {
+            List<Line> lines = snapshot.get();
+            try (FileChannel out = FileChannel.open(compacting, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Line line : lines) {
+                    ByteBuffer bytes = ByteBuffer.wrap((objectMapper.writeValueAsString(line) + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    while (bytes.hasRemaining()) {
+                        out.write(bytes);
+                    }
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(compacting, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open();
+            forced = appended;
+        } finally {
+            forceLock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    long size() throws IOException {
+        return Files.size(file);
+    }
+
+    void close() throws IOException {
+        writeLock.lock();
+        try {
+            channel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * One line of the file: the submission (with its request) or a later status
+     */
+    record Line(UUID transferId, TransferRequest request, AsyncTransferStatus status) {
+    }
+}
@@ -0,0 +1,413 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.dto.AsyncTransferStatus;
+import com.moneytransfer.dto.BatchTransferItemResult;
+import com.moneytransfer.dto.BatchTransferRequest;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.TransferNotFoundException;
+import com.moneytransfer.exception.TransferQueueFullException;
+import com.moneytransfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Accepts transfers for later execution (POST /api/v1/transfers/async)
+ *
+ * A submission is written to a local file ({@link AsyncTransferLog}) and
+ * answered with 202 as soon as it is on disk. Worker threads drain the queue in
+ * batches of up to {@code moneytransfer.async.batch-size} and run them through
+ * {@link BatchTransferService}, so queued transfers share chunked transactions
+ * instead of paying one commit each. Clients poll
+ * GET /api/v1/transfers/{transferId} for PENDING, SUCCESS or FAILED.
+ *
+ * The idempotency key identifies the submission: submitting the same key again
+ * returns the existing transfer. Pending transfers survive a restart and run
+ * when the application starts again; one that had already executed before a
+ * crash is recognised by its idempotency key and reported as SUCCESS.
+ * Finished statuses can be polled for {@code moneytransfer.async.status-retention}.
+ */
+@Service
+@Slf4j
+public class AsyncTransferService {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final BatchTransferService batchTransferService;
+    private final TransactionLogRepository transactionLogRepository;
+    private final AsyncTransferLog transferLog;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Duration statusRetention;
+    private final long compactThresholdBytes;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<UUID, Entry> transfers = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byKey = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Lock sweepLock = new ReentrantLock();
+    private volatile long lastSweep;
+    private volatile boolean running = true;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer completionTime;
+
+    public AsyncTransferService(BatchTransferService batchTransferService,
+                                TransactionLogRepository transactionLogRepository,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${moneytransfer.async.workers:2}") int workerCount,
+                                @Value("${moneytransfer.async.batch-size:100}") int batchSize,
+                                @Value("${moneytransfer.async.queue-capacity:100000}") int queueCapacity,
+                                @Value("${moneytransfer.async.file:${java.io.tmpdir}/moneytransfer-async-transfers.ndjson}") Path file,
+                                @Value("${moneytransfer.async.fsync:true}") boolean fsync,
+                                @Value("${moneytransfer.async.status-retention:1h}") Duration statusRetention,
+                                @Value("${moneytransfer.async.compact-threshold:64MB}") DataSize compactThreshold) throws IOException {
+        this.batchTransferService = batchTransferService;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transferLog = new AsyncTransferLog(file, fsync, objectMapper);
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.statusRetention = statusRetention;
+        this.compactThresholdBytes = compactThreshold.toBytes();
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "async-transfer-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+
+        this.succeeded = transferCounter(meterRegistry, "success");
+        this.failed = transferCounter(meterRegistry, "failed");
+        this.rejected = transferCounter(meterRegistry, "rejected");
+        this.completionTime = Timer.builder("moneytransfer.async.completion")
+                .description("Time from async submission to the final status")
+                .register(meterRegistry);
+        Gauge.builder("moneytransfer.async.queue.size", pending, AtomicInteger::get)
+                .description("Async transfers submitted and not yet executed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void recoverPending() throws IOException {
+        recover();
+    }
+
+    /**
+     * Start executing only once the application is ready (accounts seeded, caches warm)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        workers.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        // Workers finish their current batch; anything still queued stays PENDING in the file
+        running = false;
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                worker.join(10_000);
+            }
+        }
+        transferLog.close();
+    }
+
+    /**
+     * Queue a transfer and return its PENDING status once the submission is on disk
+     *
+     * @return The existing transfer's status if the idempotency key was submitted before
+     * @throws TransferQueueFullException When queue-capacity transfers are already pending
+     */
+    public AsyncTransferStatus submit(TransferRequest request) {
+        Entry existing = byKey.get(request.getIdempotencyKey());
+        if (existing != null) {
+            return existing.status;
+        }
+
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new TransferQueueFullException(queueCapacity);
+        }
+
+        AsyncTransferStatus status = AsyncTransferStatus.builder()
+                .transferId(UUID.randomUUID())
+                .idempotencyKey(request.getIdempotencyKey())
+                .status(AsyncTransferStatus.PENDING)
+                .submittedOn(LocalDateTime.now())
+                .build();
+        Entry entry = new Entry(request, status);
+        existing = byKey.putIfAbsent(request.getIdempotencyKey(), entry);
+        if (existing != null) {
+            pending.decrementAndGet();
+            return existing.status;
+        }
+        transfers.put(status.getTransferId(), entry);
+
+        try {
+            transferLog.append(new AsyncTransferLog.Line(status.getTransferId(), request, status), true);
+        } catch (IOException e) {
+            transfers.remove(status.getTransferId());
+            byKey.remove(request.getIdempotencyKey(), entry);
+            pending.decrementAndGet();
+            throw new UncheckedIOException("Could not queue transfer " + request.getIdempotencyKey(), e);
+        }
+
+        queue.add(entry);
+        return status;
+    }
+
+    /**
+     * Current status of a submitted transfer
+     *
+     * @throws TransferNotFoundException If the ID is unknown or its status has expired
+     */
+    public AsyncTransferStatus getStatus(UUID transferId) {
+        Entry entry = transfers.get(transferId);
+        if (entry == null) {
+            throw new TransferNotFoundException(transferId);
+        }
+        return entry.status;
+    }
+
+    private void work() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    execute(batch);
+                }
+                sweep();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Async transfer worker failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Run one batch of queued transfers and record the outcome of each
+     */
+    private void execute(List<Entry> batch) {
+        List<TransferRequest> requests = batch.stream().map(entry -> entry.request).toList();
+        List<BatchTransferItemResult> results;
+        try {
+            results = batchTransferService.transferBatch(new BatchTransferRequest(requests)).getResults();
+        } catch (RuntimeException e) {
+            log.error("Async batch of {} transfers failed: {}", batch.size(), e.getMessage(), e);
+            results = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(BatchTransferItemResult.builder()
+                        .index(i)
+                        .idempotencyKey(requests.get(i).getIdempotencyKey())
+                        .status(AsyncTransferStatus.FAILED)
+                        .errorCode(BatchTransferService.errorCodeFor(e))
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i));
+        }
+    }
+
+    private void complete(Entry entry, BatchTransferItemResult result) {
+        AsyncTransferStatus status = finalStatus(entry, result);
+        entry.status = status;
+        entry.request = null;
+        pending.decrementAndGet();
+
+        if (AsyncTransferStatus.SUCCESS.equals(status.getStatus())) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+        completionTime.record(Duration.between(status.getSubmittedOn(), status.getCompletedOn()));
+
+        try {
+            transferLog.append(new AsyncTransferLog.Line(status.getTransferId(), null, status), false);
+        } catch (IOException e) {
+            // The transfer stays PENDING in the file and is answered from its idempotency key after a restart
+            log.warn("Could not record status of async transfer {}: {}", status.getTransferId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Final status of a batch item
+     *
+     * A duplicate idempotency key whose transfer succeeded means this submission
+     * already ran (before a crash, or through the synchronous API), so it is
+     * reported as that transfer's success rather than as a conflict.
+     */
+    private AsyncTransferStatus finalStatus(Entry entry, BatchTransferItemResult result) {
+        AsyncTransferStatus.AsyncTransferStatusBuilder status = entry.status.toBuilder()
+                .completedOn(LocalDateTime.now());
+
+        if (AsyncTransferStatus.SUCCESS.equals(result.getStatus())) {
+            return status.status(AsyncTransferStatus.SUCCESS)
+                    .transactionId(result.getTransactionId())
+                    .build();
+        }
+
+        if ("TRX-409".equals(result.getErrorCode())) {
+            TransactionLog executed = transactionLogRepository.findByIdempotencyKey(result.getIdempotencyKey())
+                    .filter(transaction -> transaction.getStatus() == TransactionStatus.SUCCESS)
+                    .orElse(null);
+            if (executed != null) {
+                return status.status(AsyncTransferStatus.SUCCESS)
+                        .transactionId(UUID.fromString(executed.getId()))
+                        .build();
+            }
+        }
+
+        return status.status(AsyncTransferStatus.FAILED)
+                .errorCode(result.getErrorCode())
+                .message(result.getMessage())
+                .build();
+    }
+
+    /**
+     * Evict expired statuses and compact the file, at most once per second across all workers
+     */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        if (now - lastSweep < SWEEP_INTERVAL_MILLIS || !sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            lastSweep = now;
+            LocalDateTime expiry = LocalDateTime.now().minus(statusRetention);
+            transfers.values().removeIf(entry -> {
+                AsyncTransferStatus status = entry.status;
+                if (status.getCompletedOn() == null || status.getCompletedOn().isAfter(expiry)) {
+                    return false;
+                }
+                byKey.remove(status.getIdempotencyKey(), entry);
+                return true;
+            });
+
+            if (transferLog.size() > compactThresholdBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.error("Could not compact async transfer file: {}", e.getMessage());
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private void compact() throws IOException {
+        transferLog.rewrite(() -> transfers.values().stream()
+                .map(entry -> new AsyncTransferLog.Line(entry.status.getTransferId(), entry.request, entry.status))
+                .toList());
+        log.info("Compacted async transfer file to {} transfers", transfers.size());
+    }
+
+    /**
+     * Rebuild statuses from the file and queue the transfers that never finished
+     */
+    private void recover() throws IOException {
+        Map<UUID, AsyncTransferLog.Line> latest = new LinkedHashMap<>();  // Submission order
+        Map<UUID, TransferRequest> requests = new HashMap<>();
+        for (AsyncTransferLog.Line line : transferLog.replay()) {
+            if (line.request() != null) {
+                requests.put(line.transferId(), line.request());
+            }
+            latest.put(line.transferId(), line);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime expiry = LocalDateTime.now().minus(statusRetention);
+        int requeued = 0;
+        for (AsyncTransferLog.Line line : latest.values()) {
+            AsyncTransferStatus status = line.status();
+            boolean finished = status.getCompletedOn() != null;
+            if (finished && status.getCompletedOn().isBefore(expiry)) {
+                continue;
+            }
+            TransferRequest request = requests.get(line.transferId());
+            if (!finished && request == null) {
+                log.warn("Async transfer {} has no request in the file, dropping it", line.transferId());
+                continue;
+            }
+
+            Entry entry = new Entry(finished ? null : request, status);
+            transfers.put(line.transferId(), entry);
+            byKey.put(status.getIdempotencyKey(), entry);
+            if (!finished) {
+                pending.incrementAndGet();
+                queue.add(entry);
+                requeued++;
+            }
+        }
+
+        compact();
+        log.info("Recovered {} async transfers, {} still pending", transfers.size(), requeued);
+    }
+
+    private static Counter transferCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("moneytransfer.async.transfers")
+                .description("Async transfers by outcome (rejected = queue full)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A submitted transfer; the request is dropped once it has run
+     */
+    private static final class Entry {
+
+        private volatile TransferRequest request;
+        private volatile AsyncTransferStatus status;
+
+        private Entry(TransferRequest request, AsyncTransferStatus status) {
+            this.request = request;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.BalanceSnapshot;
+import com.moneytransfer.repository.BalanceSnapshotJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes end-of-day balance snapshots for the days that have closed since the last run
+ *
+ * Each run covers [checkpoint, start of the last closed day) one day at a time
+ * (the first run starts at the day of the first transfer). For a day it streams
+ * the accounts with a successful transfer on it (transaction_logs by
+ * created_on, each account once) and hands them in chunks of
+ * {@code chunk-size} to {@code threads} workers as they arrive, each writing
+ * its chunk's snapshots in one transaction. When all workers are busy the job
+ * thread writes the next chunk itself, so only a few chunks are ever held in
+ * memory. The checkpoint moves once every chunk of a day is written, so a
+ * failed day is simply redone next time.
+ *
+ * A snapshot is the account's previous snapshot plus the SUM of the day's
+ * posting amounts; on an account's first day it starts from the balance
+ * before its first posting. balance_after is deliberately not summed up to:
+ * for striped accounts it is the total of the balance row and the slots as
+ * one transfer saw it, which concurrent slot credits can leave inconsistent.
+ *
+ * A day counts as closed {@code settle-time} after midnight, so transfers
+ * still committing at midnight are not missed.
+ */
+@Component
+@ConditionalOnProperty(name = "moneytransfer.snapshots.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BalanceSnapshotJob implements Runnable {
+
+    private final BalanceSnapshotJdbcRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalMillis;
+    private final Duration settleTime;
+    private final int chunkSize;
+    private final ExecutorService workers;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile LocalDateTime checkpoint;
+
+    public BalanceSnapshotJob(BalanceSnapshotJdbcRepository snapshotRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${moneytransfer.snapshots.interval:1m}") Duration interval,
+                              @Value("${moneytransfer.snapshots.settle-time:5m}") Duration settleTime,
+                              @Value("${moneytransfer.snapshots.chunk-size:1000}") int chunkSize,
+                              @Value("${moneytransfer.snapshots.threads:4}") int threads) {
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.intervalMillis = interval.toMillis();
+        this.settleTime = settleTime;
+        this.chunkSize = chunkSize;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), runnable -> {
+                    Thread worker = new Thread(runnable, "balance-snapshot-worker");
+                    worker.setDaemon(true);
+                    return worker;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.thread = new Thread(this, "balance-snapshot-job");
+        this.thread.setDaemon(true);
+
+        Gauge.builder("moneytransfer.snapshots.lag", this, BalanceSnapshotJob::lagSeconds)
+                .description("Time since the end of the last day covered by balance snapshots")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start once the schema exists and seeding is done
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        checkpoint = snapshotRepository.findCheckpoint();
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(5_000);
+        workers.shutdownNow();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                snapshotClosedDays();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | ExecutionException e) {
+                log.warn("Balance snapshot run failed, retrying next interval: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Snapshot every closed day after the checkpoint
+     */
+    void snapshotClosedDays() throws InterruptedException, ExecutionException {
+        LocalDateTime until = LocalDateTime.now().minus(settleTime).toLocalDate().atStartOfDay();
+        LocalDateTime from = checkpoint;
+        if (from == null) {
+            LocalDateTime firstTransfer = snapshotRepository.findFirstTransferTime();
+            from = firstTransfer != null ? firstTransfer.toLocalDate().atStartOfDay() : until;
+        }
+
+        while (running && from.isBefore(until)) {
+            snapshotDay(from);
+            from = from.plusDays(1);
+        }
+    }
+
+    private void snapshotDay(LocalDateTime day) throws InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        List<Future<Integer>> chunks = new ArrayList<>();
+        long[][] chunk = {new long[chunkSize]};
+        int[] size = {0};
+        long[] accounts = {0};
+
+        snapshotRepository.streamTouchedAccounts(day, day.plusDays(1), accountId -> {
+            chunk[0][size[0]++] = accountId;
+            accounts[0]++;
+            if (size[0] == chunkSize) {
+                long[] full = chunk[0];
+                chunks.add(workers.submit(() -> snapshotChunk(full, day)));
+                chunk[0] = new long[chunkSize];
+                size[0] = 0;
+            }
+        });
+        if (size[0] > 0) {
+            long[] last = Arrays.copyOf(chunk[0], size[0]);
+            chunks.add(workers.submit(() -> snapshotChunk(last, day)));
+        }
+
+        long snapshots = 0;
+        for (Future<Integer> written : chunks) {
+            snapshots += written.get();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> snapshotRepository.saveCheckpoint(day.plusDays(1)));
+        checkpoint = day.plusDays(1);
+        if (accounts[0] > 0) {
+            log.info("Balance snapshots for {}: {} accounts, {} snapshots in {} ms", day.toLocalDate(),
+                    accounts[0], snapshots, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Write one day's snapshots of a chunk of accounts: previous balance plus the day's net postings
+     */
+    private int snapshotChunk(long[] accounts, LocalDateTime day) {
+        LocalDate date = day.toLocalDate();
+        return transactionTemplate.execute(status -> {
+            Map<Long, BigDecimal> nets = snapshotRepository.sumPostingsByAccount(accounts, day, day.plusDays(1));
+            Map<Long, BigDecimal> previous = snapshotRepository.findLatestBalancesBefore(accounts, date);
+
+            List<BalanceSnapshot> snapshots = new ArrayList<>(accounts.length);
+            for (long accountId : accounts) {
+                BigDecimal net = nets.get(accountId);
+                if (net == null) {
+                    continue;  // A transfer logged without postings (written before ledger postings existed)
+                }
+                BigDecimal balance = previous.get(accountId);
+                if (balance == null) {
+                    balance = snapshotRepository.findOpeningBalance(accountId);
+                }
+                snapshots.add(new BalanceSnapshot(accountId, date, balance.add(net), null));
+            }
+            snapshotRepository.replaceSnapshots(accounts, date, snapshots);
+            return snapshots.size();
+        });
+    }
+
+    private double lagSeconds() {
+        LocalDateTime covered = checkpoint;
+        return covered == null ? Double.POSITIVE_INFINITY : Duration.between(covered, LocalDateTime.now()).toSeconds();
+    }
+}
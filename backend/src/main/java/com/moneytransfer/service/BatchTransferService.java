@@ -0,0 +1,389 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.dto.BatchTransferItemResult;
+import com.moneytransfer.dto.BatchTransferRequest;
+import com.moneytransfer.dto.BatchTransferResponse;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.engine.PartitionedTransferEngine;
+import com.moneytransfer.exception.AccountNotActiveException;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import com.moneytransfer.exception.MoneyTransferException;
+import com.moneytransfer.repository.AccountRepository;
+import com.moneytransfer.repository.TransactionLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Executes many transfers per request
+ *
+ * The batch is split into chunks of {@code moneytransfer.batch.chunk-size} items.
+ * Each chunk runs in its own transaction: existing idempotency keys and all
+ * affected accounts are loaded with one IN query each, debits and credits are
+ * applied in memory, and Hibernate flushes the dirty accounts and new transaction
+ * logs as JDBC batches on commit.
+ *
+ * Business failures (unknown account, insufficient balance, ...) only fail their
+ * own item. If a chunk cannot be committed (e.g. an optimistic lock conflict with
+ * a concurrent single transfer), its items are re-run one by one through
+ * {@link TransferService} so the rest of the chunk still goes through.
+ *
+ * When the partitioned engine is enabled, the engine owns account balances, so
+ * all items are submitted to it instead and complete in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchTransferService {
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILED = "FAILED";
+
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransferService transferService;
+    private final FailedTransferAuditor failedTransferAuditor;
+    private final StripedBalanceService stripedBalanceService;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final AccountReadCache accountReadCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectProvider<PartitionedTransferEngine> partitionedEngine;
+
+    @Value("${moneytransfer.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${moneytransfer.batch.max-items:" + BatchTransferRequest.MAX_ITEMS + "}")
+    private int maxItems;
+
+    /**
+     * Execute all transfers of a batch and report the outcome of each item
+     */
+    public BatchTransferResponse transferBatch(BatchTransferRequest request) {
+        List<TransferRequest> transfers = request.getTransfers();
+        if (transfers.size() > maxItems) {
+            throw new IllegalArgumentException("Batch contains " + transfers.size()
+                    + " transfers, maximum is " + maxItems);
+        }
+
+        log.info("Processing batch of {} transfers in chunks of {}", transfers.size(), chunkSize);
+
+        BatchTransferItemResult[] results = new BatchTransferItemResult[transfers.size()];
+        List<Integer> pending = new ArrayList<>(transfers.size());
+        Set<String> seenKeys = new HashSet<>();
+
+        // Step 1: Validate each row and drop repeated idempotency keys up front
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            String violations = validate(transfer);
+
+            if (violations != null) {
+                results[i] = failure(i, transfer, "VAL-422", violations);
+            } else if (!seenKeys.add(transfer.getIdempotencyKey())) {
+                results[i] = failure(i, transfer, "TRX-409",
+                        "Duplicate idempotency key within batch: " + transfer.getIdempotencyKey());
+            } else {
+                pending.add(i);
+            }
+        }
+
+        // Step 2: Execute the remaining rows, on the engine or chunk by chunk
+        PartitionedTransferEngine engine = partitionedEngine.getIfAvailable();
+        if (engine != null) {
+            executeOnEngine(engine, transfers, pending, results);
+        } else {
+            for (int start = 0; start < pending.size(); start += chunkSize) {
+                List<Integer> chunk = pending.subList(start, Math.min(start + chunkSize, pending.size()));
+                for (BatchTransferItemResult result : executeChunk(transfers, chunk)) {
+                    results[result.getIndex()] = result;
+                }
+            }
+        }
+
+        List<BatchTransferItemResult> resultList = Arrays.asList(results);
+        int succeeded = (int) resultList.stream().filter(r -> SUCCESS.equals(r.getStatus())).count();
+
+        log.info("Batch finished: {} succeeded, {} failed", succeeded, transfers.size() - succeeded);
+
+        return BatchTransferResponse.builder()
+                .total(transfers.size())
+                .succeeded(succeeded)
+                .failed(transfers.size() - succeeded)
+                .results(resultList)
+                .build();
+    }
+
+    /**
+     * Run one chunk through {@link #executeTogether} and report each item
+     */
+    private List<BatchTransferItemResult> executeChunk(List<TransferRequest> transfers, List<Integer> chunk) {
+        List<ItemOutcome> outcomes = executeTogether(chunk.stream().map(transfers::get).toList());
+
+        List<BatchTransferItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = chunk.get(i);
+            ItemOutcome outcome = outcomes.get(i);
+            if (outcome.failure() != null && !outcome.ranAlone()) {
+                // Items re-run through TransferService have already been recorded there
+                failedTransferAuditor.record(transfers.get(index), outcome.failure());
+            }
+            results.add(outcome.failure() == null
+                    ? success(index, transfers.get(index), outcome.transactionId())
+                    : failure(index, transfers.get(index), errorCodeFor(outcome.failure()), outcome.failure().getMessage()));
+        }
+        return results;
+    }
+
+    /**
+     * Execute transfers in one shared transaction, falling back to one-by-one
+     * execution through {@link TransferService} when it cannot be committed
+     *
+     * Business failures only fail their own item: they are detected in memory
+     * before anything is written, so the rest of the group still commits.
+     * Also used by {@link GroupCommitExecutor} for concurrent single transfers.
+     *
+     * @return One outcome per request, in request order
+     */
+    public List<ItemOutcome> executeTogether(List<TransferRequest> requests) {
+        try {
+            return transactionTemplate.execute(status -> applyTogether(requests));
+        } catch (RuntimeException e) {
+            log.warn("Group of {} transfers could not be committed, retrying items individually: {}",
+                    requests.size(), e.getMessage());
+
+            // Drop whatever the failed transaction left in the persistence context
+            entityManager.clear();
+
+            List<ItemOutcome> outcomes = new ArrayList<>(requests.size());
+            for (TransferRequest request : requests) {
+                outcomes.add(executeSingle(request));
+            }
+            return outcomes;
+        }
+    }
+
+    /**
+     * Apply a group in memory; Hibernate writes the changes as JDBC batches on flush
+     */
+    private List<ItemOutcome> applyTogether(List<TransferRequest> requests) {
+        // One query for the idempotency keys the filter can't rule out, one IN query for all affected accounts
+        Set<String> keysToCheck = idempotencyKeyFilter.possiblyUsed(
+                requests.stream().map(TransferRequest::getIdempotencyKey).toList());
+        Set<String> usedKeys = keysToCheck.isEmpty()
+                ? Set.of()
+                : transactionLogRepository.findExistingIdempotencyKeys(keysToCheck);
+
+        Set<Long> accountIds = new HashSet<>();
+        requests.forEach(r -> {
+            accountIds.add(r.getFromAccountId());
+            accountIds.add(r.getToAccountId());
+        });
+        Map<Long, Account> accounts = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, account -> account));
+
+        List<ItemOutcome> outcomes = new ArrayList<>(requests.size());
+        List<TransactionLog> transactions = new ArrayList<>(requests.size());
+        List<LedgerPosting> postings = new ArrayList<>(requests.size() * 2);
+
+        for (TransferRequest request : requests) {
+            try {
+                if (usedKeys.contains(request.getIdempotencyKey())) {
+                    throw new DuplicateTransferException(request.getIdempotencyKey());
+                }
+                TransferService.validateTransfer(request);
+
+                Account fromAccount = findAccount(accounts, request.getFromAccountId());
+                Account toAccount = findAccount(accounts, request.getToAccountId());
+
+                // Business Rule: Debit before credit; undo the debit if the credit is rejected
+                Money amount = Money.of(request.getAmount());
+                stripedBalanceService.debit(fromAccount, amount);
+                try {
+                    stripedBalanceService.credit(toAccount, amount);
+                } catch (MoneyTransferException e) {
+                    fromAccount.credit(amount);
+                    throw e;
+                }
+
+                TransactionLog transaction = TransactionLog.builder()
+                        .id(UUID.randomUUID().toString())
+                        .fromAccountId(request.getFromAccountId())
+                        .toAccountId(request.getToAccountId())
+                        .amount(request.getAmount())
+                        .status(TransactionStatus.SUCCESS)
+                        .idempotencyKey(request.getIdempotencyKey())
+                        .createdOn(LocalDateTime.now())
+                        .build();
+                transactions.add(transaction);
+                postings.addAll(LedgerPosting.legsOf(transaction,
+                        stripedBalanceService.totalBalance(fromAccount),
+                        stripedBalanceService.totalBalance(toAccount)));
+                idempotencyKeyFilter.recordAfterCommit(request.getIdempotencyKey());
+
+                outcomes.add(new ItemOutcome(transaction.getId(), null, false));
+            } catch (MoneyTransferException | IllegalArgumentException e) {
+                outcomes.add(new ItemOutcome(null, e, false));
+            }
+        }
+
+        // Dirty accounts are updated by Hibernate's dirty checking; logs and postings are inserted in batches.
+        // persist() is used directly because the ids are pre-assigned and save() would merge.
+        transactions.forEach(entityManager::persist);
+        postings.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+
+        accountReadCache.updateAfterCommit(List.copyOf(accounts.values()));
+        readYourWritesTracker.recordAfterCommit(List.copyOf(accounts.keySet()));
+
+        return outcomes;
+    }
+
+    /**
+     * Submit all items to the partitioned engine first, then collect the results,
+     * so the partitions work on the whole batch in parallel
+     */
+    private void executeOnEngine(PartitionedTransferEngine engine, List<TransferRequest> transfers,
+                                 List<Integer> pending, BatchTransferItemResult[] results) {
+        List<CompletableFuture<TransferResponse>> futures = new ArrayList<>(pending.size());
+        for (int index : pending) {
+            futures.add(engine.submit(transfers.get(index)));
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pending.get(i);
+            TransferRequest request = transfers.get(index);
+            try {
+                TransferResponse response = futures.get(i).join();
+                results[index] = success(index, request, response.getTransactionId().toString());
+            } catch (CompletionException e) {
+                Exception cause = e.getCause() instanceof Exception c ? c : e;
+                results[index] = failure(index, request, errorCodeFor(cause), cause.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Execute a single item through the regular transfer path
+     */
+    private ItemOutcome executeSingle(TransferRequest request) {
+        try {
+            TransferResponse response = transferService.transfer(request);
+            return new ItemOutcome(response.getTransactionId().toString(), null, true);
+        } catch (RuntimeException e) {
+            return new ItemOutcome(null, e, true);
+        }
+    }
+
+    private Account findAccount(Map<Long, Account> accounts, Long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return account;
+    }
+
+    /**
+     * Run bean validation on a single item, returning null when it is valid
+     */
+    private String validate(TransferRequest request) {
+        if (request == null) {
+            return "Transfer is required";
+        }
+
+        Set<ConstraintViolation<TransferRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Map an exception to the same error code GlobalExceptionHandler would return
+     */
+    static String errorCodeFor(Exception e) {
+        if (e instanceof AccountNotFoundException) {
+            return "ACC-404";
+        }
+        if (e instanceof AccountNotActiveException) {
+            return "ACC-403";
+        }
+        if (e instanceof InsufficientBalanceException) {
+            return "TRX-400";
+        }
+        if (e instanceof DuplicateTransferException) {
+            return "TRX-409";
+        }
+        if (e instanceof DataIntegrityViolationException violation
+                && IdempotencyKeyFilter.isIdempotencyKeyViolation(violation)) {
+            return "TRX-409";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "VAL-422";
+        }
+        return "SYS-500";
+    }
+
+    private BatchTransferItemResult success(int index, TransferRequest request, String transactionId) {
+        return BatchTransferItemResult.builder()
+                .index(index)
+                .idempotencyKey(request.getIdempotencyKey())
+                .status(SUCCESS)
+                .transactionId(UUID.fromString(transactionId))
+                .build();
+    }
+
+    private BatchTransferItemResult failure(int index, TransferRequest request, String errorCode, String message) {
+        return BatchTransferItemResult.builder()
+                .index(index)
+                .idempotencyKey(request != null ? request.getIdempotencyKey() : null)
+                .status(FAILED)
+                .errorCode(errorCode)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Outcome of one transfer run by {@link #executeTogether}
+     *
+     * @param transactionId Set on success
+     * @param failure       The exception the single-transfer API would have thrown, set on failure
+     * @param ranAlone      True when the transfer went through {@link TransferService} on its own
+     *                      (which already recorded a failure in the audit log)
+     */
+    public record ItemOutcome(String transactionId, RuntimeException failure, boolean ranAlone) {
+    }
+}
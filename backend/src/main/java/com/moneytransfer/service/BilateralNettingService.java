@@ -0,0 +1,286 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.MoneyTransferException;
+import com.moneytransfer.repository.AccountRepository;
+import com.moneytransfer.repository.TransactionLogRepository;
+import com.moneytransfer.service.BatchTransferService.ItemOutcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Applies a group of transfers with bilateral netting
+ * ({@code moneytransfer.group-commit.netting})
+ *
+ * The group's accounts are loaded once and detached; the in-memory copies are
+ * provisional balances, and each transfer is checked against them in arrival
+ * order with the usual business rules (active accounts, no overdraft). Every
+ * transfer still gets its own transaction log and ledger postings, but the
+ * accounts table only receives one net movement per account: A to B 100,
+ * B to A 60 and A to B 10 become a single A -50 / B +50.
+ *
+ * Net movements are version-checked delta updates, written in ascending account
+ * ID order so that concurrent groups lock rows in the same order. Since each
+ * account is written once with its final balance, no intermediate balance can
+ * drop below zero (chk_balance), whatever order the transfers arrived in.
+ * If another writer changed one of the accounts since it was loaded, the whole
+ * group is rolled back and re-run one transfer at a time through
+ * {@link TransferService}. Transfers
+ * touching a striped (hot) account also run on their own, since part of such
+ * an account's balance lives in its slots.
+ */
+@Service
+@Slf4j
+public class BilateralNettingService {
+
+    private static final String INSERT_LOG =
+            "INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, status, " +
+                    "idempotency_key, created_on) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_POSTING =
+            "INSERT INTO ledger_postings (account_id, created_on, transaction_id, counterparty_account_id, " +
+                    "amount, balance_after, idempotency_key) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_NET_MOVEMENT =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1, last_updated = ? " +
+                    "WHERE id = ? AND version = ?";
+
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransferService transferService;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final AccountReadCache accountReadCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    private final Counter updatesWritten;
+    private final Counter updatesNetted;
+
+    public BilateralNettingService(AccountRepository accountRepository,
+                                   TransactionLogRepository transactionLogRepository,
+                                   TransferService transferService,
+                                   IdempotencyKeyFilter idempotencyKeyFilter,
+                                   AccountReadCache accountReadCache,
+                                   ReadYourWritesTracker readYourWritesTracker,
+                                   TransactionTemplate transactionTemplate,
+                                   JdbcTemplate jdbcTemplate,
+                                   EntityManager entityManager,
+                                   MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transferService = transferService;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+        this.accountReadCache = accountReadCache;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.updatesWritten = updateCounter(meterRegistry, "written");
+        this.updatesNetted = updateCounter(meterRegistry, "netted");
+    }
+
+    /**
+     * Execute a group of transfers, netting their balance updates per account
+     *
+     * @return One outcome per request, in request order
+     */
+    public List<ItemOutcome> executeNetted(List<TransferRequest> requests) {
+        ItemOutcome[] outcomes = new ItemOutcome[requests.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyNetted(requests, outcomes));
+        } catch (RuntimeException e) {
+            log.warn("Netted group of {} transfers could not be committed, retrying items individually: {}",
+                    requests.size(), e.getMessage());
+            Arrays.fill(outcomes, null);
+        }
+
+        // Transfers on striped accounts, or the whole group after a failed commit
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] == null) {
+                outcomes[i] = executeSingle(requests.get(i));
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private void applyNetted(List<TransferRequest> requests, ItemOutcome[] outcomes) {
+        Set<String> keysToCheck = idempotencyKeyFilter.possiblyUsed(
+                requests.stream().map(TransferRequest::getIdempotencyKey).toList());
+        Set<String> usedKeys = keysToCheck.isEmpty()
+                ? Set.of()
+                : transactionLogRepository.findExistingIdempotencyKeys(keysToCheck);
+
+        // Detached copies: their balances are the provisional balances, never flushed by Hibernate
+        Set<Long> accountIds = new HashSet<>();
+        requests.forEach(r -> {
+            accountIds.add(r.getFromAccountId());
+            accountIds.add(r.getToAccountId());
+        });
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            entityManager.detach(account);
+            accounts.put(account.getId(), account);
+        }
+
+        List<TransactionLog> transactions = new ArrayList<>(requests.size());
+        List<LedgerPosting> postings = new ArrayList<>(requests.size() * 2);
+        Map<Long, Money> netMovements = new TreeMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            try {
+                if (usedKeys.contains(request.getIdempotencyKey())) {
+                    throw new DuplicateTransferException(request.getIdempotencyKey());
+                }
+                TransferService.validateTransfer(request);
+
+                Account fromAccount = findAccount(accounts, request.getFromAccountId());
+                Account toAccount = findAccount(accounts, request.getToAccountId());
+                if (fromAccount.isStriped() || toAccount.isStriped()) {
+                    continue;
+                }
+
+                // Business Rule: Debit before credit; undo the debit if the credit is rejected
+                Money amount = Money.of(request.getAmount());
+                fromAccount.debit(amount);
+                try {
+                    toAccount.credit(amount);
+                } catch (MoneyTransferException e) {
+                    fromAccount.credit(amount);
+                    throw e;
+                }
+
+                TransactionLog transaction = TransactionLog.builder()
+                        .id(UUID.randomUUID().toString())
+                        .fromAccountId(request.getFromAccountId())
+                        .toAccountId(request.getToAccountId())
+                        .amount(request.getAmount())
+                        .status(TransactionStatus.SUCCESS)
+                        .idempotencyKey(request.getIdempotencyKey())
+                        .createdOn(LocalDateTime.now())
+                        .build();
+                transactions.add(transaction);
+                postings.addAll(LedgerPosting.legsOf(transaction, fromAccount.getBalance(), toAccount.getBalance()));
+
+                netMovements.merge(request.getFromAccountId(), amount.negate(), Money::plus);
+                netMovements.merge(request.getToAccountId(), amount, Money::plus);
+
+                idempotencyKeyFilter.recordAfterCommit(request.getIdempotencyKey());
+                outcomes[i] = new ItemOutcome(transaction.getId(), null, false);
+            } catch (MoneyTransferException | IllegalArgumentException e) {
+                outcomes[i] = new ItemOutcome(null, e, false);
+            }
+        }
+
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        insertLogs(transactions, postings);
+        int written = applyNetMovements(netMovements, accounts);
+        updatesWritten.increment(written);
+        updatesNetted.increment(transactions.size() * 2 - written);
+
+        List<Long> touched = List.copyOf(netMovements.keySet());
+        accountReadCache.updateAfterCommit(touched.stream().map(accounts::get).toList());
+        readYourWritesTracker.recordAfterCommit(touched);
+    }
+
+    /**
+     * Apply each account's net amount, in ascending account ID order
+     *
+     * @return Number of account updates written
+     */
+    private int applyNetMovements(Map<Long, Money> netMovements, Map<Long, Account> accounts) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int written = 0;
+        for (Map.Entry<Long, Money> movement : netMovements.entrySet()) {
+            if (movement.getValue().equals(Money.ZERO)) {
+                continue;
+            }
+            Account account = accounts.get(movement.getKey());
+            int updated = jdbcTemplate.update(APPLY_NET_MOVEMENT,
+                    movement.getValue().toBigDecimal(), now, account.getId(), account.getVersion());
+            if (updated != 1) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, account.getId());
+            }
+            // The read cache stores this copy, version included
+            account.setVersion(account.getVersion() + 1);
+            written++;
+        }
+        return written;
+    }
+
+    private void insertLogs(List<TransactionLog> transactions, List<LedgerPosting> postings) {
+        jdbcTemplate.batchUpdate(INSERT_LOG, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getId());
+            ps.setLong(2, transaction.getFromAccountId());
+            ps.setLong(3, transaction.getToAccountId());
+            ps.setBigDecimal(4, transaction.getAmount());
+            ps.setString(5, transaction.getStatus().name());
+            ps.setString(6, transaction.getIdempotencyKey());
+            ps.setTimestamp(7, Timestamp.valueOf(transaction.getCreatedOn()));
+        });
+        jdbcTemplate.batchUpdate(INSERT_POSTING, postings, postings.size(), (ps, posting) -> {
+            ps.setLong(1, posting.getAccountId());
+            ps.setTimestamp(2, Timestamp.valueOf(posting.getCreatedOn()));
+            ps.setString(3, posting.getTransactionId());
+            ps.setLong(4, posting.getCounterpartyAccountId());
+            ps.setBigDecimal(5, posting.getAmount());
+            ps.setBigDecimal(6, posting.getBalanceAfter());
+            ps.setString(7, posting.getIdempotencyKey());
+        });
+    }
+
+    private ItemOutcome executeSingle(TransferRequest request) {
+        try {
+            TransferResponse response = transferService.transfer(request);
+            return new ItemOutcome(response.getTransactionId().toString(), null, true);
+        } catch (RuntimeException e) {
+            return new ItemOutcome(null, e, true);
+        }
+    }
+
+    private Account findAccount(Map<Long, Account> accounts, Long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return account;
+    }
+
+    private static Counter updateCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("moneytransfer.netting.balance.updates")
+                .description("Account balance updates of netted groups: written, or saved by netting")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
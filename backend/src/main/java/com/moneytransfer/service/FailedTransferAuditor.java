@@ -0,0 +1,401 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.dto.TransferRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records failed transfers in transaction_logs off the request path
+ *
+ * The failing transfer's own transaction rolls back, so its FAILED record has
+ * to be written elsewhere. Records go into a bounded in-memory queue that a
+ * background thread drains and inserts with JDBC batches, one transaction per
+ * batch. When the queue is full, records overflow to an append-only NDJSON
+ * file ({@code moneytransfer.audit.spill-file}) that the writer replays once
+ * the queue is empty again, including after a restart. With spilling disabled,
+ * overflowing records are dropped and counted, and so are spill file lines
+ * that can't be read back.
+ *
+ * A FAILED record must not claim the client's idempotency key, otherwise the
+ * client could never retry the transfer. It gets a synthetic key instead:
+ * {@code failed:<record id>:<original key>}, cut to the column length.
+ *
+ * Some rejected transfers can't be a transaction_logs row at all: an unknown
+ * account breaks fk_from_account/fk_to_account, and an amount that isn't
+ * positive at two decimals breaks chk_amount. The writer leaves those out
+ * (DEBUG log, counted as skipped) instead of failing every batch they are in.
+ */
+@Component
+@Slf4j
+public class FailedTransferAuditor implements Runnable {
+
+    private static final String INSERT_FAILED =
+            "INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, status, " +
+                    "failure_reason, idempotency_key, created_on) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_ACCOUNT_IDS = "SELECT id FROM accounts WHERE id IN (%s)";
+
+    // DECIMAL(18,2): largest amount the column holds
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999999999.99");
+
+    private static final String KEY_PREFIX = "failed:";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long intervalMillis;
+    private final boolean spillEnabled;
+    private final Path spillFile;
+    private final BlockingQueue<FailedTransfer> queue;
+    private final Thread thread;
+    private final Lock spillLock = new ReentrantLock();  // Not a monitor: spilling does file I/O on request threads
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter dropped;
+    private final Counter skipped;
+
+    public FailedTransferAuditor(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${moneytransfer.audit.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${moneytransfer.audit.batch-size:200}") int batchSize,
+                                 @Value("${moneytransfer.audit.interval-ms:50}") long intervalMillis,
+                                 @Value("${moneytransfer.audit.spill-enabled:true}") boolean spillEnabled,
+                                 @Value("${moneytransfer.audit.spill-file:${java.io.tmpdir}/moneytransfer-failed-transfers.ndjson}") Path spillFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+        this.spillEnabled = spillEnabled;
+        this.spillFile = spillFile;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this, "failed-transfer-auditor");
+        this.thread.setDaemon(true);
+
+        this.written = recordCounter(meterRegistry, "written");
+        this.spilled = recordCounter(meterRegistry, "spilled");
+        this.dropped = recordCounter(meterRegistry, "dropped");
+        this.skipped = recordCounter(meterRegistry, "skipped");
+        Gauge.builder("moneytransfer.audit.queue.size", queue, BlockingQueue::size)
+                .description("Failed transfer records waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("moneytransfer.audit.lag", this, FailedTransferAuditor::lagSeconds)
+                .description("Age in seconds of the oldest queued failed transfer record")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Let the writer drain the queue; whatever is left after the timeout goes to the spill file
+        running = false;
+        thread.join(10_000);
+
+        List<FailedTransfer> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::overflow);
+    }
+
+    /**
+     * Queue a FAILED record for a transfer; never blocks and never throws
+     */
+    public void record(TransferRequest request, Exception failure) {
+        try {
+            String id = UUID.randomUUID().toString();
+            FailedTransfer record = new FailedTransfer(id,
+                    request.getFromAccountId(),
+                    request.getToAccountId(),
+                    request.getAmount(),
+                    truncate(failure.getMessage(), MAX_REASON_LENGTH),
+                    truncate(KEY_PREFIX + id + ":" + request.getIdempotencyKey(), MAX_KEY_LENGTH),
+                    LocalDateTime.now());
+
+            if (!queue.offer(record)) {
+                overflow(record);
+            }
+        } catch (RuntimeException e) {
+            // Auditing must never change the outcome reported to the client
+            dropped.increment();
+            log.warn("Could not record failed transfer: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        List<FailedTransfer> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransfer first = queue.poll(intervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpillFile();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                write(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Failed transfer auditor error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<FailedTransfer> records) {
+        List<FailedTransfer> batch = storable(records);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} failed transfer records could not be written, retrying one by one: {}",
+                    batch.size(), e.getMessage());
+
+            for (FailedTransfer record : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(record)));
+                    written.increment();
+                } catch (RuntimeException single) {
+                    dropped.increment();
+                    log.error("Could not write failed transfer record {} ({} -> {}, amount: {}): {}",
+                            record.id(), record.fromAccountId(), record.toAccountId(), record.amount(),
+                            single.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The records that satisfy the table's constraints: both accounts exist and the amount fits
+     */
+    private List<FailedTransfer> storable(List<FailedTransfer> records) {
+        Set<Long> accountIds = new HashSet<>();
+        for (FailedTransfer record : records) {
+            if (record.fromAccountId() != null) {
+                accountIds.add(record.fromAccountId());
+            }
+            if (record.toAccountId() != null) {
+                accountIds.add(record.toAccountId());
+            }
+        }
+        Set<Long> existing;
+        try {
+            existing = accountIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(jdbcTemplate.queryForList(
+                            SELECT_ACCOUNT_IDS.formatted(String.join(", ", Collections.nCopies(accountIds.size(), "?"))),
+                            Long.class, accountIds.toArray()));
+        } catch (RuntimeException e) {
+            // Database unavailable: the inserts fail the same way and count the records as dropped
+            return records;
+        }
+
+        List<FailedTransfer> storable = new ArrayList<>(records.size());
+        for (FailedTransfer record : records) {
+            if (existing.contains(record.fromAccountId()) && existing.contains(record.toAccountId())
+                    && storableAmount(record.amount())) {
+                storable.add(record);
+            } else {
+                skipped.increment();
+                log.debug("Failed transfer record {} not written ({} -> {}, amount: {}): {}",
+                        record.id(), record.fromAccountId(), record.toAccountId(), record.amount(),
+                        record.failureReason());
+            }
+        }
+        return storable;
+    }
+
+    private static boolean storableAmount(BigDecimal amount) {
+        if (amount == null) {
+            return false;
+        }
+        // The column rounds to two decimals, so 0.001 would be stored as 0.00
+        BigDecimal stored = amount.setScale(2, RoundingMode.HALF_UP);
+        return stored.signum() > 0 && stored.compareTo(MAX_AMOUNT) <= 0;
+    }
+
+    private void insert(List<FailedTransfer> batch) {
+        jdbcTemplate.batchUpdate(INSERT_FAILED, batch, batch.size(), (ps, record) -> {
+            ps.setString(1, record.id());
+            ps.setLong(2, record.fromAccountId());
+            ps.setLong(3, record.toAccountId());
+            ps.setBigDecimal(4, record.amount());
+            ps.setString(5, TransactionStatus.FAILED.name());
+            ps.setString(6, record.failureReason());
+            ps.setString(7, record.idempotencyKey());
+            ps.setTimestamp(8, Timestamp.valueOf(record.createdOn()));
+        });
+    }
+
+    /**
+     * Append a record that didn't fit into the queue to the spill file, or drop it
+     */
+    private void overflow(FailedTransfer record) {
+        if (!spillEnabled) {
+            dropped.increment();
+            return;
+        }
+
+        spillLock.lock();
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+                spilled.increment();
+            } catch (IOException e) {
+                dropped.increment();
+                log.error("Could not spill failed transfer record {}: {}", record.id(), e.getMessage());
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Write the spilled records once the queue has room again
+     * The file is moved aside first, so new overflow goes to a fresh file meanwhile
+     */
+    private void replaySpillFile() {
+        if (!spillEnabled || !Files.exists(spillFile)) {
+            return;
+        }
+
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        try {
+            // A leftover .replaying file means a previous replay was interrupted
+            if (!Files.exists(replaying)) {
+                spillLock.lock();
+                try {
+                    Files.move(spillFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    spillLock.unlock();
+                }
+            }
+
+            long replayed = 0;
+            long unreadable = 0;
+            List<FailedTransfer> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        batch.add(objectMapper.readValue(line, FailedTransfer.class));
+                    } catch (JsonProcessingException e) {
+                        // e.g. a line cut short by a crash; it would fail every replay
+                        unreadable++;
+                        dropped.increment();
+                        continue;
+                    }
+                    if (batch.size() == batchSize) {
+                        write(batch);
+                        replayed += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                replayed += batch.size();
+            }
+
+            Files.delete(replaying);
+            if (unreadable > 0) {
+                log.warn("Dropped {} unreadable lines of the failed transfer spill file", unreadable);
+            }
+            log.info("Replayed {} spilled failed transfer records", replayed);
+        } catch (IOException e) {
+            log.error("Could not replay spilled failed transfer records from {}: {}", spillFile, e.getMessage());
+        }
+    }
+
+    private double lagSeconds() {
+        FailedTransfer oldest = queue.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return Duration.between(oldest.createdOn(), LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("moneytransfer.audit.records")
+                .description("Failed transfer records by what happened to them")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A FAILED transaction log waiting to be written (also the spill file line format)
+     */
+    record FailedTransfer(String id,
+                          Long fromAccountId,
+                          Long toAccountId,
+                          BigDecimal amount,
+                          String failureReason,
+                          String idempotencyKey,
+                          LocalDateTime createdOn) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commits concurrent single transfers together (group commit)
+ *
+ * With {@code moneytransfer.group-commit.enabled} in jpa mode, request threads
+ * hand their transfer to one committer thread and wait. The committer collects
+ * what arrives within {@code window} of the first transfer (or until
+ * {@code max-size} are waiting) and runs the group through
+ * {@link BatchTransferService#executeTogether} in one database transaction, so
+ * the group pays for one commit instead of one each.
+ *
+ * Each caller still gets its own result: business failures are found in memory
+ * and only fail their own transfer, and a group that cannot be committed is
+ * re-run one transfer at a time. Callers see the same responses and exceptions
+ * as with {@link TransferService}.
+ *
+ * With {@code moneytransfer.group-commit.netting}, groups go through
+ * {@link BilateralNettingService} instead, which writes one net balance
+ * movement per account per group.
+ *
+ * Once stopped, new transfers are refused, and any transfer still queued
+ * when the committer exits is failed rather than left waiting.
+ */
+@Service
+@ConditionalOnProperty(name = "moneytransfer.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class GroupCommitExecutor implements Runnable {
+
+    private final BatchTransferService batchTransferService;
+    private final BilateralNettingService bilateralNettingService;
+    private final FailedTransferAuditor failedTransferAuditor;
+    private final boolean netting;
+    private final long windowNanos;
+    private final int maxSize;
+    private final BlockingQueue<Member> queue;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final DistributionSummary groupSize;
+    private final Timer waitTime;
+
+    public GroupCommitExecutor(BatchTransferService batchTransferService,
+                               BilateralNettingService bilateralNettingService,
+                               FailedTransferAuditor failedTransferAuditor,
+                               MeterRegistry meterRegistry,
+                               @Value("${moneytransfer.group-commit.netting:false}") boolean netting,
+                               @Value("${moneytransfer.group-commit.window:2ms}") Duration window,
+                               @Value("${moneytransfer.group-commit.max-size:100}") int maxSize,
+                               @Value("${moneytransfer.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.batchTransferService = batchTransferService;
+        this.bilateralNettingService = bilateralNettingService;
+        this.failedTransferAuditor = failedTransferAuditor;
+        this.netting = netting;
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this, "group-commit");
+        this.thread.setDaemon(true);
+
+        this.groupSize = DistributionSummary.builder("moneytransfer.group-commit.size")
+                .description("Transfers committed per shared transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("moneytransfer.group-commit.wait")
+                .description("Time a transfer waits for its group's transaction to start")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // The committer empties the queue before it exits
+        running = false;
+        thread.join(10_000);
+        failQueued();
+    }
+
+    /**
+     * Execute one transfer as part of the next group and wait for its result
+     */
+    public TransferResponse transfer(TransferRequest request) {
+        if (!running) {
+            throw stopped();
+        }
+        Member member = new Member(request, System.nanoTime());
+        try {
+            queue.put(member);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing transfer", e);
+        }
+        if (!running && !thread.isAlive()) {
+            // The committer exited between the check above and the put
+            failQueued();
+        }
+
+        try {
+            return member.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Member> group = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Member first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group, first.enqueuedNanos + windowNanos);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                group.forEach(member -> member.result.completeExceptionally(stopped()));
+                break;
+            } catch (RuntimeException e) {
+                log.error("Group commit failed: {}", e.getMessage(), e);
+                group.forEach(member -> member.result.completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+        failQueued();
+    }
+
+    /**
+     * Fail transfers left in the queue once the committer is gone
+     */
+    private void failQueued() {
+        Member member;
+        while ((member = queue.poll()) != null) {
+            member.result.completeExceptionally(stopped());
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Group commit is shut down, the transfer was not executed");
+    }
+
+    /**
+     * Add transfers to the group until it is full or the window has passed
+     */
+    private void collect(List<Member> group, long deadlineNanos) throws InterruptedException {
+        queue.drainTo(group, maxSize - group.size());
+        while (group.size() < maxSize) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Member next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            queue.drainTo(group, maxSize - group.size());
+        }
+    }
+
+    private void commit(List<Member> group) {
+        long start = System.nanoTime();
+        group.forEach(member -> waitTime.record(start - member.enqueuedNanos, TimeUnit.NANOSECONDS));
+        groupSize.record(group.size());
+
+        List<TransferRequest> requests = group.stream().map(member -> member.request).toList();
+        List<BatchTransferService.ItemOutcome> outcomes = netting
+                ? bilateralNettingService.executeNetted(requests)
+                : batchTransferService.executeTogether(requests);
+
+        for (int i = 0; i < group.size(); i++) {
+            Member member = group.get(i);
+            BatchTransferService.ItemOutcome outcome = outcomes.get(i);
+            if (outcome.failure() == null) {
+                member.result.complete(success(member.request, outcome.transactionId()));
+            } else {
+                if (!outcome.ranAlone()) {
+                    failedTransferAuditor.record(member.request, outcome.failure());
+                }
+                member.result.completeExceptionally(outcome.failure());
+            }
+        }
+    }
+
+    private static TransferResponse success(TransferRequest request, String transactionId) {
+        return TransferResponse.builder()
+                .transactionId(UUID.fromString(transactionId))
+                .status("SUCCESS")
+                .message("Transfer completed successfully")
+                .debitedFrom(request.getFromAccountId())
+                .creditedTo(request.getToAccountId())
+                .amount(request.getAmount())
+                .build();
+    }
+
+    /**
+     * A transfer waiting for its group
+     */
+    private static final class Member {
+
+        private final TransferRequest request;
+        private final long enqueuedNanos;
+        private final CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+
+        private Member(TransferRequest request, long enqueuedNanos) {
+            this.request = request;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
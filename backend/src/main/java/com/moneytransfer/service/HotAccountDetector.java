@@ -0,0 +1,104 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.dto.TransferRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects hot accounts from optimistic lock conflicts and stripes them
+ *
+ * Conflicts are counted per account in fixed windows of
+ * {@code moneytransfer.striping.window-seconds}. An account that reaches
+ * {@code moneytransfer.striping.conflict-threshold} conflicts within one
+ * window is handed to {@link StripedBalanceService#stripe}.
+ *
+ * With JDBC batching Hibernate often can't tell which row was stale; the
+ * conflict is then attributed to the credited account, since striping only
+ * helps accounts that receive many credits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountDetector {
+
+    private static final int MAX_TRACKED_ACCOUNTS = 10_000;
+
+    private final StripedBalanceService stripedBalanceService;
+    private final Map<Long, ConflictWindow> windows = new ConcurrentHashMap<>();
+
+    @Value("${moneytransfer.striping.auto-detect:true}")
+    private boolean autoDetect;
+
+    @Value("${moneytransfer.striping.conflict-threshold:5}")
+    private int conflictThreshold;
+
+    @Value("${moneytransfer.striping.window-seconds:10}")
+    private long windowSeconds;
+
+    /**
+     * Record an optimistic lock conflict hit by a transfer, striping the account if it is hot
+     */
+    public void recordConflict(ObjectOptimisticLockingFailureException conflict, TransferRequest request) {
+        if (!autoDetect) {
+            return;
+        }
+
+        Long accountId = request.getToAccountId();
+        if (Account.class.getName().equals(conflict.getPersistentClassName())
+                && conflict.getIdentifier() instanceof Long staleAccountId) {
+            accountId = staleAccountId;
+        }
+        record(accountId);
+    }
+
+    private void record(Long accountId) {
+        long now = System.nanoTime();
+        long windowNanos = windowSeconds * 1_000_000_000L;
+        if (windows.size() >= MAX_TRACKED_ACCOUNTS) {
+            windows.values().removeIf(window -> now - window.start > windowNanos);
+        }
+
+        ConflictWindow window = windows.compute(accountId, (id, current) ->
+                current == null || now - current.start > windowNanos ? new ConflictWindow(now) : current);
+
+        boolean hot;
+        synchronized (window) {
+            hot = ++window.count >= conflictThreshold && !window.striping;
+            window.striping |= hot;
+        }
+        if (!hot) {
+            return;
+        }
+
+        try {
+            if (stripedBalanceService.stripe(accountId)) {
+                log.warn("Account {} hit {} version conflicts within {}s and is now striped",
+                        accountId, conflictThreshold, windowSeconds);
+            }
+            windows.remove(accountId);
+        } catch (RuntimeException e) {
+            // Striping itself raced with a transfer; the next conflict tries again
+            log.warn("Could not stripe account {}: {}", accountId, e.getMessage());
+            synchronized (window) {
+                window.striping = false;
+            }
+        }
+    }
+
+    private static final class ConflictWindow {
+        private final long start;
+        private int count;
+        private boolean striping;
+
+        private ConflictWindow(long start) {
+            this.start = start;
+        }
+    }
+}
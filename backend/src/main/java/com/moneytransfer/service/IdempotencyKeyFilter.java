@@ -0,0 +1,237 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory filter in front of the idempotency key lookup
+ *
+ * Almost every transfer uses a fresh key, so the unique-index lookup in
+ * {@link TransactionLogRepository#findByIdempotencyKey} almost always misses.
+ * This filter answers most checks without touching the database:
+ * - a bounded cache of recently used keys answers "duplicate" directly
+ * - a Bloom filter answers "definitely new", skipping the database read
+ * - only Bloom "maybe" answers fall through to the database
+ *
+ * The Bloom filter is kept in two generations of {@code expected-keys} each;
+ * when the current one fills up, the older one is dropped. Keys older than
+ * that can be reported as new, which is fine because the unique constraint
+ * on transaction_logs.idempotency_key remains the final arbiter (see
+ * {@link #isIdempotencyKeyViolation}).
+ *
+ * The filter is filled from the database in the background at startup and
+ * falls back to database lookups until that has finished.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyFilter {
+
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int expectedKeys;
+    private final double falsePositiveRate;
+    private final int recentCacheSize;
+
+    private final Map<String, Boolean> recentKeys = new ConcurrentHashMap<>();
+    private final Queue<String> recentOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger recentCount = new AtomicInteger();
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile boolean ready;
+
+    private final Counter recentHits;
+    private final Counter bloomMisses;
+    private final Counter databaseHits;
+    private final Counter falsePositives;
+
+    public IdempotencyKeyFilter(TransactionLogRepository transactionLogRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${moneytransfer.idempotency.filter.enabled:true}") boolean enabled,
+                                @Value("${moneytransfer.idempotency.filter.expected-keys:1000000}") int expectedKeys,
+                                @Value("${moneytransfer.idempotency.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${moneytransfer.idempotency.filter.recent-cache-size:10000}") int recentCacheSize) {
+        this.transactionLogRepository = transactionLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.recentCacheSize = recentCacheSize;
+        this.current = new BloomFilter(expectedKeys, falsePositiveRate);
+        this.previous = new BloomFilter(expectedKeys, falsePositiveRate);
+
+        this.recentHits = lookupCounter(meterRegistry, "recent_hit");
+        this.bloomMisses = lookupCounter(meterRegistry, "bloom_miss");
+        this.databaseHits = lookupCounter(meterRegistry, "database_hit");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+    }
+
+    /**
+     * Load the keys of successful transfers already in the database, oldest first, in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread loader = new Thread(() -> {
+            try {
+                long loaded = transactionTemplate.execute(status -> {
+                    try (Stream<String> keys = transactionLogRepository.streamAllIdempotencyKeys()) {
+                        return keys.mapToLong(key -> {
+                            addToBloom(key);
+                            return 1;
+                        }).sum();
+                    }
+                });
+                ready = true;
+                log.info("Idempotency filter ready with {} existing keys", loaded);
+            } catch (RuntimeException e) {
+                log.error("Could not load idempotency keys, falling back to database lookups", e);
+            }
+        }, "idempotency-filter-warmup");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Check whether an idempotency key was already used
+     * Reads the database only when the in-memory structures can't decide
+     */
+    public boolean isDuplicate(String idempotencyKey) {
+        if (!enabled || !ready) {
+            return transactionLogRepository.findByIdempotencyKey(idempotencyKey).isPresent();
+        }
+
+        if (recentKeys.containsKey(idempotencyKey)) {
+            recentHits.increment();
+            return true;
+        }
+
+        if (!mightContain(idempotencyKey)) {
+            bloomMisses.increment();
+            return false;
+        }
+
+        boolean used = transactionLogRepository.findByIdempotencyKey(idempotencyKey).isPresent();
+        (used ? databaseHits : falsePositives).increment();
+        return used;
+    }
+
+    /**
+     * Keep only the keys that may already be used and still need a database check
+     */
+    public Set<String> possiblyUsed(Collection<String> idempotencyKeys) {
+        if (!enabled || !ready) {
+            return Set.copyOf(idempotencyKeys);
+        }
+
+        return idempotencyKeys.stream()
+                .filter(key -> {
+                    boolean maybe = recentKeys.containsKey(key) || mightContain(key);
+                    if (!maybe) {
+                        bloomMisses.increment();
+                    }
+                    return maybe;
+                })
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Remember a key once the current transaction commits
+     * (immediately when no transaction is active)
+     */
+    public void recordAfterCommit(String idempotencyKey) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(idempotencyKey);
+                }
+            });
+        } else {
+            record(idempotencyKey);
+        }
+    }
+
+    /**
+     * Check whether a constraint violation was raised by the idempotency key's unique constraint
+     */
+    public static boolean isIdempotencyKeyViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(TransactionLog.IDEMPOTENCY_KEY_CONSTRAINT);
+    }
+
+    private void record(String idempotencyKey) {
+        addToBloom(idempotencyKey);
+
+        if (recentKeys.put(idempotencyKey, Boolean.TRUE) == null) {
+            recentOrder.add(idempotencyKey);
+
+            // Evict the oldest keys (FIFO) to stay within the configured size
+            if (recentCount.incrementAndGet() > recentCacheSize) {
+                String oldest = recentOrder.poll();
+                if (oldest != null) {
+                    recentKeys.remove(oldest);
+                    recentCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void addToBloom(String idempotencyKey) {
+        BloomFilter filter = current;
+        if (filter.add(idempotencyKey) == expectedKeys) {
+            rotate(filter);
+        }
+    }
+
+    private boolean mightContain(String idempotencyKey) {
+        return current.mightContain(idempotencyKey) || previous.mightContain(idempotencyKey);
+    }
+
+    /**
+     * Retire the oldest generation once the current one holds expected-keys keys
+     */
+    private synchronized void rotate(BloomFilter full) {
+        if (current == full) {
+            previous = full;
+            current = new BloomFilter(expectedKeys, falsePositiveRate);
+            log.info("Idempotency Bloom filter rotated after {} keys", expectedKeys);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("moneytransfer.idempotency.lookups")
+                .description("Idempotency key checks by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
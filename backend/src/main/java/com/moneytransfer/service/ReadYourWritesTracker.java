@@ -0,0 +1,80 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes on top of read replicas
+ *
+ * Writers record the accounts a transfer touched once it commits. For
+ * {@code read-your-writes} after that, reads of those accounts stay on the
+ * primary, so a client sees its own transfer even while the replicas are still
+ * catching up. Does nothing unless {@code moneytransfer.datasource.replicas.enabled}.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 100_000;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${moneytransfer.datasource.replicas.enabled:false}") boolean replicasEnabled,
+                                 @Value("${moneytransfer.datasource.replicas.read-your-writes:2s}") Duration window) {
+        this.enabled = replicasEnabled && !window.isZero();
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Record the accounts once the current transaction commits (immediately without one)
+     */
+    public void recordAfterCommit(Collection<Long> accountIds) {
+        if (!enabled) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(accountIds);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(accountIds);
+            }
+        });
+    }
+
+    /**
+     * Keep the current read-only transaction on the primary if the account was written within the window
+     */
+    public void routeToPrimaryIfRecent(Long accountId) {
+        if (!enabled) {
+            return;
+        }
+
+        Long writtenAt = lastWrites.get(accountId);
+        if (writtenAt != null && System.nanoTime() - writtenAt < windowNanos) {
+            ReplicaRoutingDataSource.usePrimaryForCurrentTransaction();
+        }
+    }
+
+    private void record(Collection<Long> accountIds) {
+        long now = System.nanoTime();
+        accountIds.forEach(accountId -> lastWrites.put(accountId, now));
+
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.AccountBalanceSlot;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.exception.AccountNotActiveException;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.repository.AccountBalanceSlotRepository;
+import com.moneytransfer.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Debit and credit accounts that may be striped
+ *
+ * A striped account keeps its balance split between the account row and
+ * {@code moneytransfer.striping.slots} sub-balance rows:
+ * - credits go to a random slot with a single UPDATE, so they don't touch
+ *   the account row or its version
+ * - debits are taken from the account row; when it is short, all slots are
+ *   locked and folded into the account row first
+ * - the balance is the account row plus the sum of the slots
+ *
+ * Non-striped accounts are handled exactly as before via {@link Account#debit}
+ * and {@link Account#credit}. All methods must run inside the caller's transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StripedBalanceService {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final AccountReadCache accountReadCache;
+
+    @Value("${moneytransfer.striping.slots:8}")
+    private int slotCount;
+
+    /**
+     * Deduct money from the account, consolidating its slots if needed
+     */
+    public void debit(Account account, Money amount) {
+        if (account.isStriped() && account.isActive() && account.getBalanceMoney().isLessThan(amount)) {
+            consolidate(account);
+        }
+
+        account.debit(amount);
+    }
+
+    /**
+     * Add money to the account, spreading credits of striped accounts across slots
+     */
+    public void credit(Account account, Money amount) {
+        if (!account.isStriped()) {
+            account.credit(amount);
+            return;
+        }
+
+        if (!account.isActive()) {
+            throw new AccountNotActiveException("Cannot credit to account " + account.getId()
+                    + ". Account status: " + account.getStatus());
+        }
+
+        int slot = ThreadLocalRandom.current().nextInt(slotCount);
+        if (slotRepository.addToSlot(account.getId(), slot, amount.toBigDecimal()) == 0) {
+            // Slot missing (e.g. slot count was raised): fall back to the account row
+            account.credit(amount);
+        }
+    }
+
+    /**
+     * Get the full balance: the account row plus all of its slots
+     */
+    public BigDecimal totalBalance(Account account) {
+        if (!account.isStriped()) {
+            return account.getBalance();
+        }
+
+        return account.getBalance().add(slotRepository.sumBalances(account.getId()));
+    }
+
+    /**
+     * Turn an account into a striped account by creating its empty slots
+     *
+     * @return false if the account was already striped
+     */
+    @Transactional
+    public boolean stripe(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        if (account.isStriped()) {
+            return false;
+        }
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotRepository.save(new AccountBalanceSlot(null, accountId, slot, BigDecimal.ZERO));
+        }
+        account.setStriped(true);
+        accountRepository.save(account);
+
+        // Credits stop bumping the version from now on, so the account must leave the read cache
+        accountReadCache.updateAfterCommit(List.of(account));
+
+        log.debug("Created {} balance slots for account {}", slotCount, accountId);
+        return true;
+    }
+
+    /**
+     * Load an account for a caller that will own its balance exclusively
+     * (the partitioned engine), folding and removing its slots first
+     */
+    @Transactional
+    public Account loadUnstriped(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        if (!account.isStriped()) {
+            return account;
+        }
+
+        List<AccountBalanceSlot> slots = consolidate(account);
+        slotRepository.deleteAll(slots);
+        account.setStriped(false);
+
+        log.info("Account {} un-striped for exclusive ownership", accountId);
+        return accountRepository.save(account);
+    }
+
+    /**
+     * Lock all slots and move their money to the account row
+     */
+    private List<AccountBalanceSlot> consolidate(Account account) {
+        List<AccountBalanceSlot> slots = slotRepository.findByAccountIdOrderBySlot(account.getId());
+
+        BigDecimal slotTotal = BigDecimal.ZERO;
+        for (AccountBalanceSlot slot : slots) {
+            slotTotal = slotTotal.add(slot.getBalance());
+            slot.setBalance(BigDecimal.ZERO);
+        }
+        account.consolidate(Money.of(slotTotal));
+
+        log.debug("Consolidated {} from {} slots into account {}", slotTotal, slots.size(), account.getId());
+        return slots;
+    }
+}
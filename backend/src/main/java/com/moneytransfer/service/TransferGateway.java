@@ -0,0 +1,45 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.engine.PartitionedTransferEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Routes a single transfer to the engine selected by {@code moneytransfer.engine.mode}
+ *
+ * - jpa (default): {@link TransferService}, one database transaction per transfer,
+ *   or {@link GroupCommitExecutor} when {@code moneytransfer.group-commit.enabled}
+ *   (concurrent transfers share a transaction)
+ * - partitioned: {@link PartitionedTransferEngine}, in-memory single-writer partitions
+ *
+ * Version conflicts from the jpa path are reported to {@link HotAccountDetector}
+ * before being returned to the client as a retryable 409.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransferGateway {
+
+    private final TransferService transferService;
+    private final ObjectProvider<PartitionedTransferEngine> partitionedEngine;
+    private final ObjectProvider<GroupCommitExecutor> groupCommitExecutor;
+    private final HotAccountDetector hotAccountDetector;
+
+    public TransferResponse transfer(TransferRequest request) {
+        PartitionedTransferEngine engine = partitionedEngine.getIfAvailable();
+        if (engine != null) {
+            return engine.transfer(request);
+        }
+
+        GroupCommitExecutor groupCommit = groupCommitExecutor.getIfAvailable();
+        try {
+            return groupCommit != null ? groupCommit.transfer(request) : transferService.transfer(request);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            hotAccountDetector.recordConflict(e, request);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limits on transfer submissions, per client and per debited account
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time"
+ * (GCRA, the generic cell rate algorithm): taking a token moves it forward by
+ * one emission interval (1 / rate), and the request is refused when that would
+ * put it more than {@code burst} intervals ahead of now. Refill is implicit in
+ * the clock moving on, so there is no refill thread and no lock: a token is one
+ * compare-and-set.
+ *
+ * A request costing several tokens (a batch) is admitted as long as the bucket
+ * is not empty, and moves the arrival time forward by all of them: a batch
+ * larger than the burst goes through on a full bucket, then leaves it empty
+ * until the batch has been paid off at the configured rate.
+ *
+ * Buckets that are full again carry no state and are dropped when a map reaches
+ * {@code max-keys}; if it is still full, about a tenth is dropped regardless
+ * (those keys start over with a full bucket).
+ *
+ * Disabled unless {@code moneytransfer.rate-limit.enabled}.
+ */
+@Component
+public class TransferRateLimiter {
+
+    private final boolean enabled;
+    private final Buckets clients;
+    private final Buckets accounts;
+
+    public TransferRateLimiter(MeterRegistry meterRegistry,
+                               @Value("${moneytransfer.rate-limit.enabled:false}") boolean enabled,
+                               @Value("${moneytransfer.rate-limit.per-client.rate:100}") double clientRate,
+                               @Value("${moneytransfer.rate-limit.per-client.burst:200}") int clientBurst,
+                               @Value("${moneytransfer.rate-limit.per-account.rate:10}") double accountRate,
+                               @Value("${moneytransfer.rate-limit.per-account.burst:20}") int accountBurst,
+                               @Value("${moneytransfer.rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.clients = new Buckets("client", clientRate, clientBurst, maxKeys, meterRegistry);
+        this.accounts = new Buckets("account", accountRate, accountBurst, maxKeys, meterRegistry);
+    }
+
+    /**
+     * Take a token from the client's bucket and, when given, the debited account's
+     *
+     * @throws RateLimitExceededException when either bucket is empty
+     */
+    public void acquire(String client, Long fromAccountId) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        clients.acquire(client, now, 1);
+        if (fromAccountId != null) {
+            accounts.acquire(fromAccountId, now, 1);
+        }
+    }
+
+    /**
+     * Take one token per transfer of a batch from the client's bucket, and from each debited account's
+     *
+     * @throws RateLimitExceededException when any of the buckets is empty
+     */
+    public void acquireBatch(String client, List<TransferRequest> transfers) {
+        if (!enabled || transfers.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> transfersPerAccount = new HashMap<>();
+        for (TransferRequest transfer : transfers) {
+            if (transfer.getFromAccountId() != null) {
+                transfersPerAccount.merge(transfer.getFromAccountId(), 1, Integer::sum);
+            }
+        }
+
+        long now = System.nanoTime();
+        clients.acquire(client, now, transfers.size());
+        transfersPerAccount.forEach((accountId, count) -> accounts.acquire(accountId, now, count));
+    }
+
+    private static final class Buckets {
+
+        private final String scope;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final int burst;
+        private final int maxKeys;
+        private final Map<Object, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+        private final Counter rejected;
+
+        private Buckets(String scope, double rate, int burst, int maxKeys, MeterRegistry meterRegistry) {
+            this.scope = scope;
+            this.emissionIntervalNanos = (long) (1_000_000_000L / rate);
+            this.burstToleranceNanos = emissionIntervalNanos * (burst - 1L);
+            this.burst = burst;
+            this.maxKeys = maxKeys;
+
+            this.rejected = Counter.builder("moneytransfer.ratelimit.rejected")
+                    .description("Transfer submissions refused with 429 because a rate limit bucket was empty")
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+
+        void acquire(Object key, long now, int tokens) {
+            AtomicLong arrivalTime = arrivalTimes.get(key);
+            if (arrivalTime == null) {
+                if (arrivalTimes.size() >= maxKeys) {
+                    evict(now);
+                }
+                arrivalTime = arrivalTimes.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+
+            while (true) {
+                long current = arrivalTime.get();
+                long ahead = Math.max(current - now, 0);
+                if (ahead > burstToleranceNanos) {
+                    rejected.increment();
+                    throw new RateLimitExceededException(scope, burst, ahead - burstToleranceNanos);
+                }
+                long next = now + ahead + tokens * emissionIntervalNanos;
+                if (arrivalTime.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Drop buckets that have refilled; if still full, drop about a tenth
+         */
+        private void evict(long now) {
+            arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+
+            int toRemove = arrivalTimes.size() - maxKeys + Math.max(1, maxKeys / 10);
+            Iterator<Object> keys = arrivalTimes.keySet().iterator();
+            while (toRemove-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+}
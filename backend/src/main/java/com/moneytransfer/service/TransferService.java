@@ -1,19 +1,24 @@
 package com.moneytransfer.service;
 
 import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.LedgerPosting;
 import com.moneytransfer.domain.entity.TransactionLog;
 import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.domain.value.Money;
 import com.moneytransfer.dto.TransferRequest;
 import com.moneytransfer.dto.TransferResponse;
 import com.moneytransfer.exception.AccountNotFoundException;
 import com.moneytransfer.exception.DuplicateTransferException;
 import com.moneytransfer.repository.AccountRepository;
+import com.moneytransfer.repository.LedgerPostingRepository;
 import com.moneytransfer.repository.TransactionLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service  // Marks this as a Spring service component
 @RequiredArgsConstructor  // Lombok: Generates constructor for final fields
 @Slf4j  // Lombok: Provides logging (log.info, log.error, etc.)
@@ -22,6 +27,12 @@ public class TransferService {
     // Spring automatically injects these dependencies
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
+    private final LedgerPostingRepository ledgerPostingRepository;
+    private final StripedBalanceService stripedBalanceService;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final AccountReadCache accountReadCache;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final FailedTransferAuditor failedTransferAuditor;
 
     @Transactional
     public TransferResponse transfer(TransferRequest request) {
@@ -53,17 +64,8 @@ public class TransferService {
         } catch (Exception e) {
             log.error("Transfer failed: {}", e.getMessage());
 
-            // Log the failed transaction
-            TransactionLog failedTransaction = TransactionLog.builder()
-                    .fromAccountId(request.getFromAccountId())
-                    .toAccountId(request.getToAccountId())
-                    .amount(request.getAmount())
-                    .status(TransactionStatus.FAILED)
-                    .failureReason(e.getMessage())
-                    .idempotencyKey(request.getIdempotencyKey())
-                    .build();
-
-            transactionLogRepository.save(failedTransaction);
+            // Record the failure off the request path; this transaction is about to roll back
+            failedTransferAuditor.record(request, e);
 
             // Re-throw the exception
             throw e;
@@ -72,18 +74,19 @@ public class TransferService {
 
     /**
      * Check if this transfer was already processed
+     * The in-memory filter skips the database read for keys that are definitely new
      */
     private void checkIdempotency(String idempotencyKey) {
-        transactionLogRepository.findByIdempotencyKey(idempotencyKey)
-                .ifPresent(transaction -> {
-                    throw new DuplicateTransferException(idempotencyKey);
-                });
+        if (idempotencyKeyFilter.isDuplicate(idempotencyKey)) {
+            throw new DuplicateTransferException(idempotencyKey);
+        }
     }
 
     /**
      * Validate transfer request
+     * Shared with the batch path and the partitioned engine so all apply the same business rules
      */
-    private void validateTransfer(TransferRequest request) {
+    public static void validateTransfer(TransferRequest request) {
         // Business Rule: Accounts must be different
         if (request.getFromAccountId().equals(request.getToAccountId())) {
             throw new IllegalArgumentException("Cannot transfer to the same account");
@@ -108,8 +111,10 @@ public class TransferService {
                 .orElseThrow(() -> new AccountNotFoundException(request.getToAccountId()));
 
         // Business Rule: Debit before credit (important for accounting)
-        fromAccount.debit(request.getAmount());
-        toAccount.credit(request.getAmount());
+        // Striped (hot) accounts take credits into a balance slot instead of their own row
+        Money amount = Money.of(request.getAmount());
+        stripedBalanceService.debit(fromAccount, amount);
+        stripedBalanceService.credit(toAccount, amount);
 
         // Save updated accounts
         accountRepository.save(fromAccount);
@@ -124,6 +129,20 @@ public class TransferService {
                 .idempotencyKey(request.getIdempotencyKey())
                 .build();
 
-        return transactionLogRepository.save(transaction);
+        TransactionLog saved = transactionLogRepository.save(transaction);
+
+        // Debit and credit legs for the accounts' histories. For a striped account the
+        // total can miss slot credits committing concurrently, so balance_after is
+        // informational; balance snapshots and asOf queries sum posting amounts instead.
+        ledgerPostingRepository.saveAll(LedgerPosting.legsOf(saved,
+                stripedBalanceService.totalBalance(fromAccount),
+                stripedBalanceService.totalBalance(toAccount)));
+        idempotencyKeyFilter.recordAfterCommit(request.getIdempotencyKey());
+
+        // Publish the committed balances (and new versions) to the read cache
+        accountReadCache.updateAfterCommit(List.of(fromAccount, toAccount));
+        readYourWritesTracker.recordAfterCommit(List.of(fromAccount.getId(), toAccount.getId()));
+
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.moneytransfer;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base class of integration tests against the default configuration (in-memory H2)
+ *
+ * All subclasses share one application context. Each test creates its own
+ * accounts, so tests don't depend on each other's balances.
+ */
+@SpringBootTest
+public abstract class AbstractIntegrationTest {
+
+    @Autowired
+    protected AccountRepository accountRepository;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create an active account with the given balance
+     */
+    protected Long createAccount(String balance) {
+        Account account = new Account();
+        account.setHolderName("John Doe");
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setLastUpdated(LocalDateTime.now());
+        return accountRepository.save(account).getId();
+    }
+
+    /**
+     * Balance row of an account, read past every cache
+     */
+    protected BigDecimal balance(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId);
+    }
+
+    /**
+     * Number of ledger postings of an account
+     */
+    protected int postingCount(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_postings WHERE account_id = ?",
+                Integer.class, accountId);
+    }
+
+    /**
+     * Insert a successful transfer with both ledger postings directly, at any point in time
+     *
+     * @return The transaction ID
+     */
+    protected String insertTransfer(Long from, Long to, String amount, String fromBalance, String toBalance,
+                                    LocalDateTime createdOn) {
+        String id = UUID.randomUUID().toString();
+        String key = "test-" + id;
+        Timestamp timestamp = Timestamp.valueOf(createdOn);
+        jdbcTemplate.update("INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, status, " +
+                "idempotency_key, created_on) VALUES (?, ?, ?, ?, 'SUCCESS', ?, ?)",
+                id, from, to, new BigDecimal(amount), key, timestamp);
+        String posting = "INSERT INTO ledger_postings (account_id, created_on, transaction_id, counterparty_account_id, " +
+                "amount, balance_after, idempotency_key) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.update(posting, from, timestamp, id, to, new BigDecimal(amount).negate(), new BigDecimal(fromBalance), key);
+        jdbcTemplate.update(posting, to, timestamp, id, from, new BigDecimal(amount), new BigDecimal(toBalance), key);
+        return id;
+    }
+
+    /**
+     * A transfer request with a fresh idempotency key
+     */
+    protected static TransferRequest request(Long from, Long to, String amount) {
+        return new TransferRequest(from, to, new BigDecimal(amount), "test-" + UUID.randomUUID());
+    }
+}
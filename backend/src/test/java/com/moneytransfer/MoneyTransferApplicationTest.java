@@ -0,0 +1,67 @@
+package com.moneytransfer;
+
+import com.moneytransfer.config.ReplicaRoutingDataSource;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.engine.PartitionedTransferEngine;
+import com.moneytransfer.service.AccountService;
+import com.moneytransfer.service.GroupCommitExecutor;
+import com.moneytransfer.service.TransferGateway;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Context test for the application with the default configuration (in-memory H2)
+ * Tests that all beans wire up and a transfer goes through end to end
+ */
+@SpringBootTest
+class MoneyTransferApplicationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransferGateway transferGateway;
+
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * Test that the context starts with the optional features off and a plain Hikari pool
+     */
+    @Test
+    void testContextLoads() throws Exception {
+        assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+        assertEquals(0, context.getBeanNamesForType(ReplicaRoutingDataSource.class).length);
+        assertEquals(0, context.getBeanNamesForType(PartitionedTransferEngine.class).length);
+        assertEquals(0, context.getBeanNamesForType(GroupCommitExecutor.class).length);
+    }
+
+    /**
+     * Test a transfer between seeded accounts - both balances should reflect it
+     */
+    @Test
+    void testTransfer_EndToEnd() {
+        BigDecimal from = accountService.getBalance(1L);
+        BigDecimal to = accountService.getBalance(2L);
+
+        TransferResponse response = transferGateway.transfer(
+                new TransferRequest(1L, 2L, new BigDecimal("1.25"), "context-" + UUID.randomUUID()));
+
+        assertEquals("SUCCESS", response.getStatus());
+        assertEquals(0, from.subtract(new BigDecimal("1.25")).compareTo(accountService.getBalance(1L)));
+        assertEquals(0, to.add(new BigDecimal("1.25")).compareTo(accountService.getBalance(2L)));
+    }
+}
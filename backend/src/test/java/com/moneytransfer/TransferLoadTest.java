@@ -0,0 +1,193 @@
+package com.moneytransfer;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.repository.AccountRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test comparing platform-thread and virtual-thread request handling
+ *
+ * Each test starts the application on a random port with its own in-memory
+ * database, seeds accounts and fires random transfers from a fixed pool of
+ * client threads, then prints transfers/sec and latency percentiles.
+ *
+ * Excluded from the normal build; run with:
+ *   mvn test -Pload-test                 (platform threads only on Java 17)
+ *   mvn test -Pload-test,java21          (both modes, needs a Java 21 JDK)
+ *
+ * Tunable with -Dloadtest.clients, -Dloadtest.seconds and -Dloadtest.accounts.
+ */
+@Tag("load")
+class TransferLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final int ACCOUNTS = Integer.getInteger("loadtest.accounts", 1000);
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+
+    private static final List<String> results = new ArrayList<>();
+
+    private long[] accountIds;
+
+    /**
+     * Test transfers on Tomcat's platform thread pool
+     */
+    @Test
+    void platformThreads() throws Exception {
+        runLoad("platform", "default");
+    }
+
+    /**
+     * Test transfers on virtual threads with the connection-pool-aware limiter
+     */
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreads() throws Exception {
+        runLoad("virtual", "virtual-threads");
+    }
+
+    @AfterAll
+    static void printResults() {
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %10s%n", "mode", "tx/sec", "p50 ms", "p99 ms", "max ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private void runLoad(String mode, String profile) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MoneyTransferApplication.class)
+                .profiles(profile)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.moneytransfer=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+
+            seedAccounts(context.getBean(AccountRepository.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            // Warm up, then measure
+            fire(client, baseUrl, Duration.ofSeconds(Math.max(2, SECONDS / 4)), new ConcurrentLinkedQueue<>(),
+                    new LongAdder(), new ConcurrentHashMap<>());
+
+            Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+            LongAdder succeeded = new LongAdder();
+            Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+            fire(client, baseUrl, Duration.ofSeconds(SECONDS), latencies, succeeded, errors);
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            assertTrue(succeeded.sum() > 0, "No transfer succeeded");
+            // Only conflicts (409) and limiter rejections (503) are expected under load
+            errors.keySet().forEach(status -> assertTrue(status == 409 || status == 503,
+                    "Unexpected HTTP status " + status));
+
+            results.add(String.format("%-10s %10.0f %10.2f %10.2f %10.2f %10s", mode,
+                    succeeded.sum() / (double) SECONDS,
+                    percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 100),
+                    errors.isEmpty() ? "-" : errors.toString()));
+        }
+    }
+
+    private void fire(HttpClient client, String baseUrl, Duration duration, Queue<Long> latencies,
+                      LongAdder succeeded, Map<Integer, LongAdder> errors) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    int status = transfer(client, baseUrl);
+                    latencies.add(System.nanoTime() - start);
+
+                    if (status == 200) {
+                        succeeded.increment();
+                    } else {
+                        errors.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    }
+                }
+            });
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS), "Clients did not finish");
+    }
+
+    private int transfer(HttpClient client, String baseUrl) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accountIds.length);
+        int to = (from + 1 + random.nextInt(accountIds.length - 1)) % accountIds.length;
+
+        String body = String.format("{\"fromAccountId\":%d,\"toAccountId\":%d,\"amount\":1.00,\"idempotencyKey\":\"%s\"}",
+                accountIds[from], accountIds[to], UUID.randomUUID());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/transfers"))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private void seedAccounts(AccountRepository accountRepository) {
+        accountRepository.deleteAll();
+
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setHolderName("Load Test " + i);
+            account.setBalance(new BigDecimal("1000000.00"));
+            account.setStatus(AccountStatus.ACTIVE);
+            account.setVersion(0);
+            account.setLastUpdated(LocalDateTime.now());
+            accounts.add(account);
+        }
+        accountIds = accountRepository.saveAll(accounts).stream().mapToLong(Account::getId).toArray();
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
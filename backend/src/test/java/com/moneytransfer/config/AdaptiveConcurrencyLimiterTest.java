@@ -0,0 +1,117 @@
+package com.moneytransfer.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter
+ * Tests admission, additive increase, multiplicative decrease and the min/max clamps
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Test that requests over the limit are refused at once, and admitted again after a release
+     */
+    @Test
+    void testTryAcquire_RejectsOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10, Duration.ofHours(1), 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, meterRegistry.get("moneytransfer.concurrency.adaptive.rejected").counter().count());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    /**
+     * Test additive increase - a fast request raises the limit by one, but only while at least half of it is used
+     */
+    @Test
+    void testRelease_AdditiveIncrease() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100, Duration.ofHours(1), 0.5);
+
+        acquire(limiter, 5);
+        limiter.release(FAST, false);
+        assertEquals(11, limiter.getLimit());
+
+        // Four left in flight, below half of 11: the limit isn't being used, so it stays
+        limiter.release(FAST, false);
+        assertEquals(11, limiter.getLimit());
+    }
+
+    /**
+     * Test multiplicative decrease - a slow request and a failed one each shrink the limit by backoff-ratio
+     */
+    @Test
+    void testRelease_MultiplicativeDecrease() throws InterruptedException {
+        Duration threshold = Duration.ofMillis(20);
+        AdaptiveConcurrencyLimiter limiter = limiter(100, 1, 100, threshold, 0.5);
+
+        acquire(limiter, 1);
+        limiter.release(threshold.toNanos() + 1, false);
+        assertEquals(50, limiter.getLimit());
+
+        Thread.sleep(threshold.toMillis() * 2);
+        acquire(limiter, 1);
+        limiter.release(FAST, true);
+        assertEquals(25, limiter.getLimit());
+    }
+
+    /**
+     * Test that a burst of slow requests within one threshold period decreases the limit once
+     */
+    @Test
+    void testRelease_OneDecreasePerThresholdPeriod() {
+        Duration threshold = Duration.ofHours(1);
+        AdaptiveConcurrencyLimiter limiter = limiter(100, 1, 100, threshold, 0.5);
+
+        acquire(limiter, 3);
+        limiter.release(threshold.toNanos() + 1, false);
+        limiter.release(threshold.toNanos() + 1, false);
+        limiter.release(FAST, true);
+
+        assertEquals(50, limiter.getLimit());
+    }
+
+    /**
+     * Test the clamps - the initial limit, increases and decreases all stay within min-limit and max-limit
+     */
+    @Test
+    void testLimits_Clamped() throws InterruptedException {
+        Duration threshold = Duration.ofMillis(5);
+        AdaptiveConcurrencyLimiter limiter = limiter(500, 4, 10, threshold, 0.1);
+        assertEquals(10, limiter.getLimit());
+
+        acquire(limiter, 10);
+        limiter.release(FAST, false);
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 3; i++) {
+            limiter.release(FAST, true);
+            Thread.sleep(threshold.toMillis() * 2);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit, Duration threshold,
+                                               double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter("transfers", initialLimit, minLimit, maxLimit, threshold,
+                backoffRatio, meterRegistry);
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.moneytransfer.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuthTokenService
+ * Tests issuing and verifying bearer tokens, and rejecting forged, expired and malformed ones
+ */
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret";
+
+    private final AuthTokenService tokenService = new AuthTokenService(SECRET, Duration.ofMinutes(15));
+
+    /**
+     * Test that an issued token verifies back to the same user and authorities
+     */
+    @Test
+    void testVerify_IssuedToken() {
+        String token = tokenService.issue(admin()).getAccessToken();
+
+        Authentication authentication = tokenService.verify(token);
+
+        assertNotNull(authentication);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("admin", authentication.getName());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"), authentication.getAuthorities());
+    }
+
+    /**
+     * Test that another instance with the same secret accepts the token
+     */
+    @Test
+    void testVerify_SameSecret() {
+        String token = tokenService.issue(admin()).getAccessToken();
+
+        assertNotNull(new AuthTokenService(SECRET, Duration.ofMinutes(15)).verify(token));
+    }
+
+    /**
+     * Test a token whose payload was changed after signing - should be rejected
+     */
+    @Test
+    void testVerify_TamperedPayload() {
+        String token = tokenService.issue(admin()).getAccessToken();
+        String signature = token.substring(token.indexOf('.') + 1);
+        long farFuture = System.currentTimeMillis() / 1000 + 365L * 24 * 3600;
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("root\n" + farFuture + "\nROLE_ADMIN").getBytes(StandardCharsets.UTF_8));
+
+        assertNull(tokenService.verify(payload + "." + signature));
+    }
+
+    /**
+     * Test a token signed with a different key - should be rejected
+     */
+    @Test
+    void testVerify_ForgedSignature() {
+        String forged = new AuthTokenService("another-secret", Duration.ofMinutes(15)).issue(admin()).getAccessToken();
+
+        assertNull(tokenService.verify(forged));
+    }
+
+    /**
+     * Test that the random key used without a secret doesn't carry over to another instance
+     */
+    @Test
+    void testVerify_RandomKeys() {
+        String token = new AuthTokenService("", Duration.ofMinutes(15)).issue(admin()).getAccessToken();
+
+        assertNull(new AuthTokenService("", Duration.ofMinutes(15)).verify(token));
+    }
+
+    /**
+     * Test an expired token - should be rejected even with a valid signature
+     */
+    @Test
+    void testVerify_Expired() {
+        AuthTokenService expiring = new AuthTokenService(SECRET, Duration.ofSeconds(-1));
+        String token = expiring.issue(admin()).getAccessToken();
+
+        assertNull(expiring.verify(token));
+        assertNull(tokenService.verify(token));
+    }
+
+    /**
+     * Test malformed tokens - should be rejected without an exception
+     */
+    @Test
+    void testVerify_Malformed() {
+        assertNull(tokenService.verify(""));
+        assertNull(tokenService.verify("no-dot"));
+        assertNull(tokenService.verify("not base64!.abc"));
+        assertNull(tokenService.verify("."));
+    }
+
+    private static Authentication admin() {
+        return UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+    }
+}
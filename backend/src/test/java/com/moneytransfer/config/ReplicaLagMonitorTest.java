@@ -0,0 +1,111 @@
+package com.moneytransfer.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReplicaLagMonitor
+ * Tests the heartbeat on the primary and the lag measured on each replica, on databases
+ * created from database/schema.sql
+ */
+class ReplicaLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final String prefix = "lag-" + UUID.randomUUID();
+    private ReplicaLagMonitor monitor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    /**
+     * Test the heartbeat - the primary's row is written and kept current
+     */
+    @Test
+    void testRun_WritesHeartbeat() throws InterruptedException {
+        DataSource primary = database("primary");
+        start(primary, List.of(database("replica-0")));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primary);
+        Timestamp first = awaitBeat(jdbcTemplate);
+        Thread.sleep(100);
+        Timestamp later = awaitBeat(jdbcTemplate);
+
+        assertTrue(later.after(first));
+    }
+
+    /**
+     * Test the measured lag - now minus the beat each replica has, infinite when it has none
+     */
+    @Test
+    void testRun_MeasuresLag() throws InterruptedException {
+        DataSource behind = database("replica-0");
+        JdbcTemplate replica = new JdbcTemplate(behind);
+        replica.update("INSERT INTO replication_heartbeat (id, beat) VALUES (1, ?)",
+                new Timestamp(System.currentTimeMillis() - 10_000));
+
+        DataSource empty = new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "-replica-1;DB_CLOSE_DELAY=-1", "sa", "");
+        start(database("primary"), List.of(behind, empty));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Double.isInfinite(lag(0))) {
+            assertTrue(System.currentTimeMillis() < deadline, "replica lag was not measured");
+            Thread.sleep(10);
+        }
+
+        assertTrue(lag(0) >= 10 && lag(0) < 20, "lag: " + lag(0));
+        // No heartbeat table on the second replica
+        assertTrue(Double.isInfinite(lag(1)));
+    }
+
+    private void start(DataSource primary, List<DataSource> replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(1),
+                meterRegistry);
+        monitor = new ReplicaLagMonitor(routing, primary, Duration.ofMillis(20));
+        monitor.start();
+    }
+
+    private static Timestamp awaitBeat(JdbcTemplate primary) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            List<Timestamp> beats = primary.queryForList("SELECT beat FROM replication_heartbeat WHERE id = 1",
+                    Timestamp.class);
+            if (!beats.isEmpty()) {
+                return beats.get(0);
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "no heartbeat written");
+            Thread.sleep(10);
+        }
+    }
+
+    private double lag(int replica) {
+        return meterRegistry.get("moneytransfer.datasource.replica.lag").tag("replica", String.valueOf(replica))
+                .gauge().value();
+    }
+
+    /**
+     * A database with the application's schema (database/schema.sql)
+     */
+    private DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "-" + name + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+        new ResourceDatabasePopulator(new FileSystemResource("../database/schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+}
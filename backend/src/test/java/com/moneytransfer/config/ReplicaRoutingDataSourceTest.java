@@ -0,0 +1,167 @@
+package com.moneytransfer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource
+ * Tests routing of read-only transactions to replicas, the lag limit and read-your-writes
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final String prefix = "routing-" + UUID.randomUUID();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(database("primary"),
+                List.of(database("replica-0"), database("replica-1")), Duration.ofSeconds(1), meterRegistry);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /**
+     * Test that connections outside a read-only transaction use the primary
+     */
+    @Test
+    void testRoute_WritesUsePrimary() throws SQLException {
+        routing.updateLag(0, 0);
+        routing.updateLag(1, 0);
+
+        assertEquals("primary", route());
+
+        beginTransaction(false);
+        assertEquals("primary", route());
+    }
+
+    /**
+     * Test that read-only transactions go to the replicas in turn
+     */
+    @Test
+    void testRoute_ReadsRoundRobin() throws SQLException {
+        routing.updateLag(0, 0);
+        routing.updateLag(1, 0);
+        beginTransaction(true);
+
+        String first = route();
+        String second = route();
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("replica-") && second.startsWith("replica-"));
+        assertEquals(first, route());
+        assertEquals(3, reads("replica"));
+    }
+
+    /**
+     * Test that a replica behind by more than max-lag is skipped
+     */
+    @Test
+    void testRoute_SkipsLaggingReplica() throws SQLException {
+        routing.updateLag(0, Duration.ofSeconds(5).toNanos());
+        routing.updateLag(1, Duration.ofMillis(200).toNanos());
+        beginTransaction(true);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", route());
+        }
+    }
+
+    /**
+     * Test reads with no replica within max-lag (or never measured) - should use the primary
+     */
+    @Test
+    void testRoute_AllLagging() throws SQLException {
+        beginTransaction(true);
+
+        assertEquals("primary", route());
+
+        routing.updateLag(0, Duration.ofSeconds(5).toNanos());
+        routing.updateLag(1, Duration.ofSeconds(5).toNanos());
+        assertEquals("primary", route());
+        assertEquals(2, reads("primary-replicas-lagging"));
+    }
+
+    /**
+     * Test read-your-writes - a read-only transaction can ask for the primary until it completes
+     */
+    @Test
+    void testRoute_ReadYourWrites() throws SQLException {
+        routing.updateLag(0, 0);
+        routing.updateLag(1, 0);
+        beginTransaction(true);
+
+        ReplicaRoutingDataSource.usePrimaryForCurrentTransaction();
+        assertEquals("primary", route());
+        assertEquals(1, reads("primary-read-your-writes"));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertTrue(route().startsWith("replica-"));
+    }
+
+    /**
+     * Test that the primary Hikari pool can be found through the lazy proxy (used for the pool size)
+     */
+    @Test
+    void testUnwrap_ThroughLazyProxy() throws Exception {
+        try (HikariDataSource primary = new HikariDataSource()) {
+            primary.setJdbcUrl("jdbc:h2:mem:" + prefix + "-hikari");
+            ReplicaRoutingDataSource hikariRouting = new ReplicaRoutingDataSource(primary,
+                    List.of(database("replica-0")), Duration.ofSeconds(1), meterRegistry);
+            hikariRouting.afterPropertiesSet();
+            DataSource dataSource = new LazyConnectionDataSourceProxy(hikariRouting);
+
+            assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+            assertSame(primary, dataSource.unwrap(HikariDataSource.class));
+        }
+    }
+
+    private DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    /**
+     * Name of the database a new connection is routed to
+     */
+    private String route() throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            String name = url.substring(url.indexOf(prefix) + prefix.length() + 1);
+            return name.contains(";") ? name.substring(0, name.indexOf(';')) : name;
+        }
+    }
+
+    private double reads(String route) {
+        return meterRegistry.counter("moneytransfer.datasource.reads", "route", route).count();
+    }
+}
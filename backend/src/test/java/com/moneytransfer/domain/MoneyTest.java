@@ -0,0 +1,84 @@
+package com.moneytransfer.domain;
+
+import com.moneytransfer.domain.value.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Money
+ * Tests conversion from and to BigDecimal and overflow-checked arithmetic
+ */
+class MoneyTest {
+
+    /**
+     * Test conversion of amounts with up to two decimal places
+     */
+    @Test
+    void testOf_ConvertsToMinorUnits() {
+        assertEquals(150000, Money.of(new BigDecimal("1500.00")).minorUnits());
+        assertEquals(1250, Money.of(new BigDecimal("12.5")).minorUnits());
+        assertEquals(700, Money.of(new BigDecimal("7")).minorUnits());
+    }
+
+    /**
+     * Test amounts with more than two decimal places - should throw exception
+     */
+    @Test
+    void testOf_TooManyDecimalPlaces() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.001")));
+    }
+
+    /**
+     * Test round trip back to a BigDecimal with scale 2
+     */
+    @Test
+    void testToBigDecimal() {
+        BigDecimal amount = Money.of(new BigDecimal("12.5")).toBigDecimal();
+
+        assertEquals(new BigDecimal("12.50"), amount);
+        assertEquals("12.50", Money.ofMinorUnits(1250).toString());
+        assertEquals("-0.05", Money.ofMinorUnits(-5).toString());
+    }
+
+    /**
+     * Test plus() and minus()
+     */
+    @Test
+    void testArithmetic() {
+        Money balance = Money.of(new BigDecimal("1000.00"));
+        Money amount = Money.of(new BigDecimal("0.01"));
+
+        assertEquals(Money.of(new BigDecimal("1000.01")), balance.plus(amount));
+        assertEquals(Money.of(new BigDecimal("999.99")), balance.minus(amount));
+        assertEquals(Money.ofMinorUnits(-1), amount.negate());
+    }
+
+    /**
+     * Test overflow - should throw instead of wrapping around
+     */
+    @Test
+    void testArithmetic_Overflow() {
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinorUnits(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MIN_VALUE).minus(Money.ofMinorUnits(1)));
+    }
+
+    /**
+     * Test comparisons
+     */
+    @Test
+    void testCompare() {
+        Money small = Money.of(new BigDecimal("9.99"));
+        Money large = Money.of(new BigDecimal("10.00"));
+
+        assertTrue(small.isLessThan(large));
+        assertFalse(large.isLessThan(small));
+        assertTrue(small.compareTo(large) < 0);
+        assertTrue(small.isPositive());
+        assertFalse(Money.ZERO.isPositive());
+    }
+}
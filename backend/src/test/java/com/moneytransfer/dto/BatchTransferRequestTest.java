@@ -0,0 +1,58 @@
+package com.moneytransfer.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchTransferRequest
+ * Tests the bean validation of the batch as a whole (items are validated by the batch service)
+ */
+class BatchTransferRequestTest {
+
+    private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private static final Validator validator = validatorFactory.getValidator();
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Test the size bounds - at least one item, at most MAX_ITEMS
+     */
+    @Test
+    void testValidate_Size() {
+        TransferRequest item = new TransferRequest(1L, 2L, new BigDecimal("1.00"), "key");
+
+        assertTrue(validator.validate(new BatchTransferRequest(
+                Collections.nCopies(BatchTransferRequest.MAX_ITEMS, item))).isEmpty());
+
+        Set<ConstraintViolation<BatchTransferRequest>> tooMany = validator.validate(new BatchTransferRequest(
+                Collections.nCopies(BatchTransferRequest.MAX_ITEMS + 1, item)));
+        assertEquals(1, tooMany.size());
+        assertEquals("At most 10000 transfers are allowed per batch", tooMany.iterator().next().getMessage());
+
+        assertEquals(1, validator.validate(new BatchTransferRequest(List.of())).size());
+    }
+
+    /**
+     * Test that a malformed item doesn't invalidate the batch - it fails alone in the batch service
+     */
+    @Test
+    void testValidate_ItemsNotValidated() {
+        TransferRequest malformed = new TransferRequest(null, null, null, null);
+
+        assertTrue(validator.validate(new BatchTransferRequest(List.of(malformed))).isEmpty());
+    }
+}
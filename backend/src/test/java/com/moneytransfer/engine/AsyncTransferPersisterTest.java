@@ -0,0 +1,108 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.exception.TransferQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for AsyncTransferPersister
+ * Tests retries with backoff, reserved idempotency keys and the queue bound
+ * (the database is mocked; a failing transaction stands in for an outage)
+ */
+class AsyncTransferPersisterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<Long> projected = new CopyOnWriteArrayList<>();
+    private AsyncTransferPersister persister;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (persister != null) {
+            persister.stop();
+        }
+    }
+
+    /**
+     * Test a transfer that can't be written - kept with its key reserved, retried after a
+     * growing backoff, and released once it commits
+     */
+    @Test
+    void testWrite_RetriesWithBackoff() throws InterruptedException {
+        // Four failed transactions: the batch and the single retry, twice over
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            attempts.add(System.currentTimeMillis());
+            if (attempts.size() <= 4) {
+                throw new IllegalStateException("database down");
+            }
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        persister = new AsyncTransferPersister(jdbcTemplate, transactionTemplate, 10, 10, 10, projected::add);
+        PersistedTransfer transfer = transfer("key-1", 7);
+        assertTrue(persister.reserve(transfer.idempotencyKey()));
+        persister.enqueue(transfer);
+        persister.start();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (attempts.size() < 5 || !persister.reserve(transfer.idempotencyKey())) {
+            // Reserved until the row commits: a retry of the client is still a duplicate
+            assertTrue(System.currentTimeMillis() < deadline, "transfer was not persisted");
+            Thread.sleep(10);
+        }
+
+        // 100 ms before the first retry, then twice as long
+        assertTrue(attempts.get(2) - attempts.get(1) >= 100);
+        assertTrue(attempts.get(4) - attempts.get(3) >= 200);
+        // Nothing past the failed transfer was reported written until it committed
+        assertEquals(6L, projected.get(0));
+        assertEquals(7L, projected.get(projected.size() - 1));
+    }
+
+    /**
+     * Test a full queue - new transfers are refused instead of piling up
+     */
+    @Test
+    void testCheckCapacity_QueueFull() {
+        persister = new AsyncTransferPersister(jdbcTemplate, transactionTemplate, 2, 10, 10, projected::add);
+        persister.checkCapacity();
+        persister.enqueue(transfer("key-1", 0));
+        persister.enqueue(transfer("key-2", 0));
+
+        assertThrows(TransferQueueFullException.class, persister::checkCapacity);
+    }
+
+    /**
+     * Test reserving a key twice - only the first reservation wins until it is released
+     */
+    @Test
+    void testReserve_OncePerKey() {
+        persister = new AsyncTransferPersister(jdbcTemplate, transactionTemplate, 2, 10, 10, projected::add);
+
+        assertTrue(persister.reserve("key-1"));
+        assertFalse(persister.reserve("key-1"));
+        persister.release("key-1");
+        assertTrue(persister.reserve("key-1"));
+    }
+
+    private static PersistedTransfer transfer(String idempotencyKey, long sequence) {
+        return new PersistedTransfer(UUID.randomUUID().toString(), 1L, 2L, Money.ofMinorUnits(1_000),
+                Money.ofMinorUnits(9_000), Money.ofMinorUnits(1_000), idempotencyKey, LocalDateTime.now(), sequence);
+    }
+}
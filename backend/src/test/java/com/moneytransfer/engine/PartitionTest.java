@@ -0,0 +1,82 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.entity.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Partition
+ * Tests admission of external submissions, hand-offs and account ownership
+ */
+class PartitionTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Partition partition = new Partition(0, 1, accountId -> {
+        loads.incrementAndGet();
+        Account account = new Account();
+        account.setId(accountId);
+        return account;
+    });
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        partition.stop();
+    }
+
+    /**
+     * Test a full partition - submissions wait for room, hand-offs from other partitions never do
+     */
+    @Test
+    void testSubmit_BlocksWhenFullButHandOffDoesNot() throws InterruptedException {
+        List<String> ran = new CopyOnWriteArrayList<>();
+        partition.submit(() -> ran.add("first"));
+
+        // Not started yet: the only permit is taken, so the next submission waits
+        Thread submitter = new Thread(() -> partition.submit(() -> ran.add("second")));
+        submitter.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (submitter.getState() != Thread.State.WAITING) {
+            assertTrue(System.currentTimeMillis() < deadline, "submission did not block");
+            Thread.sleep(10);
+        }
+
+        partition.handOff(() -> ran.add("hand-off"));
+
+        partition.start();
+        submitter.join(5_000);
+        assertFalse(submitter.isAlive());
+        CountDownLatch drained = new CountDownLatch(1);
+        partition.handOff(drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "hand-off", "second"), ran);
+    }
+
+    /**
+     * Test that an account is loaded once and then owned by the partition
+     */
+    @Test
+    void testAccount_LoadedOnce() throws InterruptedException {
+        partition.start();
+        CountDownLatch done = new CountDownLatch(1);
+        Account[] seen = new Account[3];
+        partition.handOff(() -> {
+            seen[0] = partition.loadedAccount(1L);
+            seen[1] = partition.account(1L);
+            seen[2] = partition.account(1L);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(seen[0]);
+        assertSame(seen[1], seen[2]);
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,170 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.AccountNotActiveException;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import com.moneytransfer.exception.TransferQueueFullException;
+import com.moneytransfer.repository.TransactionLogRepository;
+import com.moneytransfer.service.FailedTransferAuditor;
+import com.moneytransfer.service.StripedBalanceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PartitionedTransferEngine
+ * Two partitions over mocked accounts and database: odd account IDs live on
+ * partition 1, even ones on partition 0
+ */
+class PartitionedTransferEngineTest {
+
+    private final StripedBalanceService stripedBalanceService = mock(StripedBalanceService.class);
+    private final TransactionLogRepository transactionLogRepository = mock(TransactionLogRepository.class);
+    private final FailedTransferAuditor failedTransferAuditor = mock(FailedTransferAuditor.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+
+    @TempDir
+    Path directory;
+
+    private PartitionedTransferEngine engine;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    /**
+     * Test transfers within one partition and across two - both legs land
+     */
+    @Test
+    void testTransfer_SameAndCrossPartition() throws Exception {
+        start(100);
+        account(1L, "100.00", AccountStatus.ACTIVE);
+        account(2L, "0.00", AccountStatus.ACTIVE);
+        account(3L, "0.00", AccountStatus.ACTIVE);
+
+        engine.transfer(request(1L, 3L, "10.00", "key-1"));
+        engine.transfer(request(1L, 2L, "30.00", "key-2"));
+
+        assertEquals(Optional.of(new BigDecimal("60.00")), engine.balanceOf(1L));
+        assertEquals(Optional.of(new BigDecimal("30.00")), engine.balanceOf(2L));
+        assertEquals(Optional.of(new BigDecimal("10.00")), engine.balanceOf(3L));
+    }
+
+    /**
+     * Test a credit rejected on the destination partition - the debit is refunded on the source
+     * partition, the failure audited and the idempotency key released
+     */
+    @Test
+    void testTransfer_RefundsRejectedCredit() throws Exception {
+        start(100);
+        account(1L, "100.00", AccountStatus.ACTIVE);
+        account(2L, "0.00", AccountStatus.LOCKED);
+        TransferRequest request = request(1L, 2L, "30.00", "key-1");
+
+        assertThrows(AccountNotActiveException.class, () -> engine.transfer(request));
+
+        assertEquals(Optional.of(new BigDecimal("100.00")), engine.balanceOf(1L));
+        verify(failedTransferAuditor).record(eq(request), any(AccountNotActiveException.class));
+        // Released: the retry runs (and fails the same way) instead of being a duplicate
+        assertThrows(AccountNotActiveException.class, () -> engine.transfer(request));
+    }
+
+    /**
+     * Test a key whose transfer isn't in the database yet - a second submission is a
+     * duplicate although transaction_logs doesn't have it
+     */
+    @Test
+    void testTransfer_KeyReservedUntilPersisted() throws Exception {
+        doThrow(new IllegalStateException("database down")).when(transactionTemplate).executeWithoutResult(any());
+        start(100);
+        account(1L, "100.00", AccountStatus.ACTIVE);
+        account(2L, "0.00", AccountStatus.ACTIVE);
+
+        engine.transfer(request(1L, 2L, "30.00", "key-1"));
+
+        assertThrows(DuplicateTransferException.class, () -> engine.transfer(request(1L, 2L, "30.00", "key-1")));
+        assertThrows(InsufficientBalanceException.class, () -> engine.transfer(request(1L, 2L, "80.00", "key-2")));
+        assertEquals(Optional.of(new BigDecimal("70.00")), engine.balanceOf(1L));
+    }
+
+    /**
+     * Test admission while the database writer is stuck - once its queue is full, new
+     * transfers are refused before any money moves
+     */
+    @Test
+    void testTransfer_QueueFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        start(1);
+        account(1L, "100.00", AccountStatus.ACTIVE);
+        account(2L, "0.00", AccountStatus.ACTIVE);
+
+        try {
+            // The writer takes the first transfer and hangs; the second fills the queue
+            engine.transfer(request(1L, 2L, "10.00", "key-1"));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            engine.transfer(request(1L, 2L, "10.00", "key-2"));
+
+            assertThrows(TransferQueueFullException.class, () -> engine.transfer(request(1L, 2L, "10.00", "key-3")));
+            assertEquals(Optional.of(new BigDecimal("80.00")), engine.balanceOf(1L));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void start(int persistQueueCapacity) throws Exception {
+        when(transactionLogRepository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(stripedBalanceService.loadUnstriped(any())).thenAnswer(invocation -> accounts.get(invocation.getArgument(0)));
+        engine = new PartitionedTransferEngine(stripedBalanceService, transactionLogRepository, failedTransferAuditor,
+                mock(JdbcTemplate.class), transactionTemplate, 2, 100, persistQueueCapacity, 10, 10,
+                new SimpleMeterRegistry(), false, directory, DataSize.ofMegabytes(1), 10, 1_000);
+        engine.start();
+    }
+
+    private void account(Long id, String balance, AccountStatus status) {
+        Account account = new Account();
+        account.setId(id);
+        account.setHolderName("John Doe");
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(status);
+        accounts.put(id, account);
+    }
+
+    private static TransferRequest request(Long from, Long to, String amount, String idempotencyKey) {
+        return new TransferRequest(from, to, new BigDecimal(amount), idempotencyKey);
+    }
+}
@@ -0,0 +1,244 @@
+package com.moneytransfer.engine;
+
+import com.moneytransfer.domain.value.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TransferJournal
+ * Tests the binary record format, checksums, segment roll, snapshots and recovery
+ */
+class TransferJournalTest {
+
+    private static final long SEGMENT_BYTES = 4L * TransferJournal.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that every field of a transfer survives a write and a recovery
+     */
+    @Test
+    void testRecover_ReplaysRecords() throws Exception {
+        TransferJournal journal = start(1_000);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(500));
+        PersistedTransfer written = append(journal, transfer(1L, 2L, 2_550, "key-é-1"));
+        journal.stop();
+
+        TransferJournal recovered = journal();
+        List<PersistedTransfer> unprojected = recovered.recover();
+
+        assertEquals(Money.ofMinorUnits(7_450), recovered.recoveredBalance(1L));
+        assertEquals(Money.ofMinorUnits(3_050), recovered.recoveredBalance(2L));
+        assertNull(recovered.recoveredBalance(3L));
+        assertEquals(List.of(written), unprojected);
+    }
+
+    /**
+     * Test that transfers already in the database are not returned for projection
+     */
+    @Test
+    void testRecover_SkipsProjectedTransfers() throws Exception {
+        TransferJournal journal = start(1_000);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(0));
+        PersistedTransfer first = append(journal, transfer(1L, 2L, 100, "key-1"));
+        PersistedTransfer second = append(journal, transfer(1L, 2L, 200, "key-2"));
+        journal.projected(first.sequence());
+        journal.stop();
+
+        TransferJournal recovered = journal();
+        assertEquals(List.of(second), recovered.recover());
+    }
+
+    /**
+     * Test a corrupt last record (torn write) - should be discarded and its sequence reused
+     */
+    @Test
+    void testRecover_DiscardsCorruptTail() throws Exception {
+        TransferJournal journal = start(1_000);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(0));
+        append(journal, transfer(1L, 2L, 100, "key-1"));
+        PersistedTransfer torn = append(journal, transfer(1L, 2L, 200, "key-2"));
+        journal.stop();
+        deleteSnapshots();
+
+        flipByte(lastSegment(), (torn.sequence() - 1) * TransferJournal.RECORD_SIZE + 100);
+
+        TransferJournal recovered = journal();
+        List<PersistedTransfer> unprojected = recovered.recover();
+        assertEquals(1, unprojected.size());
+        assertEquals(Money.ofMinorUnits(9_900), recovered.recoveredBalance(1L));
+
+        recovered.start();
+        PersistedTransfer next = append(recovered, transfer(1L, 2L, 300, "key-3"));
+        recovered.stop();
+        assertEquals(torn.sequence(), next.sequence());
+    }
+
+    /**
+     * Test a segment cut short in the middle of a record - should keep the complete records
+     */
+    @Test
+    void testRecover_TruncatedTail() throws Exception {
+        TransferJournal journal = start(1_000);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(0));
+        append(journal, transfer(1L, 2L, 100, "key-1"));
+        append(journal, transfer(1L, 2L, 200, "key-2"));
+        journal.stop();
+        deleteSnapshots();
+
+        try (RandomAccessFile file = new RandomAccessFile(lastSegment().toFile(), "rw")) {
+            file.setLength(3L * TransferJournal.RECORD_SIZE + TransferJournal.RECORD_SIZE / 2);
+        }
+
+        TransferJournal recovered = journal();
+        assertEquals(1, recovered.recover().size());
+        assertEquals(Money.ofMinorUnits(100), recovered.recoveredBalance(2L));
+    }
+
+    /**
+     * Test a corrupt record in an older segment - should refuse to recover
+     */
+    @Test
+    void testRecover_CorruptOlderSegment() throws Exception {
+        TransferJournal journal = start(1_000);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(0));
+        for (int i = 0; i < 6; i++) {
+            append(journal, transfer(1L, 2L, 100, "key-" + i));
+        }
+        journal.stop();
+
+        List<Path> segments = segments();
+        assertTrue(segments.size() > 1);
+        flipByte(segments.get(0), TransferJournal.RECORD_SIZE + 30);
+
+        assertThrows(IllegalStateException.class, () -> journal().recover());
+    }
+
+    /**
+     * Test that records roll over to new segments and are all replayed
+     */
+    @Test
+    void testRecover_AcrossSegments() throws Exception {
+        TransferJournal journal = start(1_000);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(0));
+        for (int i = 0; i < 10; i++) {
+            append(journal, transfer(1L, 2L, 100, "key-" + i));
+        }
+        journal.stop();
+
+        // 12 records, 4 per segment
+        assertEquals(3, segments().size());
+
+        TransferJournal recovered = journal();
+        assertEquals(10, recovered.recover().size());
+        assertEquals(Money.ofMinorUnits(9_000), recovered.recoveredBalance(1L));
+        assertEquals(Money.ofMinorUnits(1_000), recovered.recoveredBalance(2L));
+    }
+
+    /**
+     * Test that a snapshot deletes projected segments and recovery starts from it
+     */
+    @Test
+    void testRecover_FromSnapshot() throws Exception {
+        TransferJournal journal = start(4);
+        journal.open(1L, Money.ofMinorUnits(10_000));
+        journal.open(2L, Money.ofMinorUnits(0));
+        PersistedTransfer last = null;
+        for (int i = 0; i < 10; i++) {
+            last = append(journal, transfer(1L, 2L, 100, "key-" + i));
+            journal.projected(last.sequence());
+        }
+        journal.stop();
+
+        // Everything is projected and in the final snapshot: only the current segment is kept
+        assertEquals(1, segments().size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("snapshot-")).count());
+        }
+
+        TransferJournal recovered = journal();
+        assertTrue(recovered.recover().isEmpty());
+        assertEquals(Money.ofMinorUnits(9_000), recovered.recoveredBalance(1L));
+        assertEquals(Money.ofMinorUnits(1_000), recovered.recoveredBalance(2L));
+
+        recovered.start();
+        PersistedTransfer next = append(recovered, transfer(2L, 1L, 500, "key-10"));
+        recovered.stop();
+        assertEquals(last.sequence() + 1, next.sequence());
+    }
+
+    private TransferJournal journal() {
+        return new TransferJournal(directory, SEGMENT_BYTES, 100, Long.MAX_VALUE, new SimpleMeterRegistry());
+    }
+
+    private TransferJournal start(long snapshotEvery) throws IOException {
+        TransferJournal journal = new TransferJournal(directory, SEGMENT_BYTES, 100, snapshotEvery,
+                new SimpleMeterRegistry());
+        journal.recover();
+        journal.start();
+        return journal;
+    }
+
+    private static PersistedTransfer append(TransferJournal journal, PersistedTransfer transfer) {
+        CompletableFuture<PersistedTransfer> durable = new CompletableFuture<>();
+        journal.append(transfer, durable::complete, durable::completeExceptionally);
+        return durable.join();
+    }
+
+    private static PersistedTransfer transfer(long from, long to, long minorUnits, String idempotencyKey) {
+        return new PersistedTransfer(UUID.randomUUID().toString(), from, to,
+                Money.ofMinorUnits(minorUnits), Money.ofMinorUnits(1), Money.ofMinorUnits(2),
+                idempotencyKey, LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), 0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = segments();
+        return segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Go back to the state of a crash, before the snapshot written on shutdown
+     */
+    private void deleteSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().startsWith("snapshot-")).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+}
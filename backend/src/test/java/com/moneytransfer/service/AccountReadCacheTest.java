@@ -0,0 +1,117 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.dto.AccountResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AccountReadCache
+ * Tests the version guard, including after expiry and eviction
+ */
+class AccountReadCacheTest {
+
+    /**
+     * Test that an older version never replaces a newer one
+     */
+    @Test
+    void testPut_OlderVersionRejected() {
+        AccountReadCache cache = cache(100, Duration.ofMinutes(1));
+
+        cache.put(account(1L, 5, "500.00"), response(1L, "500.00"));
+        cache.put(account(1L, 4, "400.00"), response(1L, "400.00"));
+
+        assertEquals(new BigDecimal("500.00"), cache.get(1L).getBalance());
+    }
+
+    /**
+     * Test that a newer version replaces the cached one
+     */
+    @Test
+    void testPut_NewerVersionReplaces() {
+        AccountReadCache cache = cache(100, Duration.ofMinutes(1));
+
+        cache.put(account(1L, 5, "500.00"), response(1L, "500.00"));
+        cache.updateAfterCommit(List.of(account(1L, 6, "600.00")));
+
+        assertEquals(new BigDecimal("600.00"), cache.get(1L).getBalance());
+    }
+
+    /**
+     * Test that an expired entry still rejects an older version
+     */
+    @Test
+    void testPut_OlderVersionRejectedAfterExpiry() throws InterruptedException {
+        AccountReadCache cache = cache(100, Duration.ofMillis(1));
+
+        cache.put(account(1L, 5, "500.00"), response(1L, "500.00"));
+        Thread.sleep(5);
+        cache.put(account(1L, 4, "400.00"), response(1L, "400.00"));
+
+        assertNull(cache.get(1L));
+    }
+
+    /**
+     * Test that an evicted entry leaves a tombstone that rejects older versions
+     */
+    @Test
+    void testPut_OlderVersionRejectedAfterEviction() {
+        AccountReadCache cache = cache(1, Duration.ofMinutes(1));
+
+        cache.put(account(1L, 5, "500.00"), response(1L, "500.00"));
+        cache.put(account(2L, 1, "100.00"), response(2L, "100.00"));  // evicts account 1
+        assertNull(cache.get(1L));
+
+        cache.put(account(1L, 4, "400.00"), response(1L, "400.00"));
+        assertNull(cache.get(1L));
+
+        cache.put(account(1L, 5, "500.00"), response(1L, "500.00"));
+        assertEquals(new BigDecimal("500.00"), cache.get(1L).getBalance());
+    }
+
+    /**
+     * Test that striped accounts are never served from the cache
+     */
+    @Test
+    void testPut_StripedAccountNotCached() {
+        AccountReadCache cache = cache(100, Duration.ofMinutes(1));
+        Account account = account(1L, 5, "500.00");
+        account.setStriped(true);
+
+        cache.put(account, response(1L, "500.00"));
+
+        assertNull(cache.get(1L));
+    }
+
+    private static AccountReadCache cache(int maxSize, Duration ttl) {
+        return new AccountReadCache(new SimpleMeterRegistry(), true, maxSize, ttl, "jpa");
+    }
+
+    private static Account account(Long id, int version, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setHolderName("John Doe");
+        account.setBalance(new BigDecimal(balance));
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setVersion(version);
+        account.setLastUpdated(LocalDateTime.now());
+        return account;
+    }
+
+    private static AccountResponse response(Long id, String balance) {
+        return AccountResponse.builder()
+                .id(id)
+                .holderName("John Doe")
+                .balance(new BigDecimal(balance))
+                .status("ACTIVE")
+                .build();
+    }
+}
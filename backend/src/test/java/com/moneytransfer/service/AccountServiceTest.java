@@ -0,0 +1,139 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.dto.TransactionPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the transaction history of AccountService
+ * Uses the default configuration (in-memory H2)
+ */
+class AccountServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Test keyset paging through transactions that share one createdOn - every transaction
+     * shows up exactly once, ordered by createdOn and then ID, newest first
+     */
+    @Test
+    void testTransactionPage_EqualCreatedOn() {
+        Long alice = createAccount("1000.00");
+        Long bob = createAccount("0.00");
+        List<String> expected = insertHistory(alice, bob);
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = accountService.getTransactionPage(alice, 2, cursor, null, null);
+            page.getItems().forEach(transaction -> paged.add(transaction.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, paged);
+        assertEquals(3, pages);
+    }
+
+    /**
+     * Test cursors that weren't produced by a page - rejected as invalid arguments
+     */
+    @Test
+    void testTransactionPage_InvalidCursor() {
+        Long alice = createAccount("100.00");
+
+        for (String cursor : List.of("not base64!", encode("no separator"), encode("not-a-date|id"),
+                encode("2024-01-01T10:00:00"))) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> accountService.getTransactionPage(alice, 10, cursor, null, null));
+            assertTrue(e.getMessage().startsWith("Invalid cursor"));
+        }
+    }
+
+    /**
+     * Test a cursor from a previous page combined with a range - the range still applies
+     */
+    @Test
+    void testTransactionPage_CursorWithinRange() {
+        Long alice = createAccount("1000.00");
+        Long bob = createAccount("0.00");
+        List<String> expected = insertHistory(alice, bob);
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        TransactionPage first = accountService.getTransactionPage(alice, 3, null, from, null);
+        TransactionPage second = accountService.getTransactionPage(alice, 3, first.getNextCursor(), from, null);
+
+        // The older transaction is outside the range, so the second page is the last one
+        assertEquals(expected.subList(0, 3), first.getItems().stream().map(TransactionLog::getId).toList());
+        assertEquals(expected.subList(3, 5), second.getItems().stream().map(TransactionLog::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    /**
+     * Test the unpaged history - one JSON array in the same order as the pages
+     */
+    @Test
+    void testStreamTransactionArray() throws IOException {
+        Long alice = createAccount("1000.00");
+        Long bob = createAccount("0.00");
+        Long carol = createAccount("0.00");
+        List<String> expected = insertHistory(alice, bob);
+
+        JsonNode history = objectMapper.readTree(stream(alice));
+        assertTrue(history.isArray());
+        List<String> ids = new ArrayList<>();
+        history.forEach(transaction -> ids.add(transaction.get("id").asText()));
+        assertEquals(expected, ids);
+
+        assertEquals("[]", stream(carol));
+    }
+
+    /**
+     * Five transfers at the same instant and an older one
+     *
+     * @return Their IDs in history order
+     */
+    private List<String> insertHistory(Long alice, Long bob) {
+        LocalDateTime instant = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<String> sameInstant = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sameInstant.add(insertTransfer(alice, bob, "10.00", "990.00", "10.00", instant));
+        }
+        sameInstant.sort(Comparator.reverseOrder());
+        String older = insertTransfer(alice, bob, "10.00", "990.00", "10.00", instant.minusHours(6));
+
+        List<String> expected = new ArrayList<>(sameInstant);
+        expected.add(older);
+        return expected;
+    }
+
+    private String stream(Long accountId) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountService.streamTransactionArray(accountId).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.dto.AsyncTransferStatus;
+import com.moneytransfer.dto.TransferRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncTransferLog
+ * Tests writing and replaying lines, torn lines and compaction
+ */
+class AsyncTransferLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that submissions and statuses are replayed in file order
+     */
+    @Test
+    void testReplay_RoundTrip() throws IOException {
+        AsyncTransferLog transferLog = new AsyncTransferLog(file(), true, objectMapper);
+        AsyncTransferLog.Line submitted = submission("key-1");
+        AsyncTransferLog.Line completed = new AsyncTransferLog.Line(submitted.transferId(), null,
+                submitted.status().toBuilder().status(AsyncTransferStatus.SUCCESS)
+                        .transactionId(UUID.randomUUID()).completedOn(LocalDateTime.now()).build());
+
+        transferLog.append(submitted, true);
+        transferLog.append(completed, false);
+        transferLog.close();
+
+        List<AsyncTransferLog.Line> lines = new AsyncTransferLog(file(), true, objectMapper).replay();
+        assertEquals(List.of(submitted, completed), lines);
+    }
+
+    /**
+     * Test a line cut short by a crash - should be skipped, keeping the lines before it
+     */
+    @Test
+    void testReplay_SkipsTornLine() throws IOException {
+        AsyncTransferLog transferLog = new AsyncTransferLog(file(), true, objectMapper);
+        AsyncTransferLog.Line submitted = submission("key-1");
+        transferLog.append(submitted, true);
+        transferLog.close();
+
+        Files.writeString(file(), "{\"transferId\":\"" + UUID.randomUUID() + "\",\"requ",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertEquals(List.of(submitted), new AsyncTransferLog(file(), true, objectMapper).replay());
+    }
+
+    /**
+     * Test compaction - the file holds only the snapshot, and later appends go to the new file
+     */
+    @Test
+    void testRewrite_KeepsOnlySnapshot() throws IOException {
+        AsyncTransferLog transferLog = new AsyncTransferLog(file(), false, objectMapper);
+        for (int i = 0; i < 10; i++) {
+            transferLog.append(submission("key-" + i), true);
+        }
+        long before = transferLog.size();
+        AsyncTransferLog.Line kept = submission("kept");
+
+        transferLog.rewrite(() -> List.of(kept));
+        AsyncTransferLog.Line after = submission("after");
+        transferLog.append(after, true);
+        transferLog.close();
+
+        assertTrue(Files.size(file()) < before);
+        assertFalse(Files.exists(file().resolveSibling(file().getFileName() + ".compacting")));
+        assertEquals(List.of(kept, after), new AsyncTransferLog(file(), false, objectMapper).replay());
+    }
+
+    private Path file() {
+        return directory.resolve("async").resolve("transfers.ndjson");
+    }
+
+    private static AsyncTransferLog.Line submission(String idempotencyKey) {
+        UUID transferId = UUID.randomUUID();
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("10.00"), idempotencyKey);
+        AsyncTransferStatus status = AsyncTransferStatus.builder()
+                .transferId(transferId)
+                .idempotencyKey(idempotencyKey)
+                .status(AsyncTransferStatus.PENDING)
+                .submittedOn(LocalDateTime.now())
+                .build();
+        return new AsyncTransferLog.Line(transferId, request, status);
+    }
+}
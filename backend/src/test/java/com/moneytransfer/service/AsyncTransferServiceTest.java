@@ -0,0 +1,212 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.dto.AsyncTransferStatus;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.exception.TransferNotFoundException;
+import com.moneytransfer.exception.TransferQueueFullException;
+import com.moneytransfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for AsyncTransferService
+ * Uses the default configuration (in-memory H2) with a service and queue file created per test
+ */
+class AsyncTransferServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    private final List<AsyncTransferService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AsyncTransferService service : services) {
+            service.stop();
+        }
+    }
+
+    /**
+     * Test a restart - pending transfers run again, finished ones keep their status, expired ones are gone
+     */
+    @Test
+    void testRecover_RequeuesPending() throws Exception {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        AsyncTransferLog transferLog = new AsyncTransferLog(file(), true, objectMapper);
+        AsyncTransferLog.Line pending = submission(request(alice, bob, "30.00"), LocalDateTime.now());
+        AsyncTransferLog.Line finished = submission(request(alice, bob, "5.00"), LocalDateTime.now());
+        AsyncTransferLog.Line expired = submission(request(alice, bob, "5.00"), LocalDateTime.now().minusHours(3));
+        transferLog.append(pending, true);
+        transferLog.append(finished, true);
+        transferLog.append(expired, true);
+        transferLog.append(completion(finished, LocalDateTime.now()), false);
+        transferLog.append(completion(expired, LocalDateTime.now().minusHours(2)), false);
+        transferLog.close();
+
+        AsyncTransferService service = service(100);
+
+        assertEquals(AsyncTransferStatus.PENDING, service.getStatus(pending.transferId()).getStatus());
+        assertEquals(AsyncTransferStatus.SUCCESS, service.getStatus(finished.transferId()).getStatus());
+        assertThrows(TransferNotFoundException.class, () -> service.getStatus(expired.transferId()));
+        // Compacted on recovery: one line per transfer still known
+        assertEquals(2, Files.readAllLines(file()).size());
+
+        service.start();
+        AsyncTransferStatus status = awaitFinished(service, pending.transferId());
+        assertEquals(AsyncTransferStatus.SUCCESS, status.getStatus());
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+    }
+
+    /**
+     * Test a pending transfer that already ran before the crash - reported as that transfer's success
+     */
+    @Test
+    void testRecover_AlreadyExecuted() throws Exception {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        TransferRequest request = request(alice, bob, "30.00");
+        TransferResponse executed = transferService.transfer(request);
+
+        AsyncTransferLog transferLog = new AsyncTransferLog(file(), true, objectMapper);
+        AsyncTransferLog.Line pending = submission(request, LocalDateTime.now());
+        transferLog.append(pending, true);
+        transferLog.close();
+
+        AsyncTransferService service = service(100);
+        service.start();
+
+        AsyncTransferStatus status = awaitFinished(service, pending.transferId());
+        assertEquals(AsyncTransferStatus.SUCCESS, status.getStatus());
+        assertEquals(executed.getTransactionId(), status.getTransactionId());
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+    }
+
+    /**
+     * Test submitting and compacting - finished transfers keep one line each and survive a restart
+     */
+    @Test
+    void testSubmit_CompactsAndRestarts() throws Exception {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        AsyncTransferService service = service(100);
+        service.start();
+
+        List<UUID> transferIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            transferIds.add(service.submit(request(alice, bob, "10.00")).getTransferId());
+        }
+        for (UUID transferId : transferIds) {
+            assertEquals(AsyncTransferStatus.SUCCESS, awaitFinished(service, transferId).getStatus());
+        }
+
+        // A one-byte threshold: the next sweep rewrites the six lines as three
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Files.readAllLines(file()).size() != 3) {
+            assertTrue(System.currentTimeMillis() < deadline, "queue file was not compacted");
+            Thread.sleep(50);
+        }
+        service.stop();
+        services.remove(service);
+
+        AsyncTransferService restarted = service(100);
+        for (UUID transferId : transferIds) {
+            assertEquals(AsyncTransferStatus.SUCCESS, restarted.getStatus(transferId).getStatus());
+        }
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+    }
+
+    /**
+     * Test idempotent submission and a full queue
+     */
+    @Test
+    void testSubmit_DuplicateKeyAndFullQueue() throws Exception {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        // Not started: nothing leaves the queue
+        AsyncTransferService service = service(1);
+
+        TransferRequest request = request(alice, bob, "10.00");
+        AsyncTransferStatus first = service.submit(request);
+        AsyncTransferStatus again = service.submit(new TransferRequest(alice, bob, new BigDecimal("99.00"),
+                request.getIdempotencyKey()));
+
+        assertEquals(first.getTransferId(), again.getTransferId());
+        assertThrows(TransferQueueFullException.class, () -> service.submit(request(alice, bob, "10.00")));
+    }
+
+    private AsyncTransferService service(int queueCapacity) throws IOException {
+        AsyncTransferService service = new AsyncTransferService(batchTransferService, transactionLogRepository,
+                objectMapper, new SimpleMeterRegistry(), 1, 100, queueCapacity, file(), true,
+                Duration.ofHours(1), DataSize.ofBytes(1));
+        services.add(service);
+        service.recoverPending();
+        return service;
+    }
+
+    private static AsyncTransferStatus awaitFinished(AsyncTransferService service, UUID transferId)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            AsyncTransferStatus status = service.getStatus(transferId);
+            if (!AsyncTransferStatus.PENDING.equals(status.getStatus())) {
+                return status;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "transfer " + transferId + " did not finish");
+            Thread.sleep(20);
+        }
+    }
+
+    private Path file() {
+        return directory.resolve("async-transfers.ndjson");
+    }
+
+    private static AsyncTransferLog.Line submission(TransferRequest request, LocalDateTime submittedOn) {
+        UUID transferId = UUID.randomUUID();
+        return new AsyncTransferLog.Line(transferId, request, AsyncTransferStatus.builder()
+                .transferId(transferId)
+                .idempotencyKey(request.getIdempotencyKey())
+                .status(AsyncTransferStatus.PENDING)
+                .submittedOn(submittedOn)
+                .build());
+    }
+
+    private static AsyncTransferLog.Line completion(AsyncTransferLog.Line submission, LocalDateTime completedOn) {
+        return new AsyncTransferLog.Line(submission.transferId(), null, submission.status().toBuilder()
+                .status(AsyncTransferStatus.SUCCESS)
+                .transactionId(UUID.randomUUID())
+                .completedOn(completedOn)
+                .build());
+    }
+}
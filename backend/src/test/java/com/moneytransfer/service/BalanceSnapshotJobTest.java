@@ -0,0 +1,72 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for BalanceSnapshotJob and AccountService.getBalanceAsOf
+ * Uses the default configuration (in-memory H2)
+ */
+class BalanceSnapshotJobTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private BalanceSnapshotJob balanceSnapshotJob;
+
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * Test snapshots of closed days and balances at points in time
+     */
+    @Test
+    void testSnapshotsAndBalanceAsOf() throws Exception {
+        // Arrange: history on two closed days
+        Long alice = createAccount("880.00");
+        Long bob = createAccount("120.00");
+        LocalDateTime day1 = LocalDate.now().minusDays(3).atTime(10, 0);
+        LocalDateTime day2 = LocalDate.now().minusDays(2).atTime(10, 0);
+
+        insertTransfer(alice, bob, "100.00", "900.00", "100.00", day1);
+        insertTransfer(bob, alice, "30.00", "70.00", "930.00", day1.plusHours(2));
+        // A balance_after as a striped account might report it: snapshots must not depend on it
+        insertTransfer(alice, bob, "50.00", "880.00", "999.00", day2);
+
+        // Act
+        balanceSnapshotJob.snapshotClosedDays();
+
+        // Assert: one snapshot per account and day, from summed amounts
+        assertEquals(new BigDecimal("930.00"), snapshot(alice, day1.toLocalDate()));
+        assertEquals(new BigDecimal("880.00"), snapshot(alice, day2.toLocalDate()));
+        assertEquals(new BigDecimal("70.00"), snapshot(bob, day1.toLocalDate()));
+        assertEquals(new BigDecimal("120.00"), snapshot(bob, day2.toLocalDate()));
+
+        assertEquals(new BigDecimal("1000.00"), accountService.getBalanceAsOf(alice, day1));
+        assertEquals(new BigDecimal("900.00"), accountService.getBalanceAsOf(alice, day1.plusHours(1)));
+        assertEquals(new BigDecimal("930.00"), accountService.getBalanceAsOf(alice, day2));
+        assertEquals(new BigDecimal("120.00"), accountService.getBalanceAsOf(bob, LocalDateTime.now()));
+    }
+
+    /**
+     * Test an account that was never part of a transfer
+     */
+    @Test
+    void testBalanceAsOf_NoPostings() {
+        Long account = createAccount("250.00");
+
+        assertEquals(new BigDecimal("250.00"),
+                accountService.getBalanceAsOf(account, LocalDateTime.now().minusDays(10)));
+    }
+
+    private BigDecimal snapshot(Long accountId, LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM account_balance_snapshots " +
+                "WHERE account_id = ? AND snapshot_date = ?", BigDecimal.class, accountId, Date.valueOf(date));
+    }
+}
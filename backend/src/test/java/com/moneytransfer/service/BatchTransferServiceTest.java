@@ -0,0 +1,176 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.dto.BatchTransferItemResult;
+import com.moneytransfer.dto.BatchTransferRequest;
+import com.moneytransfer.dto.BatchTransferResponse;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.AccountNotActiveException;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import com.moneytransfer.service.BatchTransferService.ItemOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for BatchTransferService
+ * Uses the default configuration (in-memory H2) and the application's batch service
+ */
+class BatchTransferServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(batchTransferService, "chunkSize", 500);
+    }
+
+    /**
+     * Test a repeated idempotency key inside one batch - the first item runs, the repeat fails alone
+     */
+    @Test
+    void testTransferBatch_DuplicateKeyInBatch() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        TransferRequest first = request(alice, bob, "10.00");
+
+        BatchTransferResponse response = transferBatch(
+                first,
+                new TransferRequest(alice, bob, new BigDecimal("20.00"), first.getIdempotencyKey()),
+                request(alice, bob, "5.00"));
+
+        assertResults(response, "SUCCESS", "TRX-409", "SUCCESS");
+        assertEquals(2, response.getSucceeded());
+        assertEquals(new BigDecimal("85.00"), balance(alice));
+    }
+
+    /**
+     * Test malformed and failing rows - each fails on its own, the rest of the chunk still commits
+     */
+    @Test
+    void testTransferBatch_BadRowFailsAlone() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        BatchTransferResponse response = transferBatch(
+                request(alice, bob, "10.00"),
+                new TransferRequest(alice, bob, null, "batch-no-amount"),
+                request(alice, 999_999L, "10.00"),
+                request(alice, bob, "500.00"),
+                request(alice, bob, "20.00"));
+
+        assertResults(response, "SUCCESS", "VAL-422", "ACC-404", "TRX-400", "SUCCESS");
+        assertTrue(response.getResults().get(1).getMessage().contains("amount"));
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+        assertEquals(new BigDecimal("30.00"), balance(bob));
+        assertEquals(2, postingCount(bob));
+    }
+
+    /**
+     * Test a batch spanning several chunks - later chunks see the balances committed by earlier ones,
+     * and results keep the batch's indexes
+     */
+    @Test
+    void testTransferBatch_ChunkBoundaries() {
+        ReflectionTestUtils.setField(batchTransferService, "chunkSize", 2);
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        // Chunks: [0, 1], [2, 3], [4]
+        BatchTransferResponse response = transferBatch(
+                request(alice, bob, "40.00"),
+                request(alice, bob, "40.00"),
+                request(alice, bob, "40.00"),
+                request(bob, alice, "50.00"),
+                request(alice, bob, "60.00"));
+
+        assertResults(response, "SUCCESS", "SUCCESS", "TRX-400", "SUCCESS", "SUCCESS");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, response.getResults().get(i).getIndex());
+        }
+        assertEquals(new BigDecimal("10.00"), balance(alice));
+        assertEquals(new BigDecimal("90.00"), balance(bob));
+    }
+
+    /**
+     * Test a chunk that cannot be committed (an idempotency key already in the database that the
+     * filter doesn't know) - every item is re-run on its own and only the duplicate fails
+     */
+    @Test
+    void testExecuteTogether_FallbackAfterCommitFailure() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        String existing = insertTransfer(bob, alice, "1.00", "0.00", "100.00", LocalDateTime.now());
+
+        List<ItemOutcome> outcomes = batchTransferService.executeTogether(List.of(
+                request(alice, bob, "10.00"),
+                new TransferRequest(alice, bob, new BigDecimal("20.00"), "test-" + existing),
+                request(alice, bob, "30.00")));
+
+        outcomes.forEach(outcome -> assertTrue(outcome.ranAlone()));
+        assertNull(outcomes.get(0).failure());
+        // The single path also trusts the filter, so the unique index reports the duplicate
+        assertEquals("TRX-409", BatchTransferService.errorCodeFor(outcomes.get(1).failure()));
+        assertNull(outcomes.get(2).failure());
+        assertEquals(new BigDecimal("60.00"), balance(alice));
+        assertEquals(new BigDecimal("40.00"), balance(bob));
+    }
+
+    /**
+     * Test a batch above the configured maximum - rejected as a whole
+     */
+    @Test
+    void testTransferBatch_TooManyItems() {
+        ReflectionTestUtils.setField(batchTransferService, "maxItems", 2);
+        try {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> transferBatch(
+                    request(1L, 2L, "1.00"), request(1L, 2L, "1.00"), request(1L, 2L, "1.00")));
+            assertTrue(e.getMessage().contains("maximum is 2"));
+        } finally {
+            ReflectionTestUtils.setField(batchTransferService, "maxItems", BatchTransferRequest.MAX_ITEMS);
+        }
+    }
+
+    /**
+     * Test the error codes - the same ones GlobalExceptionHandler returns for a single transfer
+     */
+    @Test
+    void testErrorCodeFor() {
+        assertEquals("ACC-404", BatchTransferService.errorCodeFor(new AccountNotFoundException(1L)));
+        assertEquals("ACC-403", BatchTransferService.errorCodeFor(new AccountNotActiveException("closed")));
+        assertEquals("TRX-400", BatchTransferService.errorCodeFor(new InsufficientBalanceException("low")));
+        assertEquals("TRX-409", BatchTransferService.errorCodeFor(new DuplicateTransferException("key")));
+        assertEquals("TRX-409", BatchTransferService.errorCodeFor(new DataIntegrityViolationException("insert",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_IDEMPOTENCY_KEY\""))));
+        assertEquals("SYS-500", BatchTransferService.errorCodeFor(new DataIntegrityViolationException("insert",
+                new SQLException("Referential integrity constraint violation"))));
+        assertEquals("VAL-422", BatchTransferService.errorCodeFor(new IllegalArgumentException("same account")));
+        assertEquals("SYS-500", BatchTransferService.errorCodeFor(new IllegalStateException("unexpected")));
+    }
+
+    private BatchTransferResponse transferBatch(TransferRequest... transfers) {
+        return batchTransferService.transferBatch(new BatchTransferRequest(List.of(transfers)));
+    }
+
+    private static void assertResults(BatchTransferResponse response, String... expected) {
+        List<BatchTransferItemResult> results = response.getResults();
+        assertEquals(expected.length, results.size());
+        for (int i = 0; i < expected.length; i++) {
+            BatchTransferItemResult result = results.get(i);
+            String actual = "SUCCESS".equals(result.getStatus()) ? "SUCCESS" : result.getErrorCode();
+            assertEquals(expected[i], actual, "item " + i + ": " + result.getMessage());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import com.moneytransfer.repository.AccountRepository;
+import com.moneytransfer.repository.TransactionLogRepository;
+import com.moneytransfer.service.BatchTransferService.ItemOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests for BilateralNettingService
+ * Uses the default configuration (in-memory H2) with a service created per test
+ */
+class BilateralNettingServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @Autowired
+    private AccountReadCache accountReadCache;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Test netting - opposite transfers between two accounts become one net movement
+     */
+    @Test
+    void testExecuteNetted_OneMovementPerPair() {
+        Long alice = createAccount("500.00");
+        Long bob = createAccount("500.00");
+
+        List<ItemOutcome> outcomes = service(accountRepository).executeNetted(List.of(
+                request(alice, bob, "100.00"), request(bob, alice, "60.00"), request(alice, bob, "10.00")));
+
+        outcomes.forEach(outcome -> {
+            assertNull(outcome.failure());
+            assertFalse(outcome.ranAlone());
+        });
+        assertEquals(new BigDecimal("450.00"), balance(alice));
+        assertEquals(new BigDecimal("550.00"), balance(bob));
+
+        // Every transfer keeps its log and postings
+        assertEquals(3, postingCount(alice));
+        assertEquals(3, postingCount(bob));
+
+        // Six balance updates without netting, two with
+        assertEquals(2, updates("written"));
+        assertEquals(4, updates("netted"));
+    }
+
+    /**
+     * Test an overdraft inside the group - checked against the provisional balances in arrival order
+     */
+    @Test
+    void testExecuteNetted_OverdraftInsideGroup() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        List<ItemOutcome> outcomes = service(accountRepository).executeNetted(List.of(
+                request(alice, bob, "80.00"),
+                request(alice, bob, "50.00"),
+                request(bob, alice, "30.00"),
+                request(alice, bob, "50.00")));
+
+        // 100 - 80 = 20 left, then +30 = 50, which the last transfer may take
+        assertNull(outcomes.get(0).failure());
+        assertInstanceOf(InsufficientBalanceException.class, outcomes.get(1).failure());
+        assertFalse(outcomes.get(1).ranAlone());
+        assertNull(outcomes.get(2).failure());
+        assertNull(outcomes.get(3).failure());
+
+        assertEquals(new BigDecimal("0.00"), balance(alice));
+        assertEquals(new BigDecimal("100.00"), balance(bob));
+    }
+
+    /**
+     * Test transfers whose first account pair alone would overdraw an account - each account is
+     * written once with its net amount, in ascending ID order, so no row ever goes below zero
+     */
+    @Test
+    void testExecuteNetted_NoIntermediateOverdraft() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("10.00");
+        Long carol = createAccount("0.00");
+
+        // Records the order of the balance updates and the balance each one leaves behind
+        List<Long> updatedAccounts = new ArrayList<>();
+        JdbcTemplate recording = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int update(String sql, Object... args) {
+                int updated = super.update(sql, args);
+                if (sql.startsWith("UPDATE accounts")) {
+                    Long accountId = (Long) args[2];
+                    updatedAccounts.add(accountId);
+                    assertTrue(balance(accountId).signum() >= 0, "account " + accountId + " went negative");
+                }
+                return updated;
+            }
+        };
+
+        // Per pair, bob to carol (110) would come first and take bob to -100
+        List<ItemOutcome> outcomes = service(accountRepository, recording).executeNetted(List.of(
+                request(bob, carol, "10.00"), request(alice, bob, "100.00"), request(bob, carol, "100.00")));
+
+        outcomes.forEach(outcome -> {
+            assertNull(outcome.failure());
+            assertFalse(outcome.ranAlone());
+        });
+        assertEquals(List.of(alice, bob, carol), updatedAccounts);
+        assertEquals(new BigDecimal("0.00"), balance(alice));
+        assertEquals(new BigDecimal("0.00"), balance(bob));
+        assertEquals(new BigDecimal("110.00"), balance(carol));
+        assertEquals(3, updates("written"));
+        assertEquals(3, updates("netted"));
+    }
+
+    /**
+     * Test a duplicate idempotency key - only that transfer fails, the group still commits
+     */
+    @Test
+    void testExecuteNetted_DuplicateKey() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        TransferRequest first = request(alice, bob, "10.00");
+        service(accountRepository).executeNetted(List.of(first));
+
+        List<ItemOutcome> outcomes = service(accountRepository).executeNetted(List.of(
+                new TransferRequest(alice, bob, new BigDecimal("10.00"), first.getIdempotencyKey()),
+                request(alice, bob, "20.00")));
+
+        assertInstanceOf(DuplicateTransferException.class, outcomes.get(0).failure());
+        assertNull(outcomes.get(1).failure());
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+    }
+
+    /**
+     * Test a concurrent update of an account after the group loaded it - the group rolls back
+     * and every transfer is re-run on its own
+     */
+    @Test
+    void testExecuteNetted_FallbackAfterVersionConflict() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        // Another writer bumps alice's version right after the group has read it (once)
+        AtomicBoolean conflicted = new AtomicBoolean();
+        AccountRepository conflicting = mock(AccountRepository.class, delegatesTo(accountRepository));
+        doAnswer(invocation -> {
+            List<Account> accounts = accountRepository.findAllById(invocation.getArgument(0));
+            if (conflicted.compareAndSet(false, true)) {
+                jdbcTemplate.update("UPDATE accounts SET version = version + 1 WHERE id = ?", alice);
+            }
+            return accounts;
+        }).when(conflicting).findAllById(any());
+
+        List<ItemOutcome> outcomes = service(conflicting).executeNetted(List.of(
+                request(alice, bob, "40.00"), request(bob, alice, "10.00"), request(alice, bob, "90.00")));
+
+        assertTrue(conflicted.get());
+        outcomes.forEach(outcome -> assertTrue(outcome.ranAlone()));
+        assertNull(outcomes.get(0).failure());
+        assertNull(outcomes.get(1).failure());
+        assertInstanceOf(InsufficientBalanceException.class, outcomes.get(2).failure());
+
+        // Nothing of the rolled back group is left: only the individual transfers
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+        assertEquals(new BigDecimal("30.00"), balance(bob));
+        assertEquals(2, postingCount(alice));
+        assertEquals(0, updates("written"));
+    }
+
+    private BilateralNettingService service(AccountRepository repository) {
+        return service(repository, jdbcTemplate);
+    }
+
+    private BilateralNettingService service(AccountRepository repository, JdbcTemplate jdbc) {
+        return new BilateralNettingService(repository, transactionLogRepository, transferService,
+                idempotencyKeyFilter, accountReadCache, readYourWritesTracker, transactionTemplate,
+                jdbc, entityManager, meterRegistry);
+    }
+
+    private double updates(String result) {
+        return meterRegistry.counter("moneytransfer.netting.balance.updates", "result", result).count();
+    }
+}
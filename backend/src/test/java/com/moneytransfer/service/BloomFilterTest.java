@@ -0,0 +1,61 @@
+package com.moneytransfer.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter
+ * Tests that added keys are always found and the false positive rate stays near its target
+ */
+class BloomFilterTest {
+
+    /**
+     * Test that every added key is reported as maybe present (no false negatives)
+     */
+    @Test
+    void testMightContain_AddedKeys() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i + 1, filter.add("key-" + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+    }
+
+    /**
+     * Test the false positive rate at the expected number of keys
+     */
+    @Test
+    void testMightContain_FalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("key-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // 1% target; allow for variance but catch a broken hash or sizing
+        assertTrue(falsePositives > 0);
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Test that an empty filter reports nothing as present
+     */
+    @Test
+    void testMightContain_Empty() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertFalse(filter.mightContain("key-1"));
+        assertFalse(filter.mightContain(""));
+    }
+}
@@ -0,0 +1,107 @@
+package com.moneytransfer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FailedTransferAuditor
+ * Runs against database/schema.sql in an embedded H2 database, so the foreign keys
+ * and CHECK constraints of the MySQL schema apply (Hibernate's DDL has neither)
+ */
+class FailedTransferAuditorTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private FailedTransferAuditor auditor;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("file:../database/schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.update("INSERT INTO accounts (id, holder_name, balance, status) VALUES " +
+                "(1, 'John Doe', 100.00, 'ACTIVE'), (2, 'Jane Doe', 0.00, 'ACTIVE')");
+
+        auditor = new FailedTransferAuditor(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(database)),
+                new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                100, 10, 10, true, directory.resolve("spill.ndjson"));
+        auditor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * Test a rejected transfer between existing accounts - one FAILED row under a synthetic key
+     */
+    @Test
+    void testRecord_WritesFailedRow() throws InterruptedException {
+        TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("500.00"), "client-key");
+        auditor.record(request, new InsufficientBalanceException("Insufficient balance"));
+        auditor.stop();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM transaction_logs");
+        assertEquals("FAILED", row.get("STATUS"));
+        assertEquals("Insufficient balance", row.get("FAILURE_REASON"));
+        assertTrue(((String) row.get("IDEMPOTENCY_KEY")).startsWith("failed:"));
+        assertTrue(((String) row.get("IDEMPOTENCY_KEY")).endsWith(":client-key"));
+        assertEquals(1.0, records("written"));
+    }
+
+    /**
+     * Test records the schema can't hold (unknown account, amounts that aren't positive at two
+     * decimals) - skipped, without taking the valid records of the same batch down with them
+     */
+    @Test
+    void testRecord_SkipsRecordsViolatingConstraints() throws InterruptedException {
+        auditor.record(request(1L, 404L, "10.00"), new AccountNotFoundException(404L));
+        auditor.record(request(404L, 2L, "10.00"), new AccountNotFoundException(404L));
+        auditor.record(request(1L, 2L, "-5.00"), new IllegalArgumentException("Amount must be positive"));
+        auditor.record(request(1L, 2L, "0.001"), new IllegalArgumentException("Amount must be positive"));
+        auditor.record(request(1L, 2L, "500.00"), new InsufficientBalanceException("Insufficient balance"));
+        auditor.stop();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_logs", Integer.class));
+        assertEquals(1.0, records("written"));
+        assertEquals(4.0, records("skipped"));
+        assertEquals(0.0, records("dropped"));
+    }
+
+    private double records(String result) {
+        return meterRegistry.counter("moneytransfer.audit.records", "result", result).count();
+    }
+
+    private static TransferRequest request(Long from, Long to, String amount) {
+        return new TransferRequest(from, to, new BigDecimal(amount), "test-" + UUID.randomUUID());
+    }
+}
@@ -0,0 +1,151 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for GroupCommitExecutor
+ * Uses the default configuration (in-memory H2) with an executor created per test
+ */
+class GroupCommitExecutorTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private BilateralNettingService bilateralNettingService;
+
+    @Autowired
+    private FailedTransferAuditor failedTransferAuditor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(3);
+    private GroupCommitExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    /**
+     * Test an overdraft inside one group - only the transfer that overdraws fails, the rest commit together
+     */
+    @Test
+    void testTransfer_OverdraftInsideGroup() throws Exception {
+        start(false);
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        List<Object> outcomes = submitTogether(
+                request(alice, bob, "60.00"), request(alice, bob, "60.00"), request(alice, bob, "30.00"));
+
+        assertEquals(1, outcomes.stream().filter(InsufficientBalanceException.class::isInstance).count());
+        assertEquals(2, outcomes.stream().filter(TransferResponse.class::isInstance).count());
+        assertEquals(new BigDecimal("10.00"), balance(alice));
+        assertEquals(new BigDecimal("90.00"), balance(bob));
+        assertEquals(3.0, meterRegistry.get("moneytransfer.group-commit.size").summary().max());
+    }
+
+    /**
+     * Test a group that cannot be committed (repeated idempotency key) - should be re-run one transfer at a time
+     */
+    @Test
+    void testTransfer_FallbackAfterConflict() throws Exception {
+        start(false);
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        String key = "group-commit-test-" + UUID.randomUUID();
+
+        List<Object> outcomes = submitTogether(
+                new TransferRequest(alice, bob, new BigDecimal("10.00"), key),
+                new TransferRequest(alice, bob, new BigDecimal("10.00"), key),
+                request(bob, alice, "5.00"));
+
+        assertEquals(1, outcomes.stream().filter(DuplicateTransferException.class::isInstance).count());
+        assertEquals(2, outcomes.stream().filter(TransferResponse.class::isInstance).count());
+        assertEquals(new BigDecimal("95.00"), balance(alice));
+        assertEquals(new BigDecimal("5.00"), balance(bob));
+    }
+
+    /**
+     * Test the same overdraft with netting - provisional balances catch it before anything is written
+     */
+    @Test
+    void testTransfer_NettedOverdraftInsideGroup() throws Exception {
+        start(true);
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        List<Object> outcomes = submitTogether(
+                request(alice, bob, "70.00"), request(alice, bob, "70.00"), request(bob, alice, "20.00"));
+
+        // Whatever the arrival order, at most one 70.00 fits: bob can only pass on what he received
+        long succeeded = outcomes.stream().filter(TransferResponse.class::isInstance).count();
+        assertTrue(succeeded >= 1 && succeeded <= 2);
+        assertEquals(3 - succeeded, outcomes.stream().filter(InsufficientBalanceException.class::isInstance).count());
+        assertEquals(new BigDecimal("100.00"), balance(alice).add(balance(bob)));
+        assertTrue(balance(alice).signum() >= 0 && balance(bob).signum() >= 0);
+    }
+
+    /**
+     * Test a transfer after shutdown - should be refused instead of waiting forever
+     */
+    @Test
+    void testTransfer_AfterStop() throws InterruptedException {
+        start(false);
+        executor.stop();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> executor.transfer(request(1L, 2L, "1.00")));
+        assertTrue(e.getMessage().contains("shut down"));
+    }
+
+    private void start(boolean netting) {
+        // A long window and a group size of three: the three transfers of a test always share one group
+        executor = new GroupCommitExecutor(batchTransferService, bilateralNettingService, failedTransferAuditor,
+                meterRegistry, netting, Duration.ofSeconds(5), 3, 100);
+        executor.start();
+    }
+
+    /**
+     * Submit transfers from separate threads and collect each response or exception
+     */
+    private List<Object> submitTogether(TransferRequest... requests) throws InterruptedException {
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+        for (TransferRequest request : requests) {
+            futures.add(callers.submit(() -> executor.transfer(request)));
+        }
+
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<TransferResponse> future : futures) {
+            try {
+                outcomes.add(future.get());
+            } catch (ExecutionException e) {
+                outcomes.add(e.getCause());
+            }
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,108 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.dto.TransferRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HotAccountDetector
+ * Tests the conflict threshold, the window, attribution of conflicts and retries of failed striping
+ */
+class HotAccountDetectorTest {
+
+    private final StripedBalanceService stripedBalanceService = mock(StripedBalanceService.class);
+    private final HotAccountDetector detector = new HotAccountDetector(stripedBalanceService);
+    private final TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("10.00"), "key-1");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(detector, "autoDetect", true);
+        ReflectionTestUtils.setField(detector, "conflictThreshold", 3);
+        ReflectionTestUtils.setField(detector, "windowSeconds", 10L);
+        when(stripedBalanceService.stripe(anyLong())).thenReturn(true);
+    }
+
+    /**
+     * Test an account reaching the threshold within the window - striped once
+     */
+    @Test
+    void testRecordConflict_StripesAtThreshold() {
+        detector.recordConflict(conflictOn(5L), request);
+        detector.recordConflict(conflictOn(5L), request);
+        verify(stripedBalanceService, never()).stripe(anyLong());
+
+        detector.recordConflict(conflictOn(5L), request);
+        verify(stripedBalanceService).stripe(5L);
+    }
+
+    /**
+     * Test conflicts spread over several windows - the count starts again in each window
+     */
+    @Test
+    void testRecordConflict_WindowExpires() throws InterruptedException {
+        ReflectionTestUtils.setField(detector, "windowSeconds", 0L);
+
+        for (int i = 0; i < 5; i++) {
+            detector.recordConflict(conflictOn(5L), request);
+            Thread.sleep(1);
+        }
+
+        verify(stripedBalanceService, never()).stripe(anyLong());
+    }
+
+    /**
+     * Test a conflict that doesn't name the stale row - attributed to the credited account
+     */
+    @Test
+    void testRecordConflict_UnknownRowCountsForCreditedAccount() {
+        for (int i = 0; i < 3; i++) {
+            detector.recordConflict(new ObjectOptimisticLockingFailureException("Batch update failed", null), request);
+        }
+
+        verify(stripedBalanceService).stripe(2L);
+    }
+
+    /**
+     * Test striping that fails (it raced with a transfer) - the next conflict tries again
+     */
+    @Test
+    void testRecordConflict_RetriesFailedStriping() {
+        when(stripedBalanceService.stripe(5L)).thenThrow(new IllegalStateException("conflict")).thenReturn(true);
+
+        for (int i = 0; i < 4; i++) {
+            detector.recordConflict(conflictOn(5L), request);
+        }
+
+        verify(stripedBalanceService, times(2)).stripe(5L);
+    }
+
+    /**
+     * Test auto-detection turned off - never stripes
+     */
+    @Test
+    void testRecordConflict_Disabled() {
+        ReflectionTestUtils.setField(detector, "autoDetect", false);
+
+        for (int i = 0; i < 5; i++) {
+            detector.recordConflict(conflictOn(5L), request);
+        }
+
+        verify(stripedBalanceService, never()).stripe(anyLong());
+    }
+
+    private static ObjectOptimisticLockingFailureException conflictOn(Long accountId) {
+        return new ObjectOptimisticLockingFailureException(Account.class, accountId);
+    }
+}
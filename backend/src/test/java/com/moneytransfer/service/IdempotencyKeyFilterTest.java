@@ -0,0 +1,156 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyKeyFilter
+ * Tests the warm-up, Bloom false positives falling through to the database and generation rotation
+ */
+class IdempotencyKeyFilterTest {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private TransactionLogRepository repository;
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TransactionLogRepository.class);
+        when(repository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(repository.streamAllIdempotencyKeys()).thenReturn(Stream.empty());
+
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Test that keys loaded at warm-up are checked in the database and new keys are not
+     */
+    @Test
+    void testIsDuplicate_AfterWarmUp() throws InterruptedException {
+        when(repository.streamAllIdempotencyKeys()).thenReturn(Stream.of("key-1", "key-2"));
+        when(repository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(new TransactionLog()));
+        IdempotencyKeyFilter filter = warmedUp(1_000, 0);
+
+        assertTrue(filter.isDuplicate("key-1"));
+        assertFalse(filter.isDuplicate("new-key"));
+
+        assertEquals(1, lookups("database_hit"));
+        verify(repository, never()).findByIdempotencyKey("new-key");
+    }
+
+    /**
+     * Test a key the Bloom filter wrongly reports as present - should ask the database and count a false positive
+     */
+    @Test
+    void testIsDuplicate_FalsePositive() throws InterruptedException {
+        IdempotencyKeyFilter filter = warmedUp(100, 0);
+
+        // Same sizing and hash as the filter's current generation, so the same keys collide
+        BloomFilter twin = new BloomFilter(100, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 99; i++) {
+            filter.recordAfterCommit("key-" + i);
+            twin.add("key-" + i);
+        }
+        String falsePositive = null;
+        for (int i = 0; falsePositive == null; i++) {
+            if (twin.mightContain("probe-" + i)) {
+                falsePositive = "probe-" + i;
+            }
+        }
+
+        assertFalse(filter.isDuplicate(falsePositive));
+        assertEquals(1, lookups("false_positive"));
+        verify(repository).findByIdempotencyKey(falsePositive);
+    }
+
+    /**
+     * Test generation rotation - keys survive one rotation and are dropped by the next
+     */
+    @Test
+    void testIsDuplicate_GenerationRotation() throws InterruptedException {
+        IdempotencyKeyFilter filter = warmedUp(2, 0);
+
+        filter.recordAfterCommit("first-1");
+        filter.recordAfterCommit("first-2");
+
+        // First generation is now the previous one and still answers "maybe"
+        assertFalse(filter.possiblyUsed(Set.of("first-1")).isEmpty());
+
+        filter.recordAfterCommit("second-1");
+        filter.recordAfterCommit("second-2");
+
+        // Second rotation dropped the first generation
+        assertEquals(Set.of("second-1"), filter.possiblyUsed(Set.of("first-1", "first-2", "second-1")));
+    }
+
+    /**
+     * Test the recent keys cache - a recorded key is a duplicate without a database read
+     */
+    @Test
+    void testIsDuplicate_RecentKey() throws InterruptedException {
+        IdempotencyKeyFilter filter = warmedUp(1_000, 10);
+
+        filter.recordAfterCommit("key-1");
+
+        assertTrue(filter.isDuplicate("key-1"));
+        assertEquals(1, lookups("recent_hit"));
+        verify(repository, never()).findByIdempotencyKey("key-1");
+    }
+
+    /**
+     * Test the filter before warm-up has finished - should always ask the database
+     */
+    @Test
+    void testIsDuplicate_NotReady() {
+        IdempotencyKeyFilter filter = filter(1_000, 0);
+
+        assertFalse(filter.isDuplicate("key-1"));
+        assertEquals(Set.of("key-1", "key-2"), filter.possiblyUsed(Set.of("key-1", "key-2")));
+        verify(repository).findByIdempotencyKey("key-1");
+    }
+
+    private IdempotencyKeyFilter filter(int expectedKeys, int recentCacheSize) {
+        return new IdempotencyKeyFilter(repository, transactionTemplate, meterRegistry,
+                true, expectedKeys, FALSE_POSITIVE_RATE, recentCacheSize);
+    }
+
+    /**
+     * Create a filter and wait for its background warm-up
+     */
+    private IdempotencyKeyFilter warmedUp(int expectedKeys, int recentCacheSize) throws InterruptedException {
+        IdempotencyKeyFilter filter = filter(expectedKeys, recentCacheSize);
+        filter.warmUp();
+
+        // Not ready yet: every key is possibly used
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!filter.possiblyUsed(Set.of("warm-up-probe")).isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "warm-up did not finish");
+            Thread.sleep(10);
+        }
+        return filter;
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("moneytransfer.idempotency.lookups", "result", result).count();
+    }
+}
@@ -0,0 +1,163 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.exception.AccountNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for StatementExportService
+ * Uses the default configuration (in-memory H2); exports are gunzipped and checked row by row
+ */
+@AutoConfigureMockMvc
+class StatementExportServiceTest extends AbstractIntegrationTest {
+
+    private static final String HEADER =
+            "account_id,created_on,transaction_id,counterparty_account_id,amount,balance_after,idempotency_key";
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Test the statement endpoint end to end - a gzip-compressed CSV attachment, oldest row first
+     */
+    @Test
+    void testExportStatement_Endpoint() throws Exception {
+        Long alice = createAccount("70.00");
+        Long bob = createAccount("30.00");
+        String first = insertTransfer(alice, bob, "10.00", "90.00", "10.00", DAY.plusHours(1));
+        String second = insertTransfer(alice, bob, "20.00", "70.00", "30.00", DAY.plusHours(2));
+
+        MvcResult started = mockMvc.perform(get("/api/v1/accounts/{id}/statement", alice)
+                        .with(httpBasic("admin", "admin123")))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("application/gzip", result.getResponse().getContentType());
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION)
+                .contains("statement-" + alice + ".csv.gz"));
+        assertEquals(List.of(HEADER,
+                alice + ",2024-03-01T01:00," + first + "," + bob + ",-10.00,90.00,test-" + first,
+                alice + ",2024-03-01T02:00," + second + "," + bob + ",-20.00,70.00,test-" + second),
+                gunzip(result.getResponse().getContentAsByteArray()));
+    }
+
+    /**
+     * Test the date range - from is inclusive, to is exclusive
+     */
+    @Test
+    void testExportAccount_Bounds() throws IOException {
+        Long alice = createAccount("40.00");
+        Long bob = createAccount("60.00");
+        insertTransfer(alice, bob, "10.00", "90.00", "10.00", DAY.plusHours(1));
+        String inRange = insertTransfer(alice, bob, "20.00", "70.00", "30.00", DAY.plusHours(2));
+        insertTransfer(alice, bob, "30.00", "40.00", "60.00", DAY.plusHours(3));
+
+        List<String> lines = export(statementExportService.exportAccount(alice, DAY.plusHours(2), DAY.plusHours(3)));
+
+        assertEquals(2, lines.size());
+        assertEquals(HEADER, lines.get(0));
+        assertTrue(lines.get(1).contains(inRange));
+    }
+
+    /**
+     * Test the export of all accounts - by account, then oldest first
+     */
+    @Test
+    void testExportAll_OrderedByAccount() throws IOException {
+        Long alice = createAccount("80.00");
+        Long bob = createAccount("20.00");
+        Long carol = createAccount("10.00");
+        String aliceToCarol = insertTransfer(alice, carol, "10.00", "90.00", "10.00", DAY.plusHours(1));
+        String bobToAlice = insertTransfer(bob, alice, "5.00", "5.00", "95.00", DAY.plusHours(2));
+        String aliceToBob = insertTransfer(alice, bob, "15.00", "80.00", "20.00", DAY.plusHours(3));
+
+        List<String> lines = export(statementExportService.exportAll(DAY, DAY.plusDays(1)));
+
+        // Other tests' postings share the database: keep this test's accounts only
+        List<String> rows = lines.stream()
+                .filter(line -> line.startsWith(alice + ",") || line.startsWith(bob + ",")
+                        || line.startsWith(carol + ","))
+                .map(line -> line.split(",")[0] + " " + line.split(",")[2])
+                .toList();
+        assertEquals(List.of(
+                alice + " " + aliceToCarol, alice + " " + bobToAlice, alice + " " + aliceToBob,
+                bob + " " + bobToAlice, bob + " " + aliceToBob,
+                carol + " " + aliceToCarol), rows);
+    }
+
+    /**
+     * Test an unknown account - rejected before the response is committed
+     */
+    @Test
+    void testExportAccount_NotFound() {
+        assertThrows(AccountNotFoundException.class,
+                () -> statementExportService.exportAccount(999_999L, null, null));
+    }
+
+    /**
+     * Test CSV quoting (RFC 4180) and the escaping of values a spreadsheet would run as formulas
+     */
+    @Test
+    void testWriteQuoted() throws IOException {
+        assertEquals("payroll-2024-03", quoted("payroll-2024-03"));
+        assertEquals("\"a,b\"", quoted("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", quoted("say \"hi\""));
+        assertEquals("\"line\nbreak\"", quoted("line\nbreak"));
+        assertEquals("'=SUM(A1:A9)", quoted("=SUM(A1:A9)"));
+        assertEquals("'+1", quoted("+1"));
+        assertEquals("'-1", quoted("-1"));
+        assertEquals("'@cmd", quoted("@cmd"));
+        assertEquals("'\tx", quoted("\tx"));
+        assertEquals("\"'\rx\"", quoted("\rx"));
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"", quoted("=HYPERLINK(\"http://x\",\"y\")"));
+        assertEquals("", quoted(""));
+    }
+
+    private static String quoted(String value) throws IOException {
+        StringWriter writer = new StringWriter();
+        StatementExportService.writeQuoted(writer, value);
+        return writer.toString();
+    }
+
+    private static List<String> export(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return gunzip(out.toByteArray());
+    }
+
+    private static List<String> gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return Arrays.asList(new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n"));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.AbstractIntegrationTest;
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.value.Money;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for StripedBalanceService
+ * Uses the default configuration (in-memory H2) with 8 slots per striped account
+ */
+class StripedBalanceServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private StripedBalanceService stripedBalanceService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    /**
+     * Test concurrent credits of a striped account - they land in the slots, the account row
+     * and its version stay untouched, and the total adds up
+     */
+    @Test
+    void testCredit_ConcurrentCreditsGoToSlots() throws Exception {
+        Long hot = createAccount("0.00");
+        assertTrue(stripedBalanceService.stripe(hot));
+        int version = version(hot);
+
+        List<Future<?>> transfers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Long source = createAccount("10.00");
+            transfers.add(callers.submit(() -> transferService.transfer(request(source, hot, "2.50"))));
+        }
+        for (Future<?> transfer : transfers) {
+            transfer.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(new BigDecimal("0.00"), balance(hot));
+        assertEquals(version, version(hot));
+        assertEquals(new BigDecimal("100.00"), slotTotal(hot));
+        assertEquals(new BigDecimal("100.00"), total(hot));
+    }
+
+    /**
+     * Test a debit larger than the account row - the slots are folded into the row first,
+     * and a debit larger than the total still fails without moving anything
+     */
+    @Test
+    void testDebit_ConsolidatesSlots() {
+        Long hot = createAccount("10.00");
+        Long other = createAccount("100.00");
+        stripedBalanceService.stripe(hot);
+        transferService.transfer(request(other, hot, "50.00"));
+
+        transferService.transfer(request(hot, other, "40.00"));
+
+        assertEquals(new BigDecimal("20.00"), balance(hot));
+        assertEquals(new BigDecimal("0.00"), slotTotal(hot));
+        assertThrows(InsufficientBalanceException.class,
+                () -> transferService.transfer(request(hot, other, "20.01")));
+        assertEquals(new BigDecimal("20.00"), total(hot));
+    }
+
+    /**
+     * Test a credit arriving while a debit consolidates - it waits for the slot locks, so the
+     * debit can't overdraw and the credit isn't wiped by the consolidation
+     */
+    @Test
+    void testDebit_ConsolidationBlocksSlotCredits() throws Exception {
+        Long hot = createAccount("0.00");
+        Long other = createAccount("100.00");
+        stripedBalanceService.stripe(hot);
+        transferService.transfer(request(other, hot, "30.00"));
+
+        CountDownLatch consolidated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Future<?> debit = callers.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findById(hot).orElseThrow();
+            stripedBalanceService.debit(account, Money.of(new BigDecimal("25.00")));
+            consolidated.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(consolidated.await(10, TimeUnit.SECONDS));
+
+        Future<?> credit = callers.submit(() -> transferService.transfer(request(other, hot, "7.00")));
+        Thread.sleep(300);
+        assertFalse(credit.isDone(), "slot credit did not wait for the consolidating debit");
+
+        commit.countDown();
+        debit.get(10, TimeUnit.SECONDS);
+        credit.get(10, TimeUnit.SECONDS);
+
+        assertEquals(new BigDecimal("5.00"), balance(hot));
+        assertEquals(new BigDecimal("7.00"), slotTotal(hot));
+        assertEquals(new BigDecimal("12.00"), total(hot));
+    }
+
+    /**
+     * Test striping an account that is being credited and debited - nothing is lost
+     */
+    @Test
+    void testStripe_WhileInUse() throws Exception {
+        Long hot = createAccount("100.00");
+        Long other = createAccount("1000.00");
+
+        List<Future<?>> transfers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            boolean credit = i % 2 == 0;
+            transfers.add(callers.submit(() -> credit
+                    ? transferService.transfer(request(createAccount("5.00"), hot, "5.00"))
+                    : transferService.transfer(request(hot, other, "1.00"))));
+            if (i == 10) {
+                stripeRacingTransfers(hot);
+            }
+        }
+        int succeeded = 0;
+        BigDecimal expected = new BigDecimal("100.00");
+        for (int i = 0; i < transfers.size(); i++) {
+            try {
+                transfers.get(i).get(30, TimeUnit.SECONDS);
+                expected = expected.add(new BigDecimal(i % 2 == 0 ? "5.00" : "-1.00"));
+                succeeded++;
+            } catch (Exception e) {
+                // Version conflicts with the striping transaction are expected; they move no money
+            }
+        }
+
+        assertTrue(succeeded > 0);
+        assertFalse(stripedBalanceService.stripe(hot));
+        assertEquals(expected, total(hot));
+    }
+
+    /**
+     * Stripe an account, trying again when a transfer updated it first (as HotAccountDetector does)
+     */
+    private void stripeRacingTransfers(Long accountId) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                assertTrue(stripedBalanceService.stripe(accountId));
+                return;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                assertTrue(attempt < 100, "account could not be striped");
+            }
+        }
+    }
+
+    private int version(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM accounts WHERE id = ?", Integer.class, accountId);
+    }
+
+    private BigDecimal slotTotal(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM account_balance_slots WHERE account_id = ?",
+                BigDecimal.class, accountId);
+    }
+
+    private BigDecimal total(Long accountId) {
+        return balance(accountId).add(slotTotal(accountId));
+    }
+}
@@ -0,0 +1,193 @@
+package com.moneytransfer.service;
+
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TransferRateLimiter
+ * Tests the GCRA buckets: burst size, refill over time, per-account limits, batches and eviction
+ */
+class TransferRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Test that a full bucket accepts exactly its burst at once
+     */
+    @Test
+    void testAcquire_Burst() {
+        // 1 token per second: no refill during the test
+        TransferRateLimiter limiter = limiter(1, 5, 1_000, 1_000, 100);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("client-1", null);
+        }
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("client-1", null));
+
+        assertEquals("client", e.getScope());
+        assertEquals(5, e.getLimit());
+        assertTrue(e.getRetryAfterNanos() > 0 && e.getRetryAfterNanos() <= 1_000_000_000L);
+        assertEquals(1, rejected("client"));
+    }
+
+    /**
+     * Test that an empty bucket gets tokens back as time passes
+     */
+    @Test
+    void testAcquire_Refill() throws InterruptedException {
+        // One token every 50 ms
+        TransferRateLimiter limiter = limiter(20, 2, 1_000, 1_000, 100);
+        limiter.acquire("client-1", null);
+        limiter.acquire("client-1", null);
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("client-1", null));
+
+        Thread.sleep(e.getRetryAfterNanos() / 1_000_000 + 20);
+
+        limiter.acquire("client-1", null);
+    }
+
+    /**
+     * Test that each client has its own bucket
+     */
+    @Test
+    void testAcquire_SeparateClients() {
+        TransferRateLimiter limiter = limiter(1, 1, 1_000, 1_000, 100);
+
+        limiter.acquire("client-1", null);
+        limiter.acquire("client-2", null);
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("client-1", null));
+    }
+
+    /**
+     * Test the per-account limit - debiting one account from many clients is still limited
+     */
+    @Test
+    void testAcquire_PerAccount() {
+        TransferRateLimiter limiter = limiter(1_000, 1_000, 1, 3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("client-" + i, 1L);
+        }
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("client-3", 1L));
+
+        assertEquals("account", e.getScope());
+        limiter.acquire("client-3", 2L);
+        assertEquals(1, rejected("account"));
+    }
+
+    /**
+     * Test that a batch takes one client token per item
+     */
+    @Test
+    void testAcquireBatch_OneTokenPerItem() {
+        TransferRateLimiter limiter = limiter(1, 5, 1_000, 1_000, 100);
+
+        limiter.acquireBatch("client-1", transfers(1L, 2L, 3L));
+        limiter.acquire("client-1", null);
+        limiter.acquire("client-1", null);
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquireBatch("client-1", transfers(4L)));
+        assertEquals(1, rejected("client"));
+    }
+
+    /**
+     * Test a batch larger than the burst - admitted on a full bucket, which then stays empty
+     * until the whole batch is paid off
+     */
+    @Test
+    void testAcquireBatch_LargerThanBurst() {
+        TransferRateLimiter limiter = limiter(1, 5, 1_000, 1_000, 100);
+
+        limiter.acquireBatch("client-1", transfers(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("client-1", null));
+
+        // Ten one-second tokens against a burst of five: six seconds until the bucket holds one again
+        assertTrue(e.getRetryAfterNanos() > 5_000_000_000L && e.getRetryAfterNanos() <= 6_000_000_000L,
+                "retry after " + e.getRetryAfterNanos());
+    }
+
+    /**
+     * Test that a batch takes one token per item from each debited account
+     */
+    @Test
+    void testAcquireBatch_PerAccount() {
+        TransferRateLimiter limiter = limiter(1_000, 1_000, 1, 3, 100);
+
+        limiter.acquireBatch("client-1", transfers(1L, 1L, 1L, 2L));
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("client-2", 1L));
+        assertEquals("account", e.getScope());
+        limiter.acquire("client-2", 2L);
+        limiter.acquire("client-2", 2L);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("client-2", 2L));
+    }
+
+    /**
+     * Test that a new key at max-keys drops a bucket, whose key then starts over with a full one
+     */
+    @Test
+    void testAcquire_EvictsWhenFull() {
+        TransferRateLimiter limiter = limiter(1, 1, 1_000, 1_000, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("client-" + i, null);
+        }
+
+        // None of the empty buckets has refilled, so about a tenth (one) is dropped
+        limiter.acquire("client-10", null);
+
+        int startedOver = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                limiter.acquire("client-" + i, null);
+                startedOver++;
+            } catch (RateLimitExceededException e) {
+                // Still empty
+            }
+        }
+        // A key starting over is new again and may drop another bucket, but most stay empty
+        assertTrue(startedOver >= 1 && startedOver < 10, "started over: " + startedOver);
+    }
+
+    /**
+     * Test that nothing is limited when rate limiting is disabled
+     */
+    @Test
+    void testAcquire_Disabled() {
+        TransferRateLimiter limiter = new TransferRateLimiter(meterRegistry, false, 1, 1, 1, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("client-1", 1L);
+        }
+    }
+
+    private TransferRateLimiter limiter(double clientRate, int clientBurst, double accountRate, int accountBurst,
+                                        int maxKeys) {
+        return new TransferRateLimiter(meterRegistry, true, clientRate, clientBurst, accountRate, accountBurst, maxKeys);
+    }
+
+    private static List<TransferRequest> transfers(Long... fromAccountIds) {
+        List<TransferRequest> transfers = new ArrayList<>();
+        for (Long fromAccountId : fromAccountIds) {
+            transfers.add(new TransferRequest(fromAccountId, 99L, new BigDecimal("1.00"), "batch-" + transfers.size()));
+        }
+        return transfers;
+    }
+
+    private double rejected(String scope) {
+        return meterRegistry.counter("moneytransfer.ratelimit.rejected", "scope", scope).count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account.debit/credit: BigDecimal arithmetic and the rejected-debit exception path
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("12.34");
+    private static final BigDecimal TOO_MUCH = new BigDecimal("1000000000000000000.00");
+
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = new Account();
+        account.setId(1L);
+        account.setHolderName("John Doe");
+        // Large enough that debit() never runs out within an iteration
+        account.setBalance(new BigDecimal("1000000000000000.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setVersion(0);
+        account.setLastUpdated(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public BigDecimal debit() {
+        account.debit(AMOUNT);
+        return account.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal credit() {
+        account.credit(AMOUNT);
+        return account.getBalance();
+    }
+
+    /**
+     * A debit followed by a credit, so the balance stays put across iterations
+     */
+    @Benchmark
+    public BigDecimal debitThenCredit() {
+        account.debit(AMOUNT);
+        account.credit(AMOUNT);
+        return account.getBalance();
+    }
+
+    /**
+     * Rejected debit: the cost of building and throwing InsufficientBalanceException
+     */
+    @Benchmark
+    public Object insufficientBalance() {
+        try {
+            account.debit(TOO_MUCH);
+            return account;
+        } catch (InsufficientBalanceException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.config.AuthTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request credential check: HTTP Basic (BCrypt, the SecurityConfig
+ * default strength) against a bearer token from AuthTokenService (HMAC-SHA256).
+ * Operations per second here are the per-core ceiling each check puts on
+ * request throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private AuthTokenService authTokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode("admin123");
+
+        authTokenService = new AuthTokenService("benchmark-secret", Duration.ofMinutes(15));
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+        token = authTokenService.issue(admin).getAccessToken();
+    }
+
+    @Benchmark
+    public boolean basicBcrypt() {
+        return passwordEncoder.matches("admin123", passwordHash);
+    }
+
+    @Benchmark
+    public Authentication bearerToken() {
+        return authTokenService.verify(token);
+    }
+}
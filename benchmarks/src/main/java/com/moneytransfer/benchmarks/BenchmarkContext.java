@@ -0,0 +1,58 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.MoneyTransferApplication;
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.repository.AccountRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application for benchmarks: no web server, quiet logging,
+ * and a private in-memory H2 database per benchmark
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.moneytransfer=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        args.addAll(List.of(extraArgs));
+
+        return new SpringApplicationBuilder(MoneyTransferApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Create active accounts with a large balance and return their IDs
+     */
+    static long[] seedAccounts(ConfigurableApplicationContext context, int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = new Account();
+            account.setHolderName("Benchmark " + i);
+            account.setBalance(new BigDecimal("1000000000.00"));
+            account.setStatus(AccountStatus.ACTIVE);
+            account.setVersion(0);
+            account.setLastUpdated(LocalDateTime.now());
+            accounts.add(account);
+        }
+
+        return context.getBean(AccountRepository.class).saveAll(accounts).stream()
+                .mapToLong(Account::getId)
+                .toArray();
+    }
+}
@@ -0,0 +1,77 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.service.TransferGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent single transfers through TransferGateway (jpa mode), each in its
+ * own transaction against group commit ({@code moneytransfer.group-commit.enabled})
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class GroupCommitBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"false", "true"})
+    private boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private TransferGateway transferGateway;
+    private long[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("group-commit-benchmark-" + groupCommit,
+                "--moneytransfer.group-commit.enabled=" + groupCommit);
+        transferGateway = context.getBean(TransferGateway.class);
+        accountIds = BenchmarkContext.seedAccounts(context, ACCOUNTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferResponse transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+
+        try {
+            return transferGateway.transfer(new TransferRequest(accountIds[from], accountIds[to], AMOUNT,
+                    UUID.randomUUID().toString()));
+        } catch (RuntimeException e) {
+            // Version conflicts between concurrent single transactions are part of the comparison
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.moneytransfer.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.dto.TransferResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the transfer response and a transaction log entry,
+ * using an ObjectMapper configured the way Spring Boot configures the application's
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TransferResponse transferResponse;
+    private TransactionLog transactionLog;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        transferResponse = TransferResponse.builder()
+                .transactionId(UUID.randomUUID())
+                .status("SUCCESS")
+                .message("Transfer completed successfully")
+                .debitedFrom(1L)
+                .creditedTo(2L)
+                .amount(new BigDecimal("500.00"))
+                .build();
+
+        transactionLog = TransactionLog.builder()
+                .id(UUID.randomUUID().toString())
+                .fromAccountId(1L)
+                .toAccountId(2L)
+                .amount(new BigDecimal("500.00"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .createdOn(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] transferResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transferResponse);
+    }
+
+    @Benchmark
+    public byte[] transactionLog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactionLog);
+    }
+}
@@ -0,0 +1,89 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.aspect.MetricsAspect;
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.dto.AccountResponse;
+import com.moneytransfer.service.AccountReadCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of MetricsAspect on a cheap service call (an AccountReadCache hit):
+ * the bare call, the call through a Spring AOP proxy without advice, and the
+ * call through the proxy with the metrics aspect
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsAspectBenchmark {
+
+    private static final Long ACCOUNT_ID = 1L;
+
+    @Param({"true", "false"})
+    private boolean percentileHistogram;
+
+    private AccountReadCache direct;
+    private AccountReadCache proxied;
+    private AccountReadCache instrumented;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        direct = new AccountReadCache(registry, true, 1000, Duration.ofHours(1), "jpa");
+
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        account.setHolderName("John Doe");
+        account.setBalance(new BigDecimal("1000.00"));
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setVersion(0);
+        account.setLastUpdated(LocalDateTime.now());
+        direct.put(account, new AccountResponse(ACCOUNT_ID, "John Doe", new BigDecimal("1000.00"), "ACTIVE"));
+
+        AspectJProxyFactory plainProxy = new AspectJProxyFactory(direct);
+        plainProxy.setProxyTargetClass(true);
+        proxied = plainProxy.getProxy();
+
+        AspectJProxyFactory metricsProxy = new AspectJProxyFactory(direct);
+        metricsProxy.setProxyTargetClass(true);
+        metricsProxy.addAspect(new MetricsAspect(registry, percentileHistogram, false, 0.01));
+        instrumented = metricsProxy.getProxy();
+    }
+
+    @Benchmark
+    public AccountResponse directCall() {
+        return direct.get(ACCOUNT_ID);
+    }
+
+    @Benchmark
+    public AccountResponse proxyWithoutAdvice() {
+        return proxied.get(ACCOUNT_ID);
+    }
+
+    @Benchmark
+    public AccountResponse metricsAspect() {
+        return instrumented.get(ACCOUNT_ID);
+    }
+}
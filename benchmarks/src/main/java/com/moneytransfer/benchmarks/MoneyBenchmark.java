@@ -0,0 +1,72 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.domain.value.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic of one debit and one credit: BigDecimal vs long minor units
+ *
+ * Run with {@code -Djmh.args="MoneyBenchmark -prof gc"} to compare allocation
+ * per operation (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final BigDecimal DECIMAL_AMOUNT = new BigDecimal("12.34");
+    private static final Money MONEY_AMOUNT = Money.of(DECIMAL_AMOUNT);
+
+    private BigDecimal decimalBalance;
+    private Money moneyBalance;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        decimalBalance = new BigDecimal("1000000.00");
+        moneyBalance = Money.of(decimalBalance);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        if (decimalBalance.compareTo(DECIMAL_AMOUNT) < 0) {
+            throw new IllegalStateException();
+        }
+        decimalBalance = decimalBalance.subtract(DECIMAL_AMOUNT);
+        decimalBalance = decimalBalance.add(DECIMAL_AMOUNT);
+        return decimalBalance;
+    }
+
+    @Benchmark
+    public Money money() {
+        if (moneyBalance.isLessThan(MONEY_AMOUNT)) {
+            throw new IllegalStateException();
+        }
+        moneyBalance = moneyBalance.minus(MONEY_AMOUNT);
+        moneyBalance = moneyBalance.plus(MONEY_AMOUNT);
+        return moneyBalance;
+    }
+
+    /**
+     * Converting a request amount once at the edge, as TransferService does
+     */
+    @Benchmark
+    public Money convertRequestAmount() {
+        return Money.of(DECIMAL_AMOUNT);
+    }
+}
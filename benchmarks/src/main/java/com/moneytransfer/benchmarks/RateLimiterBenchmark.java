@@ -0,0 +1,76 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.exception.RateLimitExceededException;
+import com.moneytransfer.service.TransferRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost TransferRateLimiter adds to a transfer: an admitted request on one hot
+ * client and account, on accounts spread over 10,000 buckets, the refused path
+ * (building RateLimitExceededException), and the limiter switched off
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+
+    private TransferRateLimiter unlimited;
+    private TransferRateLimiter exhausted;
+    private TransferRateLimiter disabled;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        // Rates far above what one thread can submit, so every request is admitted
+        unlimited = new TransferRateLimiter(new SimpleMeterRegistry(), true, 1e9, 1_000_000, 1e9, 1_000_000, 100_000);
+        // One token per hour, used up here, so every request is refused
+        exhausted = new TransferRateLimiter(new SimpleMeterRegistry(), true, 1.0 / 3600, 1, 1.0 / 3600, 1, 100_000);
+        exhausted.acquire("admin", 1L);
+        disabled = new TransferRateLimiter(new SimpleMeterRegistry(), false, 100, 200, 10, 20, 100_000);
+    }
+
+    @Benchmark
+    public TransferRateLimiter admitted() {
+        unlimited.acquire("admin", 1L);
+        return unlimited;
+    }
+
+    @Benchmark
+    public TransferRateLimiter admittedManyAccounts() {
+        unlimited.acquire("admin", next++ % ACCOUNTS);
+        return unlimited;
+    }
+
+    @Benchmark
+    public Object refused() {
+        try {
+            exhausted.acquire("admin", 1L);
+            return exhausted;
+        } catch (RateLimitExceededException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public TransferRateLimiter disabled() {
+        disabled.acquire("admin", 1L);
+        return disabled;
+    }
+}
@@ -0,0 +1,111 @@
+package com.moneytransfer.benchmarks;
+
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.dto.TransactionPage;
+import com.moneytransfer.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccountService history reads for accounts with growing histories:
+ * the full list (GET /transactions) against the first keyset page
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionHistoryBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int historySize;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("history-benchmark-" + historySize);
+        accountService = context.getBean(AccountService.class);
+
+        long[] accountIds = BenchmarkContext.seedAccounts(context, 2);
+        accountId = accountIds[0];
+        insertHistory(context.getBean(JdbcTemplate.class), accountIds[0], accountIds[1]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionLog> fullHistory() {
+        return accountService.getTransactions(accountId);
+    }
+
+    @Benchmark
+    public TransactionPage firstPage() {
+        return accountService.getTransactionPage(accountId, null, null, null, null);
+    }
+
+    /**
+     * Write the history directly with JDBC batches, alternating directions, one second apart
+     * Each transfer gets its log and the account's ledger posting, which is what history reads
+     */
+    private void insertHistory(JdbcTemplate jdbcTemplate, long account, long counterparty) {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(historySize);
+        List<Object[]> rows = new ArrayList<>(historySize);
+        List<Object[]> postings = new ArrayList<>(historySize);
+        BigDecimal amount = new BigDecimal("10.00");
+        BigDecimal balance = new BigDecimal("1000000.00");
+        for (int i = 0; i < historySize; i++) {
+            boolean outgoing = i % 2 == 0;
+            String id = UUID.randomUUID().toString();
+            Timestamp createdOn = Timestamp.valueOf(start.plusSeconds(i));
+            balance = outgoing ? balance.subtract(amount) : balance.add(amount);
+
+            rows.add(new Object[]{
+                    id,
+                    outgoing ? account : counterparty,
+                    outgoing ? counterparty : account,
+                    amount,
+                    TransactionStatus.SUCCESS.name(),
+                    "history-" + i,
+                    createdOn});
+            postings.add(new Object[]{
+                    account, createdOn, id, counterparty,
+                    outgoing ? amount.negate() : amount,
+                    balance,
+                    "history-" + i});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, "
+                + "status, idempotency_key, created_on) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.batchUpdate("INSERT INTO ledger_postings (account_id, created_on, transaction_id, "
+                + "counterparty_account_id, amount, balance_after, idempotency_key) VALUES (?, ?, ?, ?, ?, ?, ?)", postings);
+    }
+}
@@ -8,12 +8,25 @@ CREATE TABLE accounts (
                           holder_name VARCHAR(255) NOT NULL,
                           balance DECIMAL(18,2) NOT NULL,
                           status VARCHAR(20) NOT NULL,
+                          striped BOOLEAN NOT NULL DEFAULT FALSE,
                           version INT DEFAULT 0,
                           last_updated TIMESTAMP,
                           CONSTRAINT chk_balance CHECK (balance >= 0),
                           CONSTRAINT chk_status CHECK (status IN ('ACTIVE', 'LOCKED', 'CLOSED'))
 );
 
+-- ACCOUNT_BALANCE_SLOTS Table
+-- Sub-balances of striped (hot) accounts; balance = accounts.balance + SUM(slots)
+CREATE TABLE account_balance_slots (
+                                       id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                       account_id BIGINT NOT NULL,
+                                       slot INT NOT NULL,
+                                       balance DECIMAL(18,2) NOT NULL,
+                                       CONSTRAINT uk_account_slot UNIQUE (account_id, slot),
+                                       CONSTRAINT fk_slot_account FOREIGN KEY (account_id) REFERENCES accounts(id),
+                                       CONSTRAINT chk_slot_balance CHECK (balance >= 0)
+);
+
 -- TRANSACTION_LOGS Table
 CREATE TABLE transaction_logs (
                                   id VARCHAR(36) PRIMARY KEY,
@@ -22,16 +35,57 @@ CREATE TABLE transaction_logs (
                                   amount DECIMAL(18,2) NOT NULL,
                                   status VARCHAR(20) NOT NULL,
                                   failure_reason VARCHAR(255),
-                                  idempotency_key VARCHAR(100) UNIQUE NOT NULL,
+                                  idempotency_key VARCHAR(100) NOT NULL,
                                   created_on TIMESTAMP NOT NULL,
+                                  CONSTRAINT uk_idempotency_key UNIQUE (idempotency_key),
                                   CONSTRAINT fk_from_account FOREIGN KEY (from_account_id) REFERENCES accounts(id),
                                   CONSTRAINT fk_to_account FOREIGN KEY (to_account_id) REFERENCES accounts(id),
                                   CONSTRAINT chk_amount CHECK (amount > 0),
                                   CONSTRAINT chk_transaction_status CHECK (status IN ('SUCCESS', 'FAILED'))
 );
 
+-- LEDGER_POSTINGS Table
+-- Both legs of each successful transfer (negative amount = debit leg)
+-- The primary key is the order of an account's history, so a history page is one range scan of it
+CREATE TABLE ledger_postings (
+                                 account_id BIGINT NOT NULL,
+                                 created_on TIMESTAMP NOT NULL,
+                                 transaction_id VARCHAR(36) NOT NULL,
+                                 counterparty_account_id BIGINT NOT NULL,
+                                 amount DECIMAL(18,2) NOT NULL,
+                                 balance_after DECIMAL(18,2) NOT NULL,
+                                 idempotency_key VARCHAR(100) NOT NULL,
+                                 PRIMARY KEY (account_id, created_on, transaction_id),
+                                 CONSTRAINT fk_posting_account FOREIGN KEY (account_id) REFERENCES accounts(id),
+                                 CONSTRAINT fk_posting_counterparty FOREIGN KEY (counterparty_account_id) REFERENCES accounts(id)
+);
+
+-- ACCOUNT_BALANCE_SNAPSHOTS Table
+-- End-of-day balance of each account on the days it had postings (written by the snapshot job)
+CREATE TABLE account_balance_snapshots (
+                                           account_id BIGINT NOT NULL,
+                                           snapshot_date DATE NOT NULL,
+                                           balance DECIMAL(18,2) NOT NULL,
+                                           computed_on TIMESTAMP NOT NULL,
+                                           PRIMARY KEY (account_id, snapshot_date),
+                                           CONSTRAINT fk_snapshot_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
+
+-- BALANCE_SNAPSHOT_CHECKPOINT Table
+-- Progress of the snapshot job, a single row with id 1
+CREATE TABLE balance_snapshot_checkpoint (
+                                             id INT PRIMARY KEY,
+                                             processed_until TIMESTAMP NOT NULL
+);
+
+-- REPLICATION_HEARTBEAT Table
+-- Time last written on the primary, a single row with id 1 (replica lag = now - the replica's copy)
+CREATE TABLE replication_heartbeat (
+                                       id INT PRIMARY KEY,
+                                       beat TIMESTAMP(6) NOT NULL
+);
+
 -- Indexes for better query performance
-CREATE INDEX idx_from_account ON transaction_logs(from_account_id);
-CREATE INDEX idx_to_account ON transaction_logs(to_account_id);
-CREATE INDEX idx_idempotency ON transaction_logs(idempotency_key);
+-- (History is read from ledger_postings, so transaction_logs has no per-account indexes;
+-- idempotency keys are looked up through uk_idempotency_key)
 CREATE INDEX idx_created_on ON transaction_logs(created_on);
\ No newline at end of file
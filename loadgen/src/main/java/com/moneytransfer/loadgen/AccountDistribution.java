@@ -0,0 +1,93 @@
+package com.moneytransfer.loadgen;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses the accounts of each transfer, shaping how much they contend
+ */
+interface AccountDistribution {
+
+    /**
+     * Pick the index of an account
+     */
+    int next(ThreadLocalRandom random);
+
+    /**
+     * Pick the receiving account of a transfer from the given sender
+     */
+    default int nextRecipient(ThreadLocalRandom random, int sender) {
+        int recipient = next(random);
+        while (recipient == sender) {
+            recipient = next(random);
+        }
+        return recipient;
+    }
+
+    static AccountDistribution of(LoadConfig config) {
+        int accounts = config.accountIds().length;
+        return switch (config.distribution()) {
+            case "uniform" -> new Uniform(accounts);
+            case "zipf" -> new Zipf(accounts, config.zipfExponent());
+            case "hot" -> new HotAccount(accounts, config.hotRatio());
+            default -> throw new IllegalArgumentException("Unknown distribution: " + config.distribution());
+        };
+    }
+
+    /**
+     * Every account equally likely: the low-contention baseline
+     */
+    record Uniform(int accounts) implements AccountDistribution {
+
+        @Override
+        public int next(ThreadLocalRandom random) {
+            return random.nextInt(accounts);
+        }
+    }
+
+    /**
+     * Zipfian popularity: account k is picked with probability proportional to 1 / k^exponent
+     */
+    final class Zipf implements AccountDistribution {
+
+        private final double[] cumulative;
+
+        Zipf(int accounts, double exponent) {
+            cumulative = new double[accounts];
+            double sum = 0;
+            for (int k = 0; k < accounts; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < accounts; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        @Override
+        public int next(ThreadLocalRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            int account = index >= 0 ? index : -index - 1;
+            return Math.min(account, cumulative.length - 1);
+        }
+    }
+
+    /**
+     * One hot account (the first) receives hot-ratio of all transfers, senders are uniform
+     */
+    record HotAccount(int accounts, double hotRatio) implements AccountDistribution {
+
+        @Override
+        public int next(ThreadLocalRandom random) {
+            return random.nextInt(accounts);
+        }
+
+        @Override
+        public int nextRecipient(ThreadLocalRandom random, int sender) {
+            if (sender != 0 && random.nextDouble() < hotRatio) {
+                return 0;
+            }
+            return AccountDistribution.super.nextRecipient(random, sender);
+        }
+    }
+}
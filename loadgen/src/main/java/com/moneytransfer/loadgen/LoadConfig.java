@@ -0,0 +1,109 @@
+package com.moneytransfer.loadgen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load generator settings, parsed from --name=value arguments
+ */
+record LoadConfig(String baseUrl,
+                  String username,
+                  String password,
+                  String auth,
+                  int concurrency,
+                  int durationSeconds,
+                  int warmupSeconds,
+                  double rate,
+                  long[] accountIds,
+                  String distribution,
+                  double zipfExponent,
+                  double hotRatio,
+                  double readRatio,
+                  double replayRatio,
+                  String amount,
+                  int reportSeconds,
+                  String histogramFile) {
+
+    static final String USAGE = """
+            Usage: java -jar money-transfer-loadgen.jar [--name=value ...]
+
+              --url=http://localhost:8080   Base URL of the backend
+              --user=admin --password=admin123
+              --auth=basic                  basic (BCrypt-checked password on every request) | token (one
+                                            POST /api/v1/auth/token, then a bearer token; keep runs within its ttl)
+              --concurrency=64              Concurrent client threads
+              --duration=30                 Measured seconds
+              --warmup=5                    Seconds of load before measuring
+              --rate=0                      Target requests/sec over all threads (0 = as fast as possible);
+                                            with a rate, latency is measured from the intended send time
+              --accounts=1-3                Account IDs to use: a range (1-1000) or a list (1,2,5)
+              --distribution=uniform        uniform | zipf | hot
+              --zipf-exponent=1.0           Skew of the zipf distribution
+              --hot-ratio=0.9               Share of transfers that credit the first account (hot)
+              --read-ratio=0.1              Share of requests that read GET /accounts/{id}/balance
+              --replay-ratio=0.05           Share of transfers that resend an already used idempotency key
+              --amount=1.00                 Amount of every transfer
+              --report=5                    Seconds between progress lines
+              --histogram=                  Optional file for the full transfer latency distribution (.hgrm)
+            """;
+
+    static LoadConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String[] parts = arg.substring(2).split("=", 2);
+            values.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+
+        LoadConfig config = new LoadConfig(
+                stripTrailingSlash(values.getOrDefault("url", "http://localhost:8080")),
+                values.getOrDefault("user", "admin"),
+                values.getOrDefault("password", "admin123"),
+                values.getOrDefault("auth", "basic"),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Integer.parseInt(values.getOrDefault("warmup", "5")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                parseAccounts(values.getOrDefault("accounts", "1-3")),
+                values.getOrDefault("distribution", "uniform"),
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "1.0")),
+                Double.parseDouble(values.getOrDefault("hot-ratio", "0.9")),
+                Double.parseDouble(values.getOrDefault("read-ratio", "0.1")),
+                Double.parseDouble(values.getOrDefault("replay-ratio", "0.05")),
+                values.getOrDefault("amount", "1.00"),
+                Integer.parseInt(values.getOrDefault("report", "5")),
+                values.get("histogram"));
+
+        if (config.accountIds.length < 2) {
+            throw new IllegalArgumentException("At least two accounts are needed");
+        }
+        if (!config.auth.equals("basic") && !config.auth.equals("token")) {
+            throw new IllegalArgumentException("Unknown auth: " + config.auth);
+        }
+        if (config.concurrency < 1 || config.durationSeconds < 1) {
+            throw new IllegalArgumentException("Concurrency and duration must be positive");
+        }
+        return config;
+    }
+
+    private static long[] parseAccounts(String spec) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] range = part.trim().split("-");
+            long first = Long.parseLong(range[0]);
+            long last = range.length > 1 ? Long.parseLong(range[1]) : first;
+            for (long id = first; id <= last; id++) {
+                ids.add(id);
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,304 @@
+package com.moneytransfer.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load generator for POST /api/v1/transfers and GET /api/v1/accounts/{id}/balance
+ *
+ * Each client thread sends requests back to back (closed loop), or paced to
+ * --rate (open loop, latency measured from the intended send time so a
+ * stalled server isn't hidden by coordinated omission). Latencies go into
+ * HdrHistograms per operation; every response is classified by HTTP status
+ * and the backend's errorCode, so optimistic-lock conflicts (CON-409),
+ * duplicate keys (TRX-409) and server errors show up separately.
+ *
+ * Some transfers resend an idempotency key that was already used; those must
+ * come back as TRX-409, anything else is counted as a replay violation.
+ */
+public class LoadGenerator {
+
+    private static final Pattern ERROR_CODE = Pattern.compile("\"errorCode\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final int REPLAY_KEYS = 4096;
+
+    private final LoadConfig config;
+    private final AccountDistribution distribution;
+    private final HttpClient client;
+    private final String authorization;
+
+    private final Recorder transferLatency = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Recorder readLatency = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder replayViolations = new LongAdder();
+    private final AtomicReferenceArray<String> usedKeys = new AtomicReferenceArray<>(REPLAY_KEYS);
+    private final AtomicLong usedKeyCount = new AtomicLong();
+    private volatile boolean measuring;
+
+    LoadGenerator(LoadConfig config) throws IOException, InterruptedException {
+        this.config = config;
+        this.distribution = AccountDistribution.of(config);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String basic = "Basic " + Base64.getEncoder().encodeToString(
+                (config.username() + ":" + config.password()).getBytes(StandardCharsets.UTF_8));
+        this.authorization = "token".equals(config.auth()) ? "Bearer " + fetchToken(basic) : basic;
+    }
+
+    /**
+     * Log in once with the password and return a bearer token
+     */
+    private String fetchToken(String basic) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/api/v1/auth/token"))
+                .header("Authorization", basic)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IOException("Could not get a token: HTTP " + response.statusCode());
+        }
+        return matcher.group(1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.println(LoadConfig.USAGE);
+            return;
+        }
+
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        new LoadGenerator(config).run();
+    }
+
+    void run() throws InterruptedException, IOException {
+        System.out.printf("Load: %d clients, %s distribution over %d accounts, %s, %ds warm-up + %ds against %s%n",
+                config.concurrency(), config.distribution(), config.accountIds().length,
+                config.rate() > 0 ? config.rate() + " req/s" : "closed loop",
+                config.warmupSeconds(), config.durationSeconds(), config.baseUrl());
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        List<Thread> workers = new ArrayList<>(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            Thread worker = new Thread(() -> work(end), "loadgen-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        // Warm-up: run the load but throw the numbers away
+        sleepUntil(measureFrom);
+        transferLatency.reset();
+        readLatency.reset();
+        outcomes.clear();
+        replayViolations.reset();
+        measuring = true;
+
+        Histogram transfers = new Histogram(MAX_LATENCY_NANOS, 3);
+        Histogram reads = new Histogram(MAX_LATENCY_NANOS, 3);
+        long intervalStart = System.nanoTime();
+        while (System.nanoTime() < end) {
+            sleepUntil(Math.min(end, System.nanoTime() + TimeUnit.SECONDS.toNanos(config.reportSeconds())));
+
+            Histogram intervalTransfers = transferLatency.getIntervalHistogram();
+            Histogram intervalReads = readLatency.getIntervalHistogram();
+            transfers.add(intervalTransfers);
+            reads.add(intervalReads);
+
+            long now = System.nanoTime();
+            double seconds = (now - intervalStart) / 1e9;
+            intervalStart = now;
+            System.out.printf("[%5.0fs] transfers %8.1f/s p50 %7.2f ms p99 %8.2f ms | reads %8.1f/s p99 %8.2f ms%n",
+                    (now - measureFrom) / 1e9,
+                    intervalTransfers.getTotalCount() / seconds, millis(intervalTransfers, 50), millis(intervalTransfers, 99),
+                    intervalReads.getTotalCount() / seconds, millis(intervalReads, 99));
+        }
+        measuring = false;
+
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        report(transfers, reads, (end - measureFrom) / 1e9);
+    }
+
+    private void work(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long pacingNanos = config.rate() > 0 ? (long) (config.concurrency() * 1e9 / config.rate()) : 0;
+        long intended = System.nanoTime();
+
+        while (System.nanoTime() < end) {
+            if (pacingNanos > 0) {
+                intended += pacingNanos;
+                sleepUntil(intended);
+            } else {
+                intended = System.nanoTime();
+            }
+
+            if (random.nextDouble() < config.readRatio()) {
+                long accountId = config.accountIds()[distribution.next(random)];
+                Outcome outcome = send(HttpRequest.newBuilder(
+                                URI.create(config.baseUrl() + "/api/v1/accounts/" + accountId + "/balance"))
+                        .header("Authorization", authorization)
+                        .GET());
+                record(readLatency, intended, "read", outcome);
+            } else {
+                transfer(random, intended);
+            }
+        }
+    }
+
+    private void transfer(ThreadLocalRandom random, long intended) {
+        int from = distribution.next(random);
+        int to = distribution.nextRecipient(random, from);
+
+        // Resend a key from an earlier transfer, or use (and remember) a fresh one
+        long keysUsed = Math.min(usedKeyCount.get(), REPLAY_KEYS);
+        String replayedKey = keysUsed > 0 && random.nextDouble() < config.replayRatio()
+                ? usedKeys.get(random.nextInt((int) keysUsed))
+                : null;
+        String key = replayedKey != null ? replayedKey : UUID.randomUUID().toString();
+
+        String body = String.format("{\"fromAccountId\":%d,\"toAccountId\":%d,\"amount\":%s,\"idempotencyKey\":\"%s\"}",
+                config.accountIds()[from], config.accountIds()[to], config.amount(), key);
+        Outcome outcome = send(HttpRequest.newBuilder(URI.create(config.baseUrl() + "/api/v1/transfers"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+
+        if (replayedKey != null) {
+            if (measuring && !"TRX-409".equals(outcome.errorCode())) {
+                replayViolations.increment();
+            }
+            record(transferLatency, intended, "replay", outcome);
+        } else {
+            if (outcome.status() == 200) {
+                usedKeys.set((int) (usedKeyCount.getAndIncrement() % REPLAY_KEYS), key);
+            }
+            record(transferLatency, intended, "transfer", outcome);
+        }
+    }
+
+    private Outcome send(HttpRequest.Builder request) {
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            String errorCode = null;
+            if (response.statusCode() >= 400) {
+                Matcher matcher = ERROR_CODE.matcher(response.body());
+                errorCode = matcher.find() ? matcher.group(1) : "-";
+            }
+            return new Outcome(response.statusCode(), errorCode);
+        } catch (IOException e) {
+            return new Outcome(0, e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(0, "interrupted");
+        }
+    }
+
+    private void record(Recorder recorder, long intended, String operation, Outcome outcome) {
+        recorder.recordValue(Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS));
+        if (measuring) {
+            outcomes.computeIfAbsent(operation + " " + outcome, k -> new LongAdder()).increment();
+        }
+    }
+
+    private void report(Histogram transfers, Histogram reads, double seconds) throws IOException {
+        System.out.println();
+        System.out.printf("Measured %.0f s%n", seconds);
+        summary("transfers", transfers, seconds);
+        summary("reads", reads, seconds);
+
+        System.out.println();
+        System.out.println("Responses:");
+        new TreeMap<>(outcomes).forEach((outcome, count) ->
+                System.out.printf("  %-40s %10d%n", outcome, count.sum()));
+
+        long conflicts = outcomes.entrySet().stream()
+                .filter(e -> e.getKey().contains("CON-409"))
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+        long total = transfers.getTotalCount();
+        System.out.printf("Optimistic-lock conflicts: %d (%.2f%% of transfers)%n", conflicts,
+                total == 0 ? 0 : 100.0 * conflicts / total);
+        System.out.printf("Replayed keys not rejected as TRX-409: %d%n", replayViolations.sum());
+
+        if (config.histogramFile() != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(config.histogramFile()), true,
+                    StandardCharsets.UTF_8)) {
+                // Values are in nanoseconds; scale the percentile table to milliseconds
+                transfers.outputPercentileDistribution(out, 1_000_000.0);
+            }
+            System.out.println("Transfer latency distribution written to " + config.histogramFile());
+        }
+    }
+
+    private static void summary(String name, Histogram histogram, double seconds) {
+        System.out.printf("%-10s %10d requests %9.1f/s | p50 %8.2f  p90 %8.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f ms%n",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1e6);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * HTTP status (0 for connection errors) and the backend errorCode of an error response
+     */
+    private record Outcome(int status, String errorCode) {
+
+        @Override
+        public String toString() {
+            return errorCode == null ? String.valueOf(status) : status + " " + errorCode;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.moneytransfer.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Reactive (WebFlux + R2DBC) variant of the money transfer API
+ *
+ * Serves the same /api/v1/transfers and /api/v1/accounts contracts as the
+ * backend, with the backend's Account business rules, on a small number of
+ * event loop threads instead of one thread per request.
+ */
+@SpringBootApplication
+public class ReactiveMoneyTransferApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveMoneyTransferApplication.class, args);
+    }
+}
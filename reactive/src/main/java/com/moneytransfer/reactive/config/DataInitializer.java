@@ -0,0 +1,54 @@
+package com.moneytransfer.reactive.config;
+
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.reactive.repository.AccountR2dbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Seeds the same accounts as the backend when the accounts table is empty
+ *
+ * Unlike the backend it never clears existing data, so it can point at a
+ * database the backend already seeded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataInitializer implements CommandLineRunner {
+
+    private final AccountR2dbcRepository accountRepository;
+
+    @Value("${moneytransfer.seed.load-test-accounts:0}")
+    private int loadTestAccounts;
+
+    @Override
+    public void run(String... args) {
+        long existing = accountRepository.count().block();
+        if (existing > 0) {
+            log.info("Database already holds {} accounts, skipping seed data", existing);
+            return;
+        }
+
+        log.info("Initializing database with seed data...");
+        Mono<Void> seed = accountRepository.insert("John Doe", new BigDecimal("10000.00"), AccountStatus.ACTIVE)
+                .then(accountRepository.insert("Jane Smith", new BigDecimal("5000.00"), AccountStatus.ACTIVE))
+                .then(accountRepository.insert("Bob Wilson", new BigDecimal("15000.00"), AccountStatus.ACTIVE))
+                .then(accountRepository.insert("Alice Brown", new BigDecimal("2000.00"), AccountStatus.LOCKED))
+                .then(accountRepository.insert("Charlie Davis", new BigDecimal("0.00"), AccountStatus.CLOSED))
+                // Extra active accounts for the load generator (IDs 6 and up)
+                .thenMany(Flux.range(1, loadTestAccounts)
+                        .concatMap(i -> accountRepository.insert("Load Test " + i,
+                                new BigDecimal("1000000.00"), AccountStatus.ACTIVE)))
+                .then();
+        seed.block();
+
+        log.info("✓ Database initialized with {} accounts", accountRepository.count().block());
+    }
+}
@@ -0,0 +1,125 @@
+package com.moneytransfer.reactive.config;
+
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.dto.ErrorResponse;
+import com.moneytransfer.exception.AccountNotActiveException;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.exception.InsufficientBalanceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global exception handler for the reactive controllers
+ *
+ * Same error codes and statuses as the backend's handler
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    /**
+     * Returns 404 Not Found
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNotFound(AccountNotFoundException ex) {
+        log.error("Account not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, "ACC-404", ex.getMessage());
+    }
+
+    /**
+     * Returns 403 Forbidden
+     */
+    @ExceptionHandler(AccountNotActiveException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNotActive(AccountNotActiveException ex) {
+        log.error("Account not active: {}", ex.getMessage());
+        return error(HttpStatus.FORBIDDEN, "ACC-403", ex.getMessage());
+    }
+
+    /**
+     * Returns 400 Bad Request
+     */
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientBalance(InsufficientBalanceException ex) {
+        log.error("Insufficient balance: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "TRX-400", ex.getMessage());
+    }
+
+    /**
+     * Returns 409 Conflict
+     */
+    @ExceptionHandler(DuplicateTransferException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateTransfer(DuplicateTransferException ex) {
+        log.error("Duplicate transfer: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, "TRX-409", ex.getMessage());
+    }
+
+    /**
+     * Duplicate idempotency key caught by the unique constraint (two concurrent
+     * requests with the same key); returns 409 Conflict
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String message = ex.getMostSpecificCause().getMessage();
+        if (message == null || !message.toLowerCase().contains(TransactionLog.IDEMPOTENCY_KEY_CONSTRAINT)) {
+            return handleGenericException(ex);
+        }
+
+        log.error("Duplicate transfer rejected by unique constraint: {}", message);
+        return error(HttpStatus.CONFLICT, "TRX-409", "Duplicate transfer detected with an already used idempotency key");
+    }
+
+    /**
+     * Concurrent update of the same account (version check); returns 409 Conflict
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update conflict: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, "CON-409", "The account was updated concurrently, please retry the transfer");
+    }
+
+    /**
+     * Validation errors (from @Valid); returns 422 Unprocessable Entity
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationErrors(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error ->
+                errors.put(((FieldError) error).getField(), error.getDefaultMessage()));
+
+        log.error("Validation errors: {}", errors);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errors);
+    }
+
+    /**
+     * Returns 422 Unprocessable Entity
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        log.error("Invalid argument: {}", ex.getMessage());
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, "VAL-422", ex.getMessage());
+    }
+
+    /**
+     * Returns 500 Internal Server Error
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        log.error("Unexpected error: ", ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "SYS-500", "An unexpected error occurred: " + ex.getMessage());
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String errorCode, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(errorCode, message));
+    }
+}
@@ -0,0 +1,86 @@
+package com.moneytransfer.reactive.config;
+
+import com.moneytransfer.config.AuthTokenService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+/**
+ * Security configuration, same users, HTTP Basic authentication and bearer
+ * tokens ({@link AuthTokenService}) as the backend
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Import(AuthTokenService.class)
+public class SecurityConfig {
+
+    private static final String BEARER = "Bearer ";
+    private static final String TOKEN_PATH = "/api/v1/auth/token";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, AuthTokenService authTokenService) {
+        return http
+                // Disable CSRF for REST API (not needed for stateless APIs)
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange.anyExchange().authenticated())
+                .httpBasic(withDefaults())
+
+                // Accept bearer tokens from POST /api/v1/auth/token (no BCrypt per request)
+                .addFilterAt(bearerTokenFilter(authTokenService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Authenticates {@code Authorization: Bearer <token>}; without a valid token the
+     * request goes on unauthenticated and gets the usual 401. Not applied to the token
+     * endpoint itself, so tokens can't be renewed without the password.
+     */
+    private static AuthenticationWebFilter bearerTokenFilter(AuthTokenService authTokenService) {
+        // The converter already returns a verified authentication
+        AuthenticationWebFilter filter = new AuthenticationWebFilter((ReactiveAuthenticationManager) Mono::just);
+        filter.setRequiresAuthenticationMatcher(new NegatedServerWebExchangeMatcher(
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, TOKEN_PATH)));
+        filter.setServerAuthenticationConverter(exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+                return Mono.empty();
+            }
+            return Mono.justOrEmpty(authTokenService.verify(header.substring(BEARER.length()).trim()));
+        });
+        return filter;
+    }
+
+    @Bean
+    public MapReactiveUserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        UserDetails user = User.builder()
+                .username("admin")
+                .password(passwordEncoder.encode("admin123"))
+                .roles("USER", "ADMIN")
+                .build();
+
+        return new MapReactiveUserDetailsService(user);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
@@ -0,0 +1,53 @@
+package com.moneytransfer.reactive.controller;
+
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.dto.AccountResponse;
+import com.moneytransfer.reactive.service.ReactiveAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * REST Controller for account operations
+ *
+ * Base URL: /api/v1/accounts
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+public class AccountController {
+
+    private final ReactiveAccountService accountService;
+
+    /**
+     * GET /api/v1/accounts/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<AccountResponse> getAccount(@PathVariable Long id) {
+        return accountService.getAccount(id);
+    }
+
+    /**
+     * GET /api/v1/accounts/{id}/balance
+     */
+    @GetMapping("/{id}/balance")
+    public Mono<BigDecimal> getBalance(@PathVariable Long id) {
+        return accountService.getBalance(id);
+    }
+
+    /**
+     * Full transaction history as a JSON array, newest first
+     *
+     * GET /api/v1/accounts/{id}/transactions
+     */
+    @GetMapping("/{id}/transactions")
+    public Flux<TransactionLog> getTransactions(@PathVariable Long id) {
+        return accountService.getTransactions(id);
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneytransfer.reactive.controller;
+
+import com.moneytransfer.config.AuthTokenService;
+import com.moneytransfer.dto.TokenResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for bearer tokens
+ *
+ * Base URL: /api/v1/auth
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthTokenService authTokenService;
+
+    /**
+     * Exchange HTTP Basic credentials for a short-lived bearer token, as on the backend
+     *
+     * POST /api/v1/auth/token
+     */
+    @PostMapping("/token")
+    public Mono<TokenResponse> token(Authentication authentication) {
+        return Mono.just(authTokenService.issue(authentication));
+    }
+}
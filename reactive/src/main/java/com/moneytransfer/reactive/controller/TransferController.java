@@ -0,0 +1,33 @@
+package com.moneytransfer.reactive.controller;
+
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.reactive.service.ReactiveTransferService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for money transfer operations
+ *
+ * Base URL: /api/v1/transfers
+ */
+@RestController
+@RequestMapping("/api/v1/transfers")
+@RequiredArgsConstructor
+public class TransferController {
+
+    private final ReactiveTransferService transferService;
+
+    /**
+     * POST /api/v1/transfers
+     */
+    @PostMapping
+    public Mono<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        return transferService.transfer(request);
+    }
+}
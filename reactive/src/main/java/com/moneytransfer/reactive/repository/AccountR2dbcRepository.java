@@ -0,0 +1,104 @@
+package com.moneytransfer.reactive.repository;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.enums.AccountStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive access to the accounts table
+ *
+ * Rows are mapped to the backend's {@link Account}, so transfers apply the
+ * same debit/credit rules. Updates check and bump the version column like
+ * JPA's optimistic locking, so both stacks can share a database.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountR2dbcRepository {
+
+    private static final String SELECT_ACCOUNT =
+            "SELECT id, holder_name, balance, status, striped, version, last_updated FROM accounts WHERE id = :id";
+
+    private static final String SELECT_SLOT_BALANCE =
+            "SELECT COALESCE(SUM(balance), 0) FROM account_balance_slots WHERE account_id = :accountId";
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE accounts SET balance = :balance, version = version + 1, last_updated = :lastUpdated " +
+                    "WHERE id = :id AND version = :version";
+
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO accounts (holder_name, balance, status, striped, version, last_updated) " +
+                    "VALUES (:holderName, :balance, :status, FALSE, 0, :lastUpdated)";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Account> findById(Long id) {
+        return databaseClient.sql(SELECT_ACCOUNT)
+                .bind("id", id)
+                .map(AccountR2dbcRepository::toAccount)
+                .one();
+    }
+
+    /**
+     * Part of a striped account's balance held in account_balance_slots
+     */
+    public Mono<BigDecimal> findSlotBalance(Long accountId) {
+        return databaseClient.sql(SELECT_SLOT_BALANCE)
+                .bind("accountId", accountId)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+
+    /**
+     * Write the account's balance if nobody changed the row since it was read
+     *
+     * @throws OptimisticLockingFailureException (as an error signal) on a concurrent update
+     */
+    public Mono<Void> updateBalance(Account account) {
+        return databaseClient.sql(UPDATE_BALANCE)
+                .bind("balance", account.getBalance())
+                .bind("lastUpdated", LocalDateTime.now())
+                .bind("id", account.getId())
+                .bind("version", account.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new OptimisticLockingFailureException(
+                                "Account " + account.getId() + " was updated concurrently")));
+    }
+
+    public Mono<Void> insert(String holderName, BigDecimal balance, AccountStatus status) {
+        return databaseClient.sql(INSERT_ACCOUNT)
+                .bind("holderName", holderName)
+                .bind("balance", balance)
+                .bind("status", status.name())
+                .bind("lastUpdated", LocalDateTime.now())
+                .then();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM accounts")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static Account toAccount(Readable row) {
+        Account account = new Account();
+        account.setId(row.get("id", Long.class));
+        account.setHolderName(row.get("holder_name", String.class));
+        account.setBalance(row.get("balance", BigDecimal.class));
+        account.setStatus(AccountStatus.valueOf(row.get("status", String.class)));
+        account.setStriped(Boolean.TRUE.equals(row.get("striped", Boolean.class)));
+        account.setVersion(row.get("version", Integer.class));
+        account.setLastUpdated(row.get("last_updated", LocalDateTime.class));
+        return account;
+    }
+}
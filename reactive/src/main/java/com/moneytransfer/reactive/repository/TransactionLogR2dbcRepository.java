@@ -0,0 +1,103 @@
+package com.moneytransfer.reactive.repository;
+
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive access to transaction_logs and ledger_postings
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionLogR2dbcRepository {
+
+    private static final String EXISTS_IDEMPOTENCY_KEY =
+            "SELECT COUNT(*) FROM transaction_logs WHERE idempotency_key = :idempotencyKey";
+
+    private static final String INSERT_LOG =
+            "INSERT INTO transaction_logs (id, from_account_id, to_account_id, amount, status, " +
+                    "failure_reason, idempotency_key, created_on) " +
+                    "VALUES (:id, :fromAccountId, :toAccountId, :amount, :status, :failureReason, :idempotencyKey, :createdOn)";
+
+    private static final String INSERT_POSTING =
+            "INSERT INTO ledger_postings (account_id, created_on, transaction_id, counterparty_account_id, " +
+                    "amount, balance_after, idempotency_key) " +
+                    "VALUES (:accountId, :createdOn, :transactionId, :counterpartyAccountId, :amount, :balanceAfter, :idempotencyKey)";
+
+    private static final String SELECT_POSTINGS =
+            "SELECT account_id, created_on, transaction_id, counterparty_account_id, amount, balance_after, idempotency_key " +
+                    "FROM ledger_postings WHERE account_id = :accountId ORDER BY created_on DESC, transaction_id DESC";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsByIdempotencyKey(String idempotencyKey) {
+        return databaseClient.sql(EXISTS_IDEMPOTENCY_KEY)
+                .bind("idempotencyKey", idempotencyKey)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    public Mono<Void> insert(TransactionLog transaction) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_LOG)
+                .bind("id", transaction.getId())
+                .bind("fromAccountId", transaction.getFromAccountId())
+                .bind("toAccountId", transaction.getToAccountId())
+                .bind("amount", transaction.getAmount())
+                .bind("status", transaction.getStatus().name())
+                .bind("idempotencyKey", transaction.getIdempotencyKey())
+                .bind("createdOn", transaction.getCreatedOn());
+        spec = transaction.getFailureReason() != null
+                ? spec.bind("failureReason", transaction.getFailureReason())
+                : spec.bindNull("failureReason", String.class);
+        return spec.then();
+    }
+
+    /**
+     * Insert postings one after the other on the transaction's connection
+     */
+    public Mono<Void> insertPostings(List<LedgerPosting> postings) {
+        return Flux.fromIterable(postings)
+                .concatMap(posting -> databaseClient.sql(INSERT_POSTING)
+                        .bind("accountId", posting.getAccountId())
+                        .bind("createdOn", posting.getCreatedOn())
+                        .bind("transactionId", posting.getTransactionId())
+                        .bind("counterpartyAccountId", posting.getCounterpartyAccountId())
+                        .bind("amount", posting.getAmount())
+                        .bind("balanceAfter", posting.getBalanceAfter())
+                        .bind("idempotencyKey", posting.getIdempotencyKey())
+                        .then())
+                .then();
+    }
+
+    /**
+     * All postings of an account, newest first
+     */
+    public Flux<LedgerPosting> findPostingsByAccountId(Long accountId) {
+        return databaseClient.sql(SELECT_POSTINGS)
+                .bind("accountId", accountId)
+                .map(TransactionLogR2dbcRepository::toPosting)
+                .all();
+    }
+
+    private static LedgerPosting toPosting(Readable row) {
+        return LedgerPosting.builder()
+                .accountId(row.get("account_id", Long.class))
+                .createdOn(row.get("created_on", LocalDateTime.class))
+                .transactionId(row.get("transaction_id", String.class))
+                .counterpartyAccountId(row.get("counterparty_account_id", Long.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .balanceAfter(row.get("balance_after", BigDecimal.class))
+                .idempotencyKey(row.get("idempotency_key", String.class))
+                .build();
+    }
+}
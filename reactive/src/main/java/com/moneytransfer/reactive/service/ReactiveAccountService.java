@@ -0,0 +1,74 @@
+package com.moneytransfer.reactive.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.dto.AccountResponse;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.reactive.repository.AccountR2dbcRepository;
+import com.moneytransfer.reactive.repository.TransactionLogR2dbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of the backend's AccountService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAccountService {
+
+    private final AccountR2dbcRepository accountRepository;
+    private final TransactionLogR2dbcRepository transactionLogRepository;
+
+    public Mono<AccountResponse> getAccount(Long accountId) {
+        log.info("Fetching account: {}", accountId);
+
+        return findAccount(accountId)
+                .flatMap(account -> currentBalance(account)
+                        .map(balance -> AccountResponse.builder()
+                                .id(account.getId())
+                                .holderName(account.getHolderName())
+                                .balance(balance)
+                                .status(account.getStatus().name())
+                                .build()));
+    }
+
+    public Mono<BigDecimal> getBalance(Long accountId) {
+        log.info("Fetching balance for account: {}", accountId);
+
+        return getAccount(accountId).map(AccountResponse::getBalance);
+    }
+
+    /**
+     * Transaction history from the account's ledger postings, newest first
+     */
+    public Flux<TransactionLog> getTransactions(Long accountId) {
+        log.info("Fetching transactions for account: {}", accountId);
+
+        return findAccount(accountId)
+                .thenMany(transactionLogRepository.findPostingsByAccountId(accountId))
+                .map(LedgerPosting::toTransactionLog);
+    }
+
+    private Mono<Account> findAccount(Long accountId) {
+        return accountRepository.findById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId)));
+    }
+
+    /**
+     * Striped accounts report their row balance plus all balance slots
+     */
+    private Mono<BigDecimal> currentBalance(Account account) {
+        if (!account.isStriped()) {
+            return Mono.just(account.getBalance());
+        }
+        return accountRepository.findSlotBalance(account.getId())
+                .map(slots -> account.getBalance().add(slots));
+    }
+}
@@ -0,0 +1,144 @@
+package com.moneytransfer.reactive.service;
+
+import com.moneytransfer.domain.entity.Account;
+import com.moneytransfer.domain.entity.LedgerPosting;
+import com.moneytransfer.domain.entity.TransactionLog;
+import com.moneytransfer.domain.enums.TransactionStatus;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.dto.TransferResponse;
+import com.moneytransfer.exception.AccountNotFoundException;
+import com.moneytransfer.exception.DuplicateTransferException;
+import com.moneytransfer.reactive.repository.AccountR2dbcRepository;
+import com.moneytransfer.reactive.repository.TransactionLogR2dbcRepository;
+import com.moneytransfer.service.TransferService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the backend's TransferService
+ *
+ * Same steps and rules: idempotency check, validation, debit before credit
+ * through {@link Account}, one transaction for both balance updates, the
+ * transaction log and its ledger postings. A failed transfer is recorded as a
+ * FAILED log under a synthetic idempotency key after its transaction rolled
+ * back, so the client can still retry with its own key.
+ *
+ * Balances of striped accounts live partly in their slots; this stack does not
+ * stripe or consolidate, so it only reads them (see {@link ReactiveAccountService}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTransferService {
+
+    private static final String FAILED_KEY_PREFIX = "failed:";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final AccountR2dbcRepository accountRepository;
+    private final TransactionLogR2dbcRepository transactionLogRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public Mono<TransferResponse> transfer(TransferRequest request) {
+        log.info("Processing transfer: {} -> {}, amount: {}",
+                request.getFromAccountId(),
+                request.getToAccountId(),
+                request.getAmount());
+
+        return Mono.defer(() -> {
+                    TransferService.validateTransfer(request);
+                    return execute(request);
+                })
+                .as(transactionalOperator::transactional)
+                .map(transaction -> TransferResponse.builder()
+                        .transactionId(UUID.fromString(transaction.getId()))
+                        .status("SUCCESS")
+                        .message("Transfer completed successfully")
+                        .debitedFrom(request.getFromAccountId())
+                        .creditedTo(request.getToAccountId())
+                        .amount(request.getAmount())
+                        .build())
+                .onErrorResume(e -> {
+                    log.error("Transfer failed: {}", e.getMessage());
+                    return recordFailure(request, e).then(Mono.error(e));
+                });
+    }
+
+    private Mono<TransactionLog> execute(TransferRequest request) {
+        // One connection per transaction, so the statements run one after the other
+        return transactionLogRepository.existsByIdempotencyKey(request.getIdempotencyKey())
+                .flatMap(used -> used
+                        ? Mono.error(new DuplicateTransferException(request.getIdempotencyKey()))
+                        : findAccount(request.getFromAccountId()))
+                .zipWhen(fromAccount -> findAccount(request.getToAccountId()))
+                .flatMap(accounts -> {
+                    Account fromAccount = accounts.getT1();
+                    Account toAccount = accounts.getT2();
+
+                    // Business Rule: Debit before credit
+                    fromAccount.debit(request.getAmount());
+                    toAccount.credit(request.getAmount());
+
+                    TransactionLog transaction = TransactionLog.builder()
+                            .id(UUID.randomUUID().toString())
+                            .fromAccountId(request.getFromAccountId())
+                            .toAccountId(request.getToAccountId())
+                            .amount(request.getAmount())
+                            .status(TransactionStatus.SUCCESS)
+                            .idempotencyKey(request.getIdempotencyKey())
+                            .createdOn(LocalDateTime.now())
+                            .build();
+
+                    // Update in account ID order, like the blocking stack, to keep lock order consistent
+                    Account first = fromAccount.getId() < toAccount.getId() ? fromAccount : toAccount;
+                    Account second = first == fromAccount ? toAccount : fromAccount;
+                    return accountRepository.updateBalance(first)
+                            .then(accountRepository.updateBalance(second))
+                            .then(transactionLogRepository.insert(transaction))
+                            .then(transactionLogRepository.insertPostings(
+                                    LedgerPosting.legsOf(transaction, fromAccount.getBalance(), toAccount.getBalance())))
+                            .thenReturn(transaction);
+                });
+    }
+
+    private Mono<Account> findAccount(Long accountId) {
+        return accountRepository.findById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId)));
+    }
+
+    /**
+     * Write a FAILED log in its own transaction; never changes the outcome reported to the client
+     */
+    private Mono<Void> recordFailure(TransferRequest request, Throwable failure) {
+        if (request.getFromAccountId() == null || request.getToAccountId() == null || request.getAmount() == null) {
+            return Mono.empty();
+        }
+        String id = UUID.randomUUID().toString();
+        TransactionLog failed = TransactionLog.builder()
+                .id(id)
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .status(TransactionStatus.FAILED)
+                .failureReason(truncate(failure.getMessage(), MAX_REASON_LENGTH))
+                .idempotencyKey(truncate(FAILED_KEY_PREFIX + id + ":" + request.getIdempotencyKey(), MAX_KEY_LENGTH))
+                .createdOn(LocalDateTime.now())
+                .build();
+
+        return transactionLogRepository.insert(failed)
+                .onErrorResume(e -> {
+                    log.warn("Could not record failed transfer: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
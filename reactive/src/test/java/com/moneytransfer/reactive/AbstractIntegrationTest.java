@@ -0,0 +1,72 @@
+package com.moneytransfer.reactive;
+
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.dto.TransferRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base class for the reactive stack's integration tests
+ * Starts the application on a random port with the default configuration (in-memory H2)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+public abstract class AbstractIntegrationTest {
+
+    @Autowired
+    protected WebTestClient webTestClient;
+
+    @Autowired
+    protected DatabaseClient databaseClient;
+
+    /**
+     * Insert an account and return its ID
+     */
+    protected Long createAccount(String balance, AccountStatus status) {
+        return databaseClient.sql("INSERT INTO accounts (holder_name, balance, status, striped, version, last_updated) " +
+                        "VALUES ('Test', :balance, :status, FALSE, 0, :lastUpdated)")
+                .bind("balance", new BigDecimal(balance))
+                .bind("status", status.name())
+                .bind("lastUpdated", LocalDateTime.now())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+
+    protected Long createAccount(String balance) {
+        return createAccount(balance, AccountStatus.ACTIVE);
+    }
+
+    protected BigDecimal balance(Long accountId) {
+        return databaseClient.sql("SELECT balance FROM accounts WHERE id = :id")
+                .bind("id", accountId)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one()
+                .block();
+    }
+
+    /**
+     * POST /api/v1/transfers with HTTP Basic credentials
+     */
+    protected WebTestClient.ResponseSpec transfer(TransferRequest request) {
+        return webTestClient.post().uri("/api/v1/transfers")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .bodyValue(request)
+                .exchange();
+    }
+
+    /**
+     * A transfer request with a fresh idempotency key
+     */
+    protected static TransferRequest request(Long from, Long to, String amount) {
+        return new TransferRequest(from, to, new BigDecimal(amount), "test-" + UUID.randomUUID());
+    }
+}
@@ -0,0 +1,60 @@
+package com.moneytransfer.reactive.controller;
+
+import com.moneytransfer.reactive.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the reactive AccountController
+ * Checks the same response bodies, statuses and error codes as the backend's API
+ */
+class AccountControllerTest extends AbstractIntegrationTest {
+
+    /**
+     * Test an account, its balance and its history after a transfer - history newest first
+     */
+    @Test
+    void testGetAccount_AfterTransfer() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        transfer(request(alice, bob, "30.00")).expectStatus().isOk();
+        transfer(request(bob, alice, "5.00")).expectStatus().isOk();
+
+        get("/api/v1/accounts/" + alice)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(alice)
+                .jsonPath("$.balance").isEqualTo(75.00)
+                .jsonPath("$.status").isEqualTo("ACTIVE");
+
+        get("/api/v1/accounts/" + bob + "/balance")
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("25.00");
+
+        get("/api/v1/accounts/" + alice + "/transactions")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].fromAccountId").isEqualTo(bob)
+                .jsonPath("$[1].fromAccountId").isEqualTo(alice);
+    }
+
+    /**
+     * Test an unknown account - 404 ACC-404 on every account endpoint
+     */
+    @Test
+    void testGetAccount_NotFound() {
+        for (String path : new String[]{"", "/balance", "/transactions"}) {
+            get("/api/v1/accounts/999999" + path)
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.errorCode").isEqualTo("ACC-404");
+        }
+    }
+
+    private WebTestClient.ResponseSpec get(String uri) {
+        return webTestClient.get().uri(uri)
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange();
+    }
+}
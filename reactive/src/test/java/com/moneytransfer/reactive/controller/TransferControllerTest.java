@@ -0,0 +1,157 @@
+package com.moneytransfer.reactive.controller;
+
+import com.moneytransfer.domain.enums.AccountStatus;
+import com.moneytransfer.dto.TokenResponse;
+import com.moneytransfer.dto.TransferRequest;
+import com.moneytransfer.reactive.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the reactive TransferController
+ * Checks the same response bodies, statuses and error codes as the backend's API
+ */
+class TransferControllerTest extends AbstractIntegrationTest {
+
+    /**
+     * Test a successful transfer - 200 with the transfer's details, both balances updated
+     */
+    @Test
+    void testTransfer_Success() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        transfer(request(alice, bob, "30.00"))
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.transactionId").isNotEmpty()
+                .jsonPath("$.status").isEqualTo("SUCCESS")
+                .jsonPath("$.debitedFrom").isEqualTo(alice)
+                .jsonPath("$.creditedTo").isEqualTo(bob)
+                .jsonPath("$.amount").isEqualTo(30.00);
+
+        assertEquals(new BigDecimal("70.00"), balance(alice));
+        assertEquals(new BigDecimal("30.00"), balance(bob));
+    }
+
+    /**
+     * Test insufficient balance - 400 TRX-400, nothing moved
+     */
+    @Test
+    void testTransfer_InsufficientBalance() {
+        Long alice = createAccount("10.00");
+        Long bob = createAccount("0.00");
+
+        expectError(transfer(request(alice, bob, "30.00")), HttpStatus.BAD_REQUEST, "TRX-400");
+
+        assertEquals(new BigDecimal("10.00"), balance(alice));
+    }
+
+    /**
+     * Test an unknown account - 404 ACC-404
+     */
+    @Test
+    void testTransfer_AccountNotFound() {
+        Long alice = createAccount("100.00");
+
+        expectError(transfer(request(alice, 999_999L, "10.00")), HttpStatus.NOT_FOUND, "ACC-404");
+    }
+
+    /**
+     * Test a locked account - 403 ACC-403
+     */
+    @Test
+    void testTransfer_AccountNotActive() {
+        Long locked = createAccount("100.00", AccountStatus.LOCKED);
+        Long bob = createAccount("0.00");
+
+        expectError(transfer(request(locked, bob, "10.00")), HttpStatus.FORBIDDEN, "ACC-403");
+    }
+
+    /**
+     * Test a repeated idempotency key - 409 TRX-409, the transfer runs once
+     */
+    @Test
+    void testTransfer_DuplicateKey() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+        TransferRequest request = request(alice, bob, "10.00");
+
+        transfer(request).expectStatus().isOk();
+        expectError(transfer(request), HttpStatus.CONFLICT, "TRX-409");
+
+        assertEquals(new BigDecimal("90.00"), balance(alice));
+    }
+
+    /**
+     * Test a transfer to the same account - 422 VAL-422
+     */
+    @Test
+    void testTransfer_SameAccount() {
+        Long alice = createAccount("100.00");
+
+        expectError(transfer(request(alice, alice, "10.00")), HttpStatus.UNPROCESSABLE_ENTITY, "VAL-422");
+    }
+
+    /**
+     * Test bean validation - 422 with one message per invalid field
+     */
+    @Test
+    void testTransfer_ValidationErrors() {
+        transfer(new TransferRequest(1L, 2L, new BigDecimal("1.001"), null))
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo("Amount must have at most 2 decimal places")
+                .jsonPath("$.idempotencyKey").isEqualTo("Idempotency key is required");
+    }
+
+    /**
+     * Test authentication - 401 without credentials or with a forged token, 200 with a token
+     * from POST /api/v1/auth/token
+     */
+    @Test
+    void testTransfer_Authentication() {
+        Long alice = createAccount("100.00");
+        Long bob = createAccount("0.00");
+
+        webTestClient.post().uri("/api/v1/transfers")
+                .bodyValue(request(alice, bob, "10.00"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        TokenResponse token = webTestClient.post().uri("/api/v1/auth/token")
+                .headers(headers -> headers.setBasicAuth("admin", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TokenResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(token);
+
+        webTestClient.post().uri("/api/v1/transfers")
+                .headers(headers -> headers.setBearerAuth(token.getAccessToken()))
+                .bodyValue(request(alice, bob, "10.00"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/api/v1/transfers")
+                .headers(headers -> headers.setBearerAuth(token.getAccessToken() + "x"))
+                .bodyValue(request(alice, bob, "10.00"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        assertEquals(new BigDecimal("90.00"), balance(alice));
+    }
+
+    private static void expectError(WebTestClient.ResponseSpec response,
+                                    HttpStatus status, String errorCode) {
+        response.expectStatus().isEqualTo(status)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(errorCode)
+                .jsonPath("$.message").isNotEmpty();
+    }
+}